@@ -0,0 +1,113 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.mapper.*;
+import com.example.employeemanagement.model.*;
+import com.example.employeemanagement.repository.*;
+import com.example.employeemanagement.service.CallerEmployeeIdCache;
+import com.example.employeemanagement.service.EmployeeServiceImpl;
+import com.example.employeemanagement.service.PdfRenderCache;
+import com.example.employeemanagement.storage.OrphanBlobCleaner;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Seeded employee aggregates and an {@link EmployeeServiceImpl} wired to
+ * in-memory repository stubs, so service code can be measured without a database.
+ */
+final class BenchmarkFixtures {
+
+	private BenchmarkFixtures() {
+	}
+
+	/** An employee with ids on every row, as if loaded from the database. */
+	static Employee seededEmployee(int childrenPerCollection) {
+		Employee employee = TestFixtures.employee(1, childrenPerCollection, 0, 4 * 1024);
+		employee.setEmployeeId(1L);
+		long id = 100;
+		for (Education education : employee.getEducationList()) {
+			education.setEducationId(id++);
+		}
+		for (Certification certification : employee.getCertifications()) {
+			certification.setCertificationId(id++);
+		}
+		for (Skill skill : employee.getSkills()) {
+			skill.setSkillId(id++);
+		}
+		for (Experience experience : employee.getExperiences()) {
+			experience.setExperienceId(id++);
+		}
+		for (Document document : employee.getDocuments()) {
+			document.setDocumentId(id++);
+		}
+		return employee;
+	}
+
+	static EmployeeMapper employeeMapper() {
+		return new EmployeeMapper(new EducationMapper(), new CertificationMapper(), new SkillMapper(),
+				new DocumentMapper(), new ExperienceMapper(), new LeaveMapper(), new ProfilePhotoMapper());
+	}
+
+	/**
+	 * A service whose repositories serve {@code employee} and its children.
+	 * Child lookups return copies, as a fresh query would.
+	 */
+	static EmployeeServiceImpl employeeService(Employee employee) {
+		EmployeeRepository employeeRepository = stub(EmployeeRepository.class, Map.of(
+				"findById", args -> Optional.of(employee),
+				"findWithAggregateByEmployeeId", args -> Optional.of(employee)));
+		return new EmployeeServiceImpl(employeeRepository,
+				stub(EducationRepository.class,
+						Map.of("findByEmployeeEmployeeId", args -> new ArrayList<>(employee.getEducationList()))),
+				stub(CertificationRepository.class,
+						Map.of("findByEmployeeEmployeeId", args -> new ArrayList<>(employee.getCertifications()))),
+				stub(SkillRepository.class,
+						Map.of("findByEmployeeEmployeeId", args -> new ArrayList<>(employee.getSkills()))),
+				stub(DocumentRepository.class,
+						Map.of("findByEmployeeEmployeeId", args -> new ArrayList<>(employee.getDocuments()))),
+				stub(ProfilePhotoRepository.class, Map.of()), null,
+				stub(ExperienceRepository.class,
+						Map.of("findByEmployeeEmployeeId", args -> new ArrayList<>(employee.getExperiences()))),
+				employeeMapper(), new EducationMapper(), new CertificationMapper(), new SkillMapper(),
+				new ExperienceMapper(), new DocumentMapper(), new ProfilePhotoMapper(),
+				new OrphanBlobCleaner(null, null, null, null), null, new PdfRenderCache(0, 0),
+				new CallerEmployeeIdCache(0, 0));
+	}
+
+	/**
+	 * A repository that answers the given methods and otherwise behaves like an
+	 * empty table: saves return their argument, lookups find nothing.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T stub(Class<T> repository, Map<String, Function<Object[], Object>> answers) {
+		return (T) Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[] { repository },
+				(proxy, method, args) -> {
+					Function<Object[], Object> answer = answers.get(method.getName());
+					if (answer != null) {
+						return answer.apply(args);
+					}
+					if (method.getName().startsWith("save")) {
+						return args[0];
+					}
+					Class<?> type = method.getReturnType();
+					if (type == Optional.class) {
+						return Optional.empty();
+					}
+					if (List.class.isAssignableFrom(type)) {
+						return List.of();
+					}
+					if (type == boolean.class) {
+						return false;
+					}
+					if (type == long.class) {
+						return 0L;
+					}
+					return null;
+				});
+	}
+}
@@ -0,0 +1,118 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.repository.Query;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Employee lookup by email against an in-memory H2 {@code employees} table:
+ * the OR over the raw columns the lookup used to run versus the UNION ALL of
+ * two seeks over the normalized columns that
+ * {@link EmployeeRepository#findIdByNormalizedEmail} runs now, read from its
+ * annotation so the two cannot drift. Half the lookups hit a work email and
+ * half a personal one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeEmailLookupBenchmark {
+
+	private static final String OR_LOOKUP = "SELECT employee_id FROM employees WHERE email = ? OR personal_email = ? "
+			+ "ORDER BY CASE WHEN email = ? THEN 0 ELSE 1 END, employee_id LIMIT 1";
+
+	@Param({ "1000000" })
+	public int employees;
+
+	private Connection connection;
+	private PreparedStatement orLookup;
+	private PreparedStatement unionLookup;
+
+	@Setup
+	public void setUp() throws Exception {
+		connection = DriverManager.getConnection("jdbc:h2:mem:email-lookup;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+		try (Statement ddl = connection.createStatement()) {
+			ddl.execute("CREATE TABLE employees (employee_id BIGINT PRIMARY KEY, email VARCHAR(255) UNIQUE, "
+					+ "personal_email VARCHAR(255) UNIQUE, email_normalized VARCHAR(255), "
+					+ "personal_email_normalized VARCHAR(255))");
+			ddl.execute("CREATE UNIQUE INDEX idx_employees_email_normalized ON employees (email_normalized)");
+			ddl.execute("CREATE UNIQUE INDEX idx_employees_personal_email_normalized ON employees (personal_email_normalized)");
+		}
+		connection.setAutoCommit(false);
+		try (PreparedStatement insert = connection.prepareStatement("INSERT INTO employees VALUES (?, ?, ?, ?, ?)")) {
+			for (int n = 1; n <= employees; n++) {
+				String email = "Employee" + n + "@Example.com";
+				String personalEmail = "Personal" + n + "@Example.com";
+				insert.setLong(1, n);
+				insert.setString(2, email);
+				insert.setString(3, personalEmail);
+				insert.setString(4, Employee.normalizeEmail(email));
+				insert.setString(5, Employee.normalizeEmail(personalEmail));
+				insert.addBatch();
+				if (n % 10_000 == 0) {
+					insert.executeBatch();
+				}
+			}
+			insert.executeBatch();
+		}
+		connection.commit();
+		connection.setAutoCommit(true);
+		try (Statement analyze = connection.createStatement()) {
+			analyze.execute("ANALYZE");
+		}
+
+		String union = EmployeeRepository.class.getMethod("findIdByNormalizedEmail", String.class)
+				.getAnnotation(Query.class).value().replace(":email", "?");
+		orLookup = connection.prepareStatement(OR_LOOKUP);
+		unionLookup = connection.prepareStatement(union);
+	}
+
+	@TearDown
+	public void tearDown() throws SQLException {
+		try (Statement drop = connection.createStatement()) {
+			drop.execute("DROP ALL OBJECTS");
+		}
+		connection.close();
+	}
+
+	@Benchmark
+	public long orOverRawColumns() throws SQLException {
+		String email = email();
+		orLookup.setString(1, email);
+		orLookup.setString(2, email);
+		orLookup.setString(3, email);
+		return firstId(orLookup);
+	}
+
+	@Benchmark
+	public long unionOverNormalizedColumns() throws SQLException {
+		String email = Employee.normalizeEmail(email());
+		unionLookup.setString(1, email);
+		unionLookup.setString(2, email);
+		return firstId(unionLookup);
+	}
+
+	private String email() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int n = random.nextInt(employees) + 1;
+		return (random.nextBoolean() ? "Employee" : "Personal") + n + "@Example.com";
+	}
+
+	private static long firstId(PreparedStatement lookup) throws SQLException {
+		try (ResultSet rows = lookup.executeQuery()) {
+			return rows.next() ? rows.getLong(1) : -1;
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.dto.*;
+import com.example.employeemanagement.mapper.*;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.Project;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Employee to EmployeeDTO conversion: the reflective ModelMapper path the services
+ * used to take versus the hand-written mappers. Run with {@code -prof gc} to
+ * compare allocation per conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeMappingBenchmark {
+
+	@Param({ "2", "10" })
+	public int childrenPerCollection;
+
+	private Employee employee;
+	private ModelMapper modelMapper;
+	private EmployeeMapper employeeMapper;
+
+	@Setup
+	public void setUp() {
+		employee = TestFixtures.employee(1, childrenPerCollection, 4 * 1024, 4 * 1024);
+		employee.setEmployeeId(1L);
+		modelMapper = referenceModelMapper();
+		employeeMapper = new EmployeeMapper(new EducationMapper(), new CertificationMapper(), new SkillMapper(),
+				new DocumentMapper(), new ExperienceMapper(), new LeaveMapper(), new ProfilePhotoMapper());
+	}
+
+	@Benchmark
+	public EmployeeDTO modelMapper() {
+		// Mirrors the ModelMapper-based EmployeeServiceImpl.convertToDTO
+		EmployeeDTO dto = modelMapper.map(employee, EmployeeDTO.class);
+		dto.setEducationList(employee.getEducationList().stream()
+				.map(edu -> modelMapper.map(edu, EducationDTO.class)).collect(Collectors.toList()));
+		dto.setCertifications(employee.getCertifications().stream()
+				.map(cert -> modelMapper.map(cert, CertificationDTO.class)).collect(Collectors.toList()));
+		dto.setSkills(employee.getSkills().stream().map(skill -> modelMapper.map(skill, SkillDTO.class))
+				.collect(Collectors.toList()));
+		dto.setDocuments(employee.getDocuments().stream().map(doc -> modelMapper.map(doc, DocumentDTO.class))
+				.collect(Collectors.toList()));
+		dto.setExperiences(employee.getExperiences().stream().map(exp -> modelMapper.map(exp, ExperienceDTO.class))
+				.collect(Collectors.toList()));
+		return dto;
+	}
+
+	@Benchmark
+	public EmployeeDTO handWrittenMapper() {
+		return employeeMapper.toDto(employee);
+	}
+
+	/** The ModelMapper configuration the application used before the hand-written mappers. */
+	private static ModelMapper referenceModelMapper() {
+		ModelMapper modelMapper = new ModelMapper();
+		modelMapper.getConfiguration()
+				.setMatchingStrategy(MatchingStrategies.STRICT)
+				.setSkipNullEnabled(true)
+				.setCollectionsMergeEnabled(false);
+
+		modelMapper.createTypeMap(Project.class, ProjectDTO.class).addMappings(mapper -> {
+			mapper.<Long>map(src -> src.getSeniorProjectManager() != null
+					? src.getSeniorProjectManager().getEmployeeId() : null, ProjectDTO::setSeniorProjectManagerId);
+			mapper.<String>map(src -> src.getSeniorProjectManager() != null
+					? src.getSeniorProjectManager().getFirstName() + " " + src.getSeniorProjectManager().getLastName()
+					: null, ProjectDTO::setSeniorProjectManagerName);
+		});
+		modelMapper.createTypeMap(ProjectDTO.class, Project.class).addMappings(mapper -> {
+			mapper.skip(Project::setSeniorProjectManager);
+			mapper.skip(Project::setTeams);
+		});
+		modelMapper.createTypeMap(EmployeeDTO.class, Employee.class).addMappings(mapper -> {
+			mapper.skip(Employee::setEducationList);
+			mapper.skip(Employee::setCertifications);
+			mapper.skip(Employee::setSkills);
+			mapper.skip(Employee::setProject);
+			mapper.skip(Employee::setTeam);
+			mapper.skip(Employee::setLeaves);
+		});
+		return modelMapper;
+	}
+}
@@ -0,0 +1,57 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.mapper.*;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.service.PdfRenderCache;
+import com.example.employeemanagement.service.PdfService;
+import com.itextpdf.text.DocumentException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Employee PDF download: rendering into a byte array that is then copied to
+ * the response versus writing straight to the response stream. The render
+ * cache is disabled so every operation renders. Run with {@code -prof gc} and
+ * compare {@code gc.alloc.rate.norm} (bytes allocated per PDF).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeePdfBenchmark {
+
+	@Param({ "2", "50" })
+	public int childrenPerCollection;
+
+	private EmployeeDTO employee;
+	private PdfService pdfService;
+	private final OutputStream response = OutputStream.nullOutputStream();
+
+	@Setup
+	public void setUp() {
+		Employee entity = TestFixtures.employee(1, childrenPerCollection, 0, 0);
+		entity.setEmployeeId(1L);
+		employee = new EmployeeMapper(new EducationMapper(), new CertificationMapper(), new SkillMapper(),
+				new DocumentMapper(), new ExperienceMapper(), new LeaveMapper(), new ProfilePhotoMapper())
+				.toDto(entity);
+		pdfService = new PdfService(new PdfRenderCache(0, 0), true);
+	}
+
+	@Benchmark
+	public void buffered() throws DocumentException, IOException {
+		byte[] pdf = pdfService.generateEmployeePdf(employee);
+		response.write(pdf);
+	}
+
+	@Benchmark
+	public void streamed() throws DocumentException, IOException {
+		pdfService.generateEmployeePdf(employee, response);
+	}
+}
@@ -0,0 +1,54 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.mapper.MappingStrategy;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.service.EmployeeServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EmployeeServiceImpl hot paths against a seeded aggregate held in memory:
+ * {@code getEmployeeById} is the entity to DTO conversion, the updates run the
+ * scalar mapping plus {@code updateEmployeeRelationships} for every child
+ * collection. Size the aggregate with {@code -p childrenPerCollection=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+	@Param({ "2", "10", "50" })
+	public int childrenPerCollection;
+
+	private EmployeeServiceImpl employeeService;
+	private EmployeeDTO update;
+
+	@Setup
+	public void setUp() {
+		Employee employee = BenchmarkFixtures.seededEmployee(childrenPerCollection);
+		employeeService = BenchmarkFixtures.employeeService(employee);
+		// Sending the current state back keeps every invocation on the same rows
+		update = BenchmarkFixtures.employeeMapper().toDto(employee);
+		update.setProfilePhoto(null);
+	}
+
+	@Benchmark
+	public EmployeeDTO convertToDto() {
+		return employeeService.getEmployeeById(1L);
+	}
+
+	@Benchmark
+	public EmployeeDTO patchWithRelationships() {
+		return employeeService.updateEmployee(1L, update, MappingStrategy.PATCH);
+	}
+
+	@Benchmark
+	public EmployeeDTO replaceWithRelationships() {
+		return employeeService.updateEmployee(1L, update, MappingStrategy.REPLACE);
+	}
+}
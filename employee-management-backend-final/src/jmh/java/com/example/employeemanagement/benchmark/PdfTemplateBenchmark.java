@@ -0,0 +1,53 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.mapper.*;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.service.PdfRenderCache;
+import com.example.employeemanagement.service.PdfService;
+import com.itextpdf.text.DocumentException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDFs per second with every element laid out per document versus stamping
+ * values onto the pre-rendered layout template. The render cache is disabled.
+ * Run with {@code -prof gc} for bytes allocated per PDF.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PdfTemplateBenchmark {
+
+	@Param({ "false", "true" })
+	public boolean templateEnabled;
+
+	@Param({ "0", "5" })
+	public int childrenPerCollection;
+
+	private EmployeeDTO employee;
+	private PdfService pdfService;
+	private final OutputStream response = OutputStream.nullOutputStream();
+
+	@Setup
+	public void setUp() {
+		Employee entity = TestFixtures.employee(1, childrenPerCollection, 0, 0);
+		entity.setEmployeeId(1L);
+		employee = new EmployeeMapper(new EducationMapper(), new CertificationMapper(), new SkillMapper(),
+				new DocumentMapper(), new ExperienceMapper(), new LeaveMapper(), new ProfilePhotoMapper())
+				.toDto(entity);
+		pdfService = new PdfService(new PdfRenderCache(0, 0), templateEnabled);
+	}
+
+	@Benchmark
+	public void render() throws DocumentException, IOException {
+		pdfService.generateEmployeePdf(employee, response);
+	}
+}
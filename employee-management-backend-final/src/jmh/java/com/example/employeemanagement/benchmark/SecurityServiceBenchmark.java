@@ -0,0 +1,49 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.service.SecurityService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caller email resolution from a JWT, which runs on every authorised request.
+ * The claim the email is found in decides how many lookups are made.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityServiceBenchmark {
+
+	@Param({ "email", "custom", "subject", "auth0" })
+	public String emailSource;
+
+	private SecurityService securityService;
+	private Jwt jwt;
+
+	@Setup
+	public void setUp() {
+		securityService = new SecurityService(null, null, null, null);
+		Jwt.Builder builder = Jwt.withTokenValue("token").header("alg", "RS256").issuedAt(Instant.now())
+				.expiresAt(Instant.now().plusSeconds(3600))
+				.claim("https://api.employeemanagement.com/roles", List.of("user"));
+		switch (emailSource) {
+		case "email" -> builder.subject("auth0|abc").claim("email", "user@example.com");
+		case "custom" -> builder.subject("auth0|abc")
+				.claim("https://api.employeemanagement.com/user_email", "user@example.com");
+		case "subject" -> builder.subject("user@example.com");
+		default -> builder.subject("auth0|user");
+		}
+		jwt = builder.build();
+	}
+
+	@Benchmark
+	public String getUserEmailFromJwt() {
+		return securityService.getUserEmailFromJwt(jwt);
+	}
+}
@@ -0,0 +1,85 @@
+package com.example.employeemanagement.loadtest;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Stands in for the Auth0 tenant: serves {@code /.well-known/jwks.json} for a
+ * freshly generated RSA key and signs tokens with the claims the application reads.
+ */
+final class JwksStub implements AutoCloseable {
+
+	static final String ROLES_CLAIM = "https://api.employeemanagement.com/roles";
+	private static final String KEY_ID = "load-test";
+
+	private final RSAKey key;
+	private final HttpServer server;
+
+	JwksStub() throws IOException {
+		try {
+			KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+			generator.initialize(2048);
+			KeyPair pair = generator.generateKeyPair();
+			this.key = new RSAKey.Builder((RSAPublicKey) pair.getPublic()).privateKey((RSAPrivateKey) pair.getPrivate())
+					.keyID(KEY_ID).build();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+
+		byte[] jwks = new JWKSet(key.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8);
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/.well-known/jwks.json", exchange -> {
+			exchange.getResponseHeaders().set("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, jwks.length);
+			try (OutputStream body = exchange.getResponseBody()) {
+				body.write(jwks);
+			}
+		});
+		server.start();
+	}
+
+	/** The value for {@code spring.security.oauth2.resourceserver.jwt.issuer-uri}. */
+	String issuerUri() {
+		return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+	}
+
+	/** A token valid for the whole run; the subject is the email, as Auth0 database users have it. */
+	String issue(String email, String role) {
+		JWTClaimsSet claims = new JWTClaimsSet.Builder().issuer(issuerUri()).subject(email).claim("email", email)
+				.claim(ROLES_CLAIM, List.of(role)).issueTime(new Date())
+				.expirationTime(Date.from(Instant.now().plusSeconds(24 * 3600))).build();
+		SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(KEY_ID).build(), claims);
+		try {
+			jwt.sign(new RSASSASigner(key));
+		} catch (JOSEException e) {
+			throw new IllegalStateException(e);
+		}
+		return jwt.serialize();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+	}
+}
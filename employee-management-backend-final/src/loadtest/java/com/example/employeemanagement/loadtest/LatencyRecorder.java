@@ -0,0 +1,58 @@
+package com.example.employeemanagement.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps every latency sample of one endpoint so percentiles are exact rather
+ * than bucketed; a run of a few minutes stays well within memory.
+ */
+final class LatencyRecorder {
+
+	private long[] samples = new long[1024];
+	private int count;
+	private long errors;
+
+	synchronized void record(long nanos, boolean error) {
+		if (count == samples.length) {
+			samples = Arrays.copyOf(samples, count * 2);
+		}
+		samples[count++] = nanos;
+		if (error) {
+			errors++;
+		}
+	}
+
+	synchronized Map<String, Object> summary(double seconds) {
+		long[] sorted = Arrays.copyOf(samples, count);
+		Arrays.sort(sorted);
+
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("requests", count);
+		summary.put("errors", errors);
+		summary.put("throughputPerSecond", round(count / seconds));
+		summary.put("p50Ms", millis(percentile(sorted, 0.50)));
+		summary.put("p99Ms", millis(percentile(sorted, 0.99)));
+		summary.put("p999Ms", millis(percentile(sorted, 0.999)));
+		summary.put("maxMs", millis(count == 0 ? 0 : sorted[count - 1]));
+		return summary;
+	}
+
+	/** Nearest-rank percentile. */
+	private static long percentile(long[] sorted, double quantile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int rank = (int) Math.ceil(quantile * sorted.length);
+		return sorted[Math.max(0, rank - 1)];
+	}
+
+	private static double millis(long nanos) {
+		return round(nanos / 1_000_000.0);
+	}
+
+	private static double round(double value) {
+		return Math.round(value * 100) / 100.0;
+	}
+}
@@ -0,0 +1,291 @@
+package com.example.employeemanagement.loadtest;
+
+import com.example.employeemanagement.EmployeeManagementBackendApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Boots the application against the in-memory test database and a stub JWKS issuer,
+ * seeds it, then drives a weighted mix of admin and employee traffic over HTTP
+ * and writes per-endpoint latency percentiles and throughput as JSON.
+ * <p>
+ * The load is an open model: requests arrive at a fixed rate whether or not
+ * earlier ones have returned, and each latency is measured from the request's
+ * scheduled start. A closed loop of users, each waiting for its last response,
+ * would send less while the server is slow and leave that queueing delay out
+ * of the tail percentiles.
+ *
+ * <pre>
+ * mvn -Pload-test test-compile exec:exec -Dloadtest.args="-Xmx2g -Dloadtest.employees=500 -Dloadtest.ratePerSecond=400"
+ * </pre>
+ */
+public final class LoadTestRunner {
+
+	private static final int EMPLOYEES = Integer.getInteger("loadtest.employees", 200);
+	private static final int CHILDREN_PER_COLLECTION = Integer.getInteger("loadtest.childrenPerCollection", 5);
+	private static final int RATE_PER_SECOND = Integer.getInteger("loadtest.ratePerSecond", 200);
+	// Threads sending requests; arrivals beyond them wait in a queue, which counts towards their latency
+	private static final int MAX_IN_FLIGHT = Integer.getInteger("loadtest.maxInFlight", 256);
+	private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmupSeconds", 15);
+	private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 60);
+	private static final String REPORT = System.getProperty("loadtest.report", "target/load-test/report.json");
+
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+	private final AtomicLong leaveDay = new AtomicLong();
+	private final List<Operation> operations = new ArrayList<>();
+	private final String baseUrl;
+	private final LoadTestSeeder.SeededData data;
+	private final String adminToken;
+	private final List<String> userTokens = new ArrayList<>();
+	private int totalWeight;
+
+	private LoadTestRunner(String baseUrl, LoadTestSeeder.SeededData data, JwksStub issuer) {
+		this.baseUrl = baseUrl;
+		this.data = data;
+		this.adminToken = issuer.issue("admin@example.com", "admin");
+		data.emails.forEach(email -> userTokens.add(issuer.issue(email, "user")));
+
+		// Admin screens
+		operation("GET /api/employees?view=summary", 10, true, e -> get("/api/employees?size=20&view=summary"));
+		operation("GET /api/employees", 4, true, e -> get("/api/employees?size=20"));
+		operation("PUT /api/employees/{id}", 4, true, e -> json("/api/employees/" + id(e), "PUT", edited(e)));
+		operation("GET /api/leaves/pending/count", 6, true, e -> get("/api/leaves/pending/count"));
+		operation("GET /api/teams", 4, true, e -> get("/api/teams"));
+		operation("GET /api/teams/{id}/members", 4, true,
+				e -> get("/api/teams/" + data.teamIds.get(e % data.teamIds.size()) + "/members"));
+
+		// Employee self-service
+		operation("GET /api/employees/{id}", 20, false, e -> get("/api/employees/" + id(e)));
+		operation("GET /api/employees/{id}/profile-photo?size=avatar", 20, false,
+				e -> get("/api/employees/" + id(e) + "/profile-photo?size=avatar"));
+		operation("GET /api/employees/{id}/documents/{documentId}", 4, false,
+				e -> get("/api/employees/" + id(e) + "/documents/" + data.documentIds.get(e)));
+		operation("GET /api/employees/{id}/pdf", 4, false, e -> get("/api/employees/" + id(e) + "/pdf"));
+		operation("GET /api/leaves/employee/{id}", 10, false, e -> get("/api/leaves/employee/" + id(e)));
+		operation("POST /api/leaves", 4, false, e -> {
+			// Each leave gets its own day so the overlap check never rejects it
+			LocalDate day = LocalDate.now().plusDays(leaveDay.incrementAndGet());
+			return json("/api/leaves", "POST", "{\"employeeId\":" + id(e) + ",\"leaveType\":\"VACATION\","
+					+ "\"reason\":\"load test\",\"startDate\":\"" + day + "\",\"endDate\":\"" + day + "\"}");
+		});
+	}
+
+	public static void main(String[] args) throws Exception {
+		try (JwksStub issuer = new JwksStub()) {
+			// The test-classpath application.properties supplies the H2 datasource in PostgreSQL mode
+			ConfigurableApplicationContext context = new SpringApplicationBuilder(EmployeeManagementBackendApplication.class)
+					.run("--server.port=0",
+							// The test-classpath properties fail requests over their query budget
+							"--app.query-budget.mode=log",
+							"--spring.jpa.properties.hibernate.generate_statistics=false",
+							"--management.endpoints.web.exposure.include=health,prometheus",
+							"--logging.level.root=WARN",
+							"--logging.level.com.example.employeemanagement=WARN",
+							"--spring.security.oauth2.resourceserver.jwt.issuer-uri=" + issuer.issuerUri());
+			try {
+				int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+				System.out.printf("Application on port %d; metrics at /actuator/prometheus%n", port);
+				System.out.printf("Seeding %d employees...%n", EMPLOYEES);
+				LoadTestSeeder.SeededData data = LoadTestSeeder.seed(context, EMPLOYEES, CHILDREN_PER_COLLECTION);
+				new LoadTestRunner("http://localhost:" + port, data, issuer).run();
+			} finally {
+				context.close();
+			}
+		}
+	}
+
+	private void run() throws InterruptedException, IOException {
+		System.out.printf("Warming up for %ds at %d requests/s...%n", WARMUP_SECONDS, RATE_PER_SECOND);
+		drive(WARMUP_SECONDS, false);
+		System.out.printf("Measuring for %ds...%n", DURATION_SECONDS);
+		long started = System.nanoTime();
+		drive(DURATION_SECONDS, true);
+		double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+		writeReport(seconds);
+	}
+
+	private void drive(int seconds, boolean measure) throws InterruptedException {
+		AtomicInteger threads = new AtomicInteger();
+		ExecutorService senders = Executors.newFixedThreadPool(MAX_IN_FLIGHT,
+				task -> new Thread(task, "load-sender-" + threads.incrementAndGet()));
+		long arrivals = (long) seconds * RATE_PER_SECOND;
+		long started = System.nanoTime();
+		try {
+			for (long i = 0; i < arrivals; i++) {
+				// Arrivals follow the plan, not the responses; a late dispatch is charged to the request
+				long scheduled = started + i * 1_000_000_000L / RATE_PER_SECOND;
+				long wait = scheduled - System.nanoTime();
+				if (wait > 0) {
+					LockSupport.parkNanos(wait);
+				}
+				Operation operation = pick();
+				senders.execute(() -> call(operation, scheduled, measure));
+			}
+		} finally {
+			senders.shutdown();
+			senders.awaitTermination(1, TimeUnit.MINUTES);
+		}
+	}
+
+	private void call(Operation operation, long scheduled, boolean measure) {
+		int employee = ThreadLocalRandom.current().nextInt(data.employeeIds.size());
+		long preparing = System.nanoTime();
+		HttpRequest request;
+		try {
+			request = operation.request.apply(employee).timeout(Duration.ofSeconds(30))
+					.header("Authorization", "Bearer " + (operation.admin ? adminToken : userTokens.get(employee)))
+					.build();
+		} catch (UncheckedIOException e) {
+			// The edit form could not be loaded, so there is nothing to send
+			return;
+		}
+		// Loading the edit form is not part of the measured request
+		long preparation = System.nanoTime() - preparing;
+		boolean error;
+		try {
+			HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+			error = response.statusCode() >= 400;
+		} catch (IOException e) {
+			error = true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+		long elapsed = System.nanoTime() - scheduled - preparation;
+		if (measure) {
+			recorders.computeIfAbsent(operation.name, name -> new LatencyRecorder()).record(elapsed, error);
+		}
+	}
+
+	private void writeReport(double seconds) throws IOException {
+		Map<String, Object> endpoints = new LinkedHashMap<>();
+		for (Operation operation : operations) {
+			LatencyRecorder recorder = recorders.get(operation.name);
+			if (recorder != null) {
+				endpoints.put(operation.name, recorder.summary(seconds));
+			}
+		}
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("employees", EMPLOYEES);
+		report.put("childrenPerCollection", CHILDREN_PER_COLLECTION);
+		report.put("loadModel", "open: fixed arrival rate, latency measured from each request's scheduled start");
+		report.put("arrivalRatePerSecond", RATE_PER_SECOND);
+		report.put("maxInFlight", MAX_IN_FLIGHT);
+		report.put("durationSeconds", Math.round(seconds));
+		report.put("endpoints", endpoints);
+
+		File file = new File(REPORT);
+		file.getParentFile().mkdirs();
+		ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+		mapper.writeValue(file, report);
+
+		System.out.printf("%-52s %8s %7s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms",
+				"p99 ms", "p999 ms");
+		endpoints.forEach((name, value) -> {
+			@SuppressWarnings("unchecked")
+			Map<String, Object> summary = (Map<String, Object>) value;
+			System.out.printf("%-52s %8s %7s %9s %9s %9s %9s%n", name, summary.get("requests"), summary.get("errors"),
+					summary.get("throughputPerSecond"), summary.get("p50Ms"), summary.get("p99Ms"),
+					summary.get("p999Ms"));
+		});
+		System.out.printf("Open model at %d requests/s; latency measured from each request's scheduled start%n",
+				RATE_PER_SECOND);
+		System.out.println("Report written to " + file.getAbsolutePath());
+	}
+
+	private Operation pick() {
+		int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+		for (Operation operation : operations) {
+			ticket -= operation.weight;
+			if (ticket < 0) {
+				return operation;
+			}
+		}
+		throw new IllegalStateException("No operation for ticket");
+	}
+
+	private void operation(String name, int weight, boolean admin, Function<Integer, HttpRequest.Builder> request) {
+		operations.add(new Operation(name, weight, admin, request));
+		totalWeight += weight;
+	}
+
+	private long id(int employee) {
+		return data.employeeIds.get(employee);
+	}
+
+	/**
+	 * The employee as the admin edit form loads it, sent back whole with a new
+	 * present city. The load is not part of the measured request.
+	 */
+	private String edited(int employee) {
+		HttpRequest load = get("/api/employees/" + id(employee)).header("Authorization", "Bearer " + adminToken)
+				.build();
+		try {
+			HttpResponse<String> response = client.send(load, HttpResponse.BodyHandlers.ofString());
+			if (response.statusCode() >= 400) {
+				throw new IOException("Loading employee " + id(employee) + " returned " + response.statusCode());
+			}
+			ObjectNode body = (ObjectNode) mapper.readTree(response.body());
+			body.put("presentCity", "City " + leaveDay.incrementAndGet());
+			return mapper.writeValueAsString(body);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new UncheckedIOException(new IOException("Interrupted loading employee " + id(employee), e));
+		}
+	}
+
+	private HttpRequest.Builder get(String path) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+	}
+
+	private HttpRequest.Builder json(String path, String method, String body) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Content-Type", "application/json")
+				.method(method, HttpRequest.BodyPublishers.ofString(body));
+	}
+
+	private static final class Operation {
+		private final String name;
+		private final int weight;
+		private final boolean admin;
+		private final Function<Integer, HttpRequest.Builder> request;
+
+		private Operation(String name, int weight, boolean admin, Function<Integer, HttpRequest.Builder> request) {
+			this.name = name;
+			this.weight = weight;
+			this.admin = admin;
+			this.request = request;
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package com.example.employeemanagement.loadtest;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.Project;
+import com.example.employeemanagement.model.Team;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.ProjectRepository;
+import com.example.employeemanagement.repository.TeamRepository;
+import com.example.employeemanagement.service.ProfilePhotoService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds employees with child rows, a document and a real JPEG photo, spread
+ * over a handful of teams.
+ */
+final class LoadTestSeeder {
+
+	static final int EMPLOYEES_PER_TEAM = 10;
+
+	private LoadTestSeeder() {
+	}
+
+	static SeededData seed(ApplicationContext context, int employees, int childrenPerCollection) throws IOException {
+		EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+		ProjectRepository projectRepository = context.getBean(ProjectRepository.class);
+		TeamRepository teamRepository = context.getBean(TeamRepository.class);
+		ProfilePhotoService profilePhotoService = context.getBean(ProfilePhotoService.class);
+
+		Project project = new Project();
+		project.setName("Load test");
+		project = projectRepository.save(project);
+
+		List<Team> teams = new ArrayList<>();
+		for (int t = 0; t < Math.max(1, employees / EMPLOYEES_PER_TEAM); t++) {
+			Team team = new Team();
+			team.setName("Team " + t);
+			team.setProject(project);
+			teams.add(teamRepository.save(team));
+		}
+
+		byte[] photo = jpeg(800, 600);
+		SeededData data = new SeededData();
+		for (int n = 1; n <= employees; n++) {
+			Employee employee = TestFixtures.employee(n, childrenPerCollection, 0, 64 * 1024);
+			employee.setTeam(teams.get((n - 1) % teams.size()));
+			employee = employeeRepository.save(employee);
+			profilePhotoService.uploadProfilePhoto(employee.getEmployeeId(),
+					new MockMultipartFile("file", "photo" + n + ".jpg", "image/jpeg", photo));
+
+			data.employeeIds.add(employee.getEmployeeId());
+			data.emails.add(employee.getEmail());
+			data.documentIds.add(employee.getDocuments().get(0).getDocumentId());
+		}
+		teams.forEach(team -> data.teamIds.add(team.getId()));
+		return data;
+	}
+
+	private static byte[] jpeg(int width, int height) throws IOException {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setPaint(new GradientPaint(0, 0, Color.BLUE, width, height, Color.ORANGE));
+		graphics.fillRect(0, 0, width, height);
+		graphics.dispose();
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(image, "jpg", out);
+		return out.toByteArray();
+	}
+
+	/** Ids at matching positions belong to the same employee. */
+	static final class SeededData {
+		final List<Long> employeeIds = new ArrayList<>();
+		final List<String> emails = new ArrayList<>();
+		final List<Long> documentIds = new ArrayList<>();
+		final List<Long> teamIds = new ArrayList<>();
+	}
+}
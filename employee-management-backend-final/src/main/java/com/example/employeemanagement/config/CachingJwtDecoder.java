@@ -0,0 +1,125 @@
+package com.example.employeemanagement.config;
+
+import com.example.employeemanagement.storage.ContentHash;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.jwk.source.OutageTolerantJWKSetSource;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Verifies access tokens against the issuer's JWKS without putting the key
+ * fetch on the request path. The key set is cached and refreshed in the
+ * background ahead of expiry, the last good set keeps being served while the
+ * issuer cannot be reached, and tokens that verified are remembered by hash
+ * until their {@code exp}.
+ */
+public class CachingJwtDecoder implements JwtDecoder, MeterBinder, Closeable {
+
+	private static final Logger logger = LoggerFactory.getLogger(CachingJwtDecoder.class);
+
+	private final JWKSource<SecurityContext> jwkSource;
+	private final JwtDecoder delegate;
+	private final Cache<String, Jwt> verified;
+
+	/**
+	 * @param keyTtl            how long a fetched key set is used before it must be fetched again
+	 * @param refreshTimeout    how long a request waits on a key set fetch before failing
+	 * @param refreshAhead      how long before {@code keyTtl} runs out the background refresh starts
+	 * @param outageTolerance   how long the last good key set is served while fetches fail
+	 * @param maxVerifiedTokens upper bound on verified tokens kept
+	 */
+	public CachingJwtDecoder(URL jwksUrl, Duration keyTtl, Duration refreshTimeout, Duration refreshAhead,
+			Duration outageTolerance, long maxVerifiedTokens) {
+		this.jwkSource = JWKSourceBuilder.<SecurityContext>create(jwksUrl)
+				.cache(keyTtl.toMillis(), refreshTimeout.toMillis())
+				.refreshAheadCache(refreshAhead.toMillis(), true)
+				// Tokens with unknown key ids cannot make us fetch more often than this
+				.rateLimited(Math.min(JWKSourceBuilder.DEFAULT_RATE_LIMIT_MIN_INTERVAL, keyTtl.toMillis() / 4))
+				.outageTolerant(outageTolerance.toMillis(), event -> {
+					if (event instanceof OutageTolerantJWKSetSource.OutageEvent<?> outage) {
+						logger.warn("JWKS at {} is unreachable; serving the last known keys for up to {} ms more",
+								jwksUrl, outage.getRemainingTime(), outage.getException());
+					}
+				})
+				.build();
+
+		DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+		processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+		// Claims are left to Spring's validators, as NimbusJwtDecoder.withJwkSetUri sets it up
+		processor.setJWTClaimsSetVerifier((claims, context) -> {
+		});
+		this.delegate = new NimbusJwtDecoder(processor);
+
+		this.verified = Caffeine.newBuilder()
+				.maximumSize(maxVerifiedTokens)
+				.expireAfter(new Expiry<String, Jwt>() {
+					@Override
+					public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+						return Math.max(0, Duration.between(Instant.now(), jwt.getExpiresAt()).toNanos());
+					}
+
+					@Override
+					public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+						return expireAfterCreate(key, jwt, currentTime);
+					}
+
+					@Override
+					public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+						return currentDuration;
+					}
+				})
+				.recordStats()
+				.executor(Runnable::run)
+				.build();
+	}
+
+	@Override
+	public Jwt decode(String token) throws JwtException {
+		String key = ContentHash.sha256Hex(token.getBytes(StandardCharsets.UTF_8));
+		Jwt jwt = verified.getIfPresent(key);
+		if (jwt != null && jwt.getExpiresAt().isAfter(Instant.now())) {
+			return jwt;
+		}
+		jwt = delegate.decode(token);
+		// Tokens without an expiry are verified every time rather than kept indefinitely
+		if (jwt.getExpiresAt() != null) {
+			verified.put(key, jwt);
+		}
+		return jwt;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, verified, "verifiedJwt");
+	}
+
+	/** Stops the background key set refresh. */
+	@Override
+	public void close() throws IOException {
+		if (jwkSource instanceof Closeable closeable) {
+			closeable.close();
+		}
+	}
+}
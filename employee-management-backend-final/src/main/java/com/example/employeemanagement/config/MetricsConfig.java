@@ -0,0 +1,20 @@
+package com.example.employeemanagement.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Lets {@code @Timed} on service classes record a timer per method. Controller
+ * methods are already timed by Spring MVC as {@code http.server.requests},
+ * tagged with the handler's URI template.
+ */
+@Configuration
+public class MetricsConfig {
+
+	@Bean
+	public TimedAspect timedAspect(MeterRegistry registry) {
+		return new TimedAspect(registry);
+	}
+}
@@ -1,5 +1,8 @@
 package com.example.employeemanagement.config;
 
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,7 +10,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
@@ -20,6 +22,9 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.authority.mapping.GrantedAuthoritiesMapper;
 import org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority;
 
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -34,15 +39,17 @@ public class SecurityConfig {
 	private String issuerUri;
 
 	@Bean
-	public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+	public SecurityFilterChain filterChain(HttpSecurity http, JwtDecoder jwtDecoder) throws Exception {
 		http.csrf(csrf -> csrf.disable()).cors(cors -> cors.configurationSource(corsConfigurationSource()))
 				.authorizeHttpRequests(auth -> auth.requestMatchers("/api/public/**").permitAll()
+						// Only reachable on the loopback-bound management port
+						.requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
 						.requestMatchers("/api/employees/*/profile-photo").authenticated()
 						.requestMatchers("/api/projects/**").authenticated()
 		                .requestMatchers("/api/teams/**").authenticated()
 						.requestMatchers("/api/employees/**").authenticated().anyRequest().authenticated())
 				.oauth2ResourceServer(oauth2 -> oauth2
-						.jwt(jwt -> jwt.decoder(jwtDecoder()).jwtAuthenticationConverter(jwtAuthenticationConverter())))
+						.jwt(jwt -> jwt.decoder(jwtDecoder).jwtAuthenticationConverter(jwtAuthenticationConverter())))
 				.exceptionHandling(exceptions -> exceptions
 						.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
 						.accessDeniedHandler((request, response, accessDeniedException) -> {
@@ -53,10 +60,17 @@ public class SecurityConfig {
 		return http.build();
 	}
 
+	// Declared as CachingJwtDecoder so Boot finds it as a MeterBinder and binds its metrics
 	@Bean
-	public JwtDecoder jwtDecoder() {
-		String jwksUri = issuerUri.replaceAll("/$", "") + "/.well-known/jwks.json";
-		return NimbusJwtDecoder.withJwkSetUri(jwksUri).build();
+	public CachingJwtDecoder jwtDecoder(@Value("${app.jwt.jwks.ttl-seconds:900}") long ttlSeconds,
+			@Value("${app.jwt.jwks.refresh-timeout-seconds:15}") long refreshTimeoutSeconds,
+			@Value("${app.jwt.jwks.refresh-ahead-seconds:60}") long refreshAheadSeconds,
+			@Value("${app.jwt.jwks.outage-tolerance-seconds:86400}") long outageToleranceSeconds,
+			@Value("${app.jwt.verified-cache.max-size:10000}") long verifiedCacheSize) throws MalformedURLException {
+		URL jwksUrl = new URL(issuerUri.replaceAll("/$", "") + "/.well-known/jwks.json");
+		return new CachingJwtDecoder(jwksUrl, Duration.ofSeconds(ttlSeconds),
+				Duration.ofSeconds(refreshTimeoutSeconds), Duration.ofSeconds(refreshAheadSeconds),
+				Duration.ofSeconds(outageToleranceSeconds), verifiedCacheSize);
 	}
 
 	@Bean
@@ -1,15 +1,36 @@
 package com.example.employeemanagement.config;
  
+import com.example.employeemanagement.metrics.QueryBudgetInterceptor;
+import org.springframework.boot.convert.ApplicationConversionService;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final QueryBudgetInterceptor queryBudgetInterceptor;
+
+    public WebMvcConfig(QueryBudgetInterceptor queryBudgetInterceptor) {
+        this.queryBudgetInterceptor = queryBudgetInterceptor;
+    }
  
     @Override
     public void addViewControllers(ViewControllerRegistry registry) {
         registry.addViewController("/").setViewName("index"); // Handles http://localhost:8080/
         registry.addViewController("/employee-management").setViewName("index"); // Handles http://localhost:8080/employee-management
     }
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        // Lets enum request parameters such as ?sort=name bind regardless of case
+        ApplicationConversionService.addApplicationConverters(registry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryBudgetInterceptor);
+    }
 }
\ No newline at end of file
@@ -1,14 +1,16 @@
 package com.example.employeemanagement.controller;
 
 import com.example.employeemanagement.dto.DocumentDTO;
+import com.example.employeemanagement.dto.FileMetadataDTO;
 import com.example.employeemanagement.service.DocumentService;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 
 @RestController
@@ -60,16 +62,18 @@ public class DocumentController {
 
 	@GetMapping("/{documentId}")
 	@PreAuthorize("hasRole('admin') or hasRole('user')")
-	public ResponseEntity<byte[]> downloadDocument(@PathVariable Long employeeId, @PathVariable Long documentId) {
-		DocumentDTO documentDTO = documentService.getDocumentById(documentId);
-		byte[] data = documentService.downloadDocument(documentId);
+	public ResponseEntity<StreamingResponseBody> downloadDocument(@PathVariable Long employeeId,
+			@PathVariable Long documentId, NativeWebRequest webRequest) {
+		FileMetadataDTO metadata = documentService.getDocumentMetadata(documentId);
 
 		HttpHeaders headers = new HttpHeaders();
-		headers.setContentType(MediaType.parseMediaType(documentDTO.getFileType()));
-		headers.setContentLength(documentDTO.getFileSize());
-		headers.setContentDispositionFormData("attachment", documentDTO.getFileName());
+		headers.setContentType(MediaType.parseMediaType(metadata.getFileType()));
+		headers.setContentDispositionFormData("attachment", metadata.getFileName());
 
-		return new ResponseEntity<>(data, headers, HttpStatus.OK);
+		// The content is sent from storage after the headers, by sendfile when it is a local file
+		return FileDownloads.respond(webRequest, metadata, FileDownloads.etag("document", metadata), headers,
+				documentService.localContentPath(metadata),
+				(out, start, length) -> documentService.streamDocument(metadata, out, start, length));
 	}
 
 	@DeleteMapping("/{documentId}")
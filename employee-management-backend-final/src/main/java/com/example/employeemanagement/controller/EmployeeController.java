@@ -2,6 +2,8 @@ package com.example.employeemanagement.controller;
 
 import com.example.employeemanagement.dto.*;
 import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.mapper.MappingStrategy;
+import com.example.employeemanagement.metrics.QueryBudget;
 import com.example.employeemanagement.service.*;
 import com.itextpdf.text.DocumentException;
 
@@ -14,8 +16,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -31,62 +34,58 @@ public class EmployeeController {
 	private final ProfilePhotoService profilePhotoService;
 	private final DocumentService documentService;
 	private final SecurityService securityService;
+	private final PhotoRenditionService photoRenditionService;
+	private final PdfExportService pdfExportService;
+	private final PdfRenderCache pdfRenderCache;
 
 	public EmployeeController(EmployeeService employeeService, PdfService pdfService,
-			ProfilePhotoService profilePhotoService, DocumentService documentService, SecurityService securityService) {
+			ProfilePhotoService profilePhotoService, DocumentService documentService, SecurityService securityService,
+			PhotoRenditionService photoRenditionService, PdfExportService pdfExportService,
+			PdfRenderCache pdfRenderCache) {
 		this.employeeService = employeeService;
 		this.pdfService = pdfService;
 		this.profilePhotoService = profilePhotoService;
 		this.documentService = documentService;
 		this.securityService = securityService;
+		this.photoRenditionService = photoRenditionService;
+		this.pdfExportService = pdfExportService;
+		this.pdfRenderCache = pdfRenderCache;
 	}
 
 	@GetMapping
 	@PreAuthorize("hasRole('admin') or hasRole('user')")
-	public ResponseEntity<List<EmployeeDTO>> getAllEmployees(@AuthenticationPrincipal Jwt jwt) {
+	@QueryBudget(8)
+	public ResponseEntity<CursorPage<?>> getAllEmployees(@AuthenticationPrincipal Jwt jwt,
+			@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size,
+			@RequestParam(defaultValue = "id") EmployeeSort sort,
+			@RequestParam(defaultValue = "full") EmployeeView view) {
 		if (securityService.isAdmin()) {
-			return ResponseEntity.ok(employeeService.getAllEmployees());
-		} else {
-			// Try to get email from standard claim first
-			String userEmail = jwt.getClaimAsString("email");
-
-			// Fallback to custom claim if standard email not found
-			if (userEmail == null) {
-				userEmail = jwt.getClaimAsString("https://api.employeemanagement.com/user_email");
+			if (view == EmployeeView.SUMMARY) {
+				return ResponseEntity.ok(employeeService.getEmployeeSummariesPage(cursor, size, sort));
 			}
-
-			// Final fallback to subject if still not found
-			if (userEmail == null) {
-				String subject = jwt.getSubject();
-				if (subject != null && subject.contains("@")) {
-					userEmail = subject;
-				} else {
-					throw new AccessDeniedException("Unable to identify user - no email available in token");
-				}
+			return ResponseEntity.ok(employeeService.getEmployeesPage(cursor, size, sort));
+		} else {
+			// A non-admin's listing is their own record, in the view they asked for
+			if (view == EmployeeView.SUMMARY) {
+				Long employeeId = securityService.getEmployeeIdFromToken(jwt);
+				return ResponseEntity.ok(CursorPage.single(employeeService.getEmployeeSummaryById(employeeId)));
 			}
-
+			String userEmail = securityService.getUserEmailFromJwt(jwt);
 			EmployeeDTO employee = employeeService.getEmployeeByEmail(userEmail);
 			if (employee == null) {
 				throw new ResourceNotFoundException("Employee not found for email: " + userEmail);
 			}
 
-			return ResponseEntity.ok(List.of(employee));
+			return ResponseEntity.ok(CursorPage.single(employee));
 		}
 	}
 
 	@GetMapping("/{id}")
 	@PreAuthorize("hasRole('admin') or hasRole('user')")
+	@QueryBudget(8)
 	public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable Long id, @AuthenticationPrincipal Jwt jwt) {
 		EmployeeDTO employee = employeeService.getEmployeeById(id);
-
-		// Check access
-		if (!securityService.isAdmin()) {
-			String userEmail = jwt.getSubject();
-			if (!userEmail.equals(employee.getEmail()) && !userEmail.equals(employee.getPersonalEmail())) {
-				throw new AccessDeniedException("You can only access your own employee record");
-			}
-		}
-
+		securityService.validateEmployeeAccess(employee, jwt);
 		return ResponseEntity.ok(employee);
 	}
 
@@ -106,8 +105,11 @@ public class EmployeeController {
 	@PutMapping("/{id}")
 	@PreAuthorize("hasRole('admin')")
 	public ResponseEntity<EmployeeDTO> updateEmployee(@PathVariable Long id,
-			@Valid @RequestBody EmployeeDTO employeeDTO) {
-		EmployeeDTO updatedEmployee = employeeService.updateEmployee(id, employeeDTO);
+			@Valid @RequestBody EmployeeDTO employeeDTO,
+			@RequestParam(defaultValue = "false") boolean replace) {
+		// By default only the fields sent are applied; ?replace=true overwrites the employee wholesale
+		MappingStrategy strategy = replace ? MappingStrategy.REPLACE : MappingStrategy.PATCH;
+		EmployeeDTO updatedEmployee = employeeService.updateEmployee(id, employeeDTO, strategy);
 		return ResponseEntity.ok(updatedEmployee);
 	}
 
@@ -120,38 +122,46 @@ public class EmployeeController {
 
 	@GetMapping("/{id}/pdf")
 	@PreAuthorize("hasRole('admin') or hasRole('user')")
-	public ResponseEntity<byte[]> downloadEmployeePdf(@PathVariable Long id, @AuthenticationPrincipal Jwt jwt) {
-		try {
-			EmployeeDTO employee = employeeService.getEmployeeById(id);
-
-			// Check access
-			if (!securityService.isAdmin()) {
-				// Get email from multiple possible claims
-				String userEmail = jwt.getClaimAsString("email");
-				if (userEmail == null) {
-					userEmail = jwt.getClaimAsString("https://api.employeemanagement.com/user_email");
-				}
-
-				if (userEmail == null) {
-					String subject = jwt.getSubject();
-					if (subject != null && subject.contains("@")) {
-						userEmail = subject;
-					}
-				}
-
-				if (userEmail == null
-						|| (!userEmail.equals(employee.getEmail()) && !userEmail.equals(employee.getPersonalEmail()))) {
-					throw new AccessDeniedException("You can only download your own PDF");
-				}
+	public ResponseEntity<StreamingResponseBody> downloadEmployeePdf(@PathVariable Long id,
+			@AuthenticationPrincipal Jwt jwt) {
+		EmployeeDTO employee = employeeService.getEmployeeById(id);
+		securityService.validateEmployeeAccess(employee, jwt);
+
+		photoRenditionService.attachPdfPhoto(employee);
+		// Written straight to the response as iText produces it
+		StreamingResponseBody body = out -> {
+			try {
+				pdfService.generateEmployeePdf(employee, out);
+			} catch (DocumentException e) {
+				throw new IOException("Failed to generate PDF", e);
 			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_PDF)
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employee_" + id + ".pdf\"")
+				.body(body);
+	}
 
-			byte[] pdfBytes = pdfService.generateEmployeePdf(employee);
-			return ResponseEntity.ok().contentType(MediaType.APPLICATION_PDF)
-					.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employee_" + id + ".pdf\"")
-					.body(pdfBytes);
-		} catch (DocumentException e) {
-			throw new RuntimeException("Failed to generate PDF", e);
+	@GetMapping("/pdf/bulk")
+	@PreAuthorize("hasRole('admin')")
+	public ResponseEntity<StreamingResponseBody> downloadEmployeePdfs(@RequestParam(required = false) Long projectId,
+			@RequestParam(required = false) Long teamId) {
+		if ((projectId == null) == (teamId == null)) {
+			throw new IllegalArgumentException("Exactly one of projectId or teamId is required");
 		}
+		List<Long> employeeIds = projectId != null ? pdfExportService.getEmployeeIdsForProject(projectId)
+				: pdfExportService.getEmployeeIdsForTeam(teamId);
+		String fileName = projectId != null ? "project_" + projectId + "_employees.zip"
+				: "team_" + teamId + "_employees.zip";
+
+		StreamingResponseBody body = out -> pdfExportService.writeZip(employeeIds, out);
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/zip"))
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"").body(body);
+	}
+
+	@GetMapping("/pdf/cache-stats")
+	@PreAuthorize("hasRole('admin')")
+	public ResponseEntity<Map<String, Object>> getPdfCacheStats() {
+		return ResponseEntity.ok(pdfRenderCache.stats());
 	}
 
 	@PostMapping("/{employeeId}/documents")
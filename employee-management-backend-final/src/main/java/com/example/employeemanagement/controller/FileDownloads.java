@@ -0,0 +1,145 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.dto.FileMetadataDTO;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Builds file download responses with validators and byte-range support. The
+ * ETag and Last-Modified headers let clients revalidate with a 304 instead of
+ * downloading again, and a single {@code Range} is answered with 206 so large
+ * files can resume. Content that is a local file is handed to Tomcat's
+ * sendfile when the connector supports it, so the kernel copies it to the
+ * socket; otherwise the writer copies it.
+ */
+final class FileDownloads {
+
+	// Request attributes of Tomcat's sendfile support, as used by its DefaultServlet
+	private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+	@FunctionalInterface
+	interface ContentWriter {
+		void write(OutputStream out, long start, long length) throws IOException;
+	}
+
+	private FileDownloads() {
+	}
+
+	/** Strong ETag: the content hash when known, otherwise the row id and version. */
+	static String etag(String kind, FileMetadataDTO metadata) {
+		if (metadata.getContentHash() != null) {
+			return "\"" + metadata.getContentHash() + "\"";
+		}
+		String version = metadata.getVersion() != null ? "-v" + metadata.getVersion() : "";
+		return "\"" + kind + "-" + metadata.getId() + version + "\"";
+	}
+
+	static ResponseEntity<StreamingResponseBody> respond(NativeWebRequest request, FileMetadataDTO metadata, String etag,
+			HttpHeaders headers, ContentWriter writer) {
+		return respond(request, metadata, etag, headers, Optional.empty(), writer);
+	}
+
+	static ResponseEntity<StreamingResponseBody> respond(NativeWebRequest request, FileMetadataDTO metadata, String etag,
+			HttpHeaders headers, Optional<Path> localFile, ContentWriter writer) {
+		long lastModified = metadata.getLastModified() != null ? metadata.getLastModified().toEpochMilli() : -1;
+
+		// Also writes the ETag and Last-Modified headers to the response
+		if (request.checkNotModified(etag, lastModified)) {
+			HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+			int status = response != null ? response.getStatus() : HttpStatus.NOT_MODIFIED.value();
+			return ResponseEntity.status(status).build();
+		}
+
+		long length = metadata.getFileSize();
+		headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+		List<HttpRange> ranges = List.of();
+		try {
+			if (rangeApplies(request, etag, lastModified)) {
+				ranges = HttpRange.parseRanges(request.getHeader(HttpHeaders.RANGE));
+			}
+		} catch (IllegalArgumentException e) {
+			return unsatisfiable(length);
+		}
+
+		// Multiple ranges are rare for these files; answering with the full body is allowed
+		if (ranges.size() != 1) {
+			headers.setContentLength(length);
+			return body(request, localFile, 0, length, headers, HttpStatus.OK, writer);
+		}
+
+		HttpRange range = ranges.get(0);
+		long start;
+		long end;
+		try {
+			start = range.getRangeStart(length);
+			end = range.getRangeEnd(length);
+		} catch (IllegalArgumentException e) {
+			return unsatisfiable(length);
+		}
+		if (length == 0 || start >= length || end < start) {
+			return unsatisfiable(length);
+		}
+
+		long count = end - start + 1;
+		headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+		headers.setContentLength(count);
+		return body(request, localFile, start, count, headers, HttpStatus.PARTIAL_CONTENT, writer);
+	}
+
+	private static ResponseEntity<StreamingResponseBody> body(NativeWebRequest request, Optional<Path> localFile,
+			long start, long count, HttpHeaders headers, HttpStatus status, ContentWriter writer) {
+		if (localFile.isPresent() && count > 0 && Boolean.TRUE.equals(
+				request.getAttribute(SENDFILE_SUPPORT, RequestAttributes.SCOPE_REQUEST))) {
+			// No body: Tomcat sends [start, end) of the file itself once the headers are written
+			request.setAttribute(SENDFILE_FILENAME, localFile.get().toString(), RequestAttributes.SCOPE_REQUEST);
+			request.setAttribute(SENDFILE_START, start, RequestAttributes.SCOPE_REQUEST);
+			request.setAttribute(SENDFILE_END, start + count, RequestAttributes.SCOPE_REQUEST);
+			return new ResponseEntity<>(headers, status);
+		}
+		return new ResponseEntity<>(out -> writer.write(out, start, count), headers, status);
+	}
+
+	/** A Range header is honoured unless an If-Range validator shows the client holds an older version. */
+	private static boolean rangeApplies(NativeWebRequest request, String etag, long lastModified) {
+		if (request.getHeader(HttpHeaders.RANGE) == null) {
+			return false;
+		}
+		String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+		if (ifRange == null) {
+			return true;
+		}
+		if (ifRange.startsWith("\"")) {
+			return ifRange.equals(etag);
+		}
+		try {
+			long since = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond();
+			return lastModified >= 0 && lastModified / 1000 == since;
+		} catch (DateTimeParseException e) {
+			return false;
+		}
+	}
+
+	private static ResponseEntity<StreamingResponseBody> unsatisfiable(long length) {
+		return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+				.header(HttpHeaders.CONTENT_RANGE, "bytes */" + length).build();
+	}
+}
@@ -1,6 +1,7 @@
 package com.example.employeemanagement.controller;
 
 import com.example.employeemanagement.dto.LeaveDTO;
+import com.example.employeemanagement.metrics.QueryBudget;
 import com.example.employeemanagement.model.Leave.LeaveStatus;
 import com.example.employeemanagement.service.LeaveService;
 import com.example.employeemanagement.service.SecurityService;
@@ -39,6 +40,7 @@ public class LeaveController {
 
     @GetMapping("/employee/{employeeId}")
     @PreAuthorize("hasRole('admin') or hasRole('user')")
+    @QueryBudget(3)
     public ResponseEntity<List<LeaveDTO>> getLeavesByEmployeeId(
             @PathVariable Long employeeId, 
             @AuthenticationPrincipal Jwt jwt) {
@@ -53,6 +55,7 @@ public class LeaveController {
 
     @GetMapping("/pending")
     @PreAuthorize("hasRole('admin')")
+    @QueryBudget(3)
     public ResponseEntity<List<LeaveDTO>> getPendingLeaves() {
         return ResponseEntity.ok(leaveService.getPendingLeaves());
     }
@@ -74,13 +77,15 @@ public class LeaveController {
 
     @GetMapping("/{leaveId}")
     @PreAuthorize("hasRole('admin') or hasRole('user')")
+    @QueryBudget(2)
     public ResponseEntity<LeaveDTO> getLeaveById(
             @PathVariable Long leaveId,
             @AuthenticationPrincipal Jwt jwt) {
-        if (!securityService.hasLeaveAccess(leaveId, jwt)) {
+        LeaveDTO leave = leaveService.getLeaveById(leaveId);
+        if (!securityService.hasLeaveAccess(leave, jwt)) {
             throw new AccessDeniedException("You don't have permission to access this leave");
         }
-        return ResponseEntity.ok(leaveService.getLeaveById(leaveId));
+        return ResponseEntity.ok(leave);
     }
 
     @PutMapping("/{leaveId}/cancel")
@@ -1,24 +1,34 @@
 package com.example.employeemanagement.controller;
 
+import com.example.employeemanagement.dto.FileMetadataDTO;
 import com.example.employeemanagement.dto.ProfilePhotoDTO;
+import com.example.employeemanagement.model.PhotoRendition;
+import com.example.employeemanagement.model.ProfilePhotoRendition;
+import com.example.employeemanagement.service.PhotoRenditionService;
 import com.example.employeemanagement.service.ProfilePhotoService;
+import com.example.employeemanagement.storage.ByteRangeOutputStream;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.io.IOException;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/employees/{employeeId}/profile-photo")
 
 public class ProfilePhotoController {
 	private final ProfilePhotoService profilePhotoService;
+	private final PhotoRenditionService photoRenditionService;
 
-	public ProfilePhotoController(ProfilePhotoService profilePhotoService) {
+	public ProfilePhotoController(ProfilePhotoService profilePhotoService,
+			PhotoRenditionService photoRenditionService) {
 		this.profilePhotoService = profilePhotoService;
+		this.photoRenditionService = photoRenditionService;
 	}
 
 	@PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -31,22 +41,48 @@ public class ProfilePhotoController {
 
 	@GetMapping
 	@PreAuthorize("hasRole('admin') or hasRole('user')")
-	public ResponseEntity<byte[]> getProfilePhoto(@PathVariable Long employeeId) {
-		ProfilePhotoDTO profilePhotoDTO = profilePhotoService.getProfilePhoto(employeeId);
-		if (profilePhotoDTO == null || profilePhotoDTO.getData() == null) {
+	public ResponseEntity<StreamingResponseBody> getProfilePhoto(@PathVariable Long employeeId,
+			@RequestParam(required = false) PhotoRendition size, NativeWebRequest webRequest) {
+		FileMetadataDTO metadata = profilePhotoService.getProfilePhotoMetadata(employeeId);
+		if (metadata == null) {
 			return ResponseEntity.notFound().build();
 		}
 
+		// Until a requested rendition has been generated the original is served
+		if (size != null) {
+			Optional<ProfilePhotoRendition> rendition = photoRenditionService.findRendition(employeeId, size);
+			if (rendition.isPresent()) {
+				return renditionResponse(employeeId, metadata, rendition.get(), webRequest);
+			}
+		}
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.parseMediaType(metadata.getFileType()));
+		headers.setContentDispositionFormData("inline", metadata.getFileName());
+		headers.set("X-Photo-Id", metadata.getId().toString());
+		headers.set("X-File-Name", metadata.getFileName());
+		headers.set("X-File-Type", metadata.getFileType());
+		headers.set("X-File-Size", metadata.getFileSize().toString());
+
+		return FileDownloads.respond(webRequest, metadata, FileDownloads.etag("photo", metadata), headers,
+				profilePhotoService.localContentPath(metadata),
+				(out, start, length) -> profilePhotoService.streamProfilePhoto(metadata, out, start, length));
+	}
+
+	private ResponseEntity<StreamingResponseBody> renditionResponse(Long employeeId, FileMetadataDTO original,
+			ProfilePhotoRendition rendition, NativeWebRequest webRequest) {
+		String fileName = rendition.getRendition().name().toLowerCase() + "-" + original.getFileName();
+		FileMetadataDTO metadata = new FileMetadataDTO(rendition.getId(), fileName, rendition.getFileType(),
+				rendition.getFileSize(), employeeId, null, rendition.getContentHash(), rendition.getLastModified());
+
 		HttpHeaders headers = new HttpHeaders();
-		headers.setContentType(MediaType.parseMediaType(profilePhotoDTO.getFileType()));
-		headers.setContentLength(profilePhotoDTO.getFileSize());
-		headers.setContentDispositionFormData("inline", profilePhotoDTO.getFileName());
-		headers.set("X-Photo-Id", profilePhotoDTO.getId().toString());
-		headers.set("X-File-Name", profilePhotoDTO.getFileName());
-		headers.set("X-File-Type", profilePhotoDTO.getFileType());
-		headers.set("X-File-Size", profilePhotoDTO.getFileSize().toString());
-
-		return new ResponseEntity<>(profilePhotoDTO.getData(), headers, HttpStatus.OK);
+		headers.setContentType(MediaType.parseMediaType(rendition.getFileType()));
+		headers.setContentDispositionFormData("inline", fileName);
+		headers.set("X-Photo-Id", original.getId().toString());
+
+		byte[] data = rendition.getData();
+		return FileDownloads.respond(webRequest, metadata, FileDownloads.etag("rendition", metadata), headers,
+				(out, start, length) -> new ByteRangeOutputStream(out, start, length).write(data));
 	}
 
 	@DeleteMapping
@@ -2,6 +2,7 @@
 package com.example.employeemanagement.controller;
 
 import com.example.employeemanagement.dto.ProjectDTO;
+import com.example.employeemanagement.metrics.QueryBudget;
 import com.example.employeemanagement.service.ProjectService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -35,6 +36,7 @@ public class ProjectController {
 
     @GetMapping
     @PreAuthorize("hasRole('admin') or hasRole('SENIOR_PROJECT_MANAGER') or hasRole('PROJECT_MANAGER') or hasRole('TEAM_MANAGER')")
+    @QueryBudget(2)
     public ResponseEntity<List<ProjectDTO>> getAllProjects() {
         List<ProjectDTO> projects = projectService.getAllProjects();
         return ResponseEntity.ok(projects);
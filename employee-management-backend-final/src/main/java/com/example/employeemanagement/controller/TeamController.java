@@ -1,7 +1,9 @@
 package com.example.employeemanagement.controller;
 
-import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.EmployeeView;
 import com.example.employeemanagement.dto.TeamDTO;
+import com.example.employeemanagement.dto.TeamSummaryDTO;
+import com.example.employeemanagement.metrics.QueryBudget;
 import com.example.employeemanagement.service.TeamService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,7 +22,8 @@ public class TeamController {
     }
 
     @GetMapping
-    public ResponseEntity<List<TeamDTO>> getAllTeams() {
+    @QueryBudget(2)
+    public ResponseEntity<List<TeamSummaryDTO>> getAllTeams() {
         return ResponseEntity.ok(teamService.getAllTeams());
     }
 
@@ -61,9 +64,15 @@ public class TeamController {
         return ResponseEntity.ok(teamService.assignTeamManager(teamId, employeeId));
     }
 
+    // A roster by default; ?view=full returns each member's whole aggregate
     @GetMapping("/{teamId}/members")
-    public ResponseEntity<List<EmployeeDTO>> getTeamMembers(@PathVariable Long teamId) {
-        return ResponseEntity.ok(teamService.getTeamMembers(teamId));
+    @QueryBudget(10)
+    public ResponseEntity<List<?>> getTeamMembers(@PathVariable Long teamId,
+            @RequestParam(defaultValue = "summary") EmployeeView view) {
+        if (view == EmployeeView.FULL) {
+            return ResponseEntity.ok(teamService.getTeamMembers(teamId));
+        }
+        return ResponseEntity.ok(teamService.getTeamRoster(teamId));
     }
 
     @PostMapping("/{teamId}/add-member/{employeeId}")
@@ -0,0 +1,23 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+	private List<T> items;
+	private String nextCursor;
+	private boolean hasNext;
+	private int size;
+
+	public static <T> CursorPage<T> single(T item) {
+		return new CursorPage<>(List.of(item), null, false, 1);
+	}
+}
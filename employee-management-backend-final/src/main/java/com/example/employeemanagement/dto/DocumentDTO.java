@@ -1,5 +1,6 @@
 package com.example.employeemanagement.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -14,6 +15,8 @@ public class DocumentDTO {
     private String fileName;
     private String fileType;
     private Long fileSize;
+    // Accepted when documents are sent with a new employee but never returned; content is downloaded per document
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private byte[] data;
     private String documentType;
     private Long employeeId;
@@ -4,7 +4,6 @@ import com.example.employeemanagement.model.Role;
 import lombok.*;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
 @Getter
@@ -39,12 +38,14 @@ public class EmployeeDTO {
 	private Long teamId;
 
 	private ProfilePhotoDTO profilePhoto;
-	private List<EducationDTO> educationList = new ArrayList<>();
-	private List<CertificationDTO> certifications = new ArrayList<>();
-	private List<SkillDTO> skills = new ArrayList<>();
-	private List<DocumentDTO> documents = new ArrayList<>();
-	private List<ExperienceDTO> experiences = new ArrayList<>();
-	private List<LeaveDTO> leaves = new ArrayList<>();
+
+	// Left null unless the request sent them, so a patch can tell "not sent" from "clear"
+	private List<EducationDTO> educationList;
+	private List<CertificationDTO> certifications;
+	private List<SkillDTO> skills;
+	private List<DocumentDTO> documents;
+	private List<ExperienceDTO> experiences;
+	private List<LeaveDTO> leaves;
 
 	// For document deletion
 	private List<Long> documentsToDelete;
@@ -0,0 +1,5 @@
+package com.example.employeemanagement.dto;
+
+public enum EmployeeSort {
+	ID, NAME
+}
@@ -0,0 +1,45 @@
+package com.example.employeemanagement.dto;
+
+import com.example.employeemanagement.model.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * List-view projection of an employee: scalar columns plus project/team ids,
+ * without child collections or photo bytes.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeSummaryDTO {
+	private Long employeeId;
+	private String firstName;
+	private String lastName;
+	private String gender;
+	private LocalDate dob;
+	private String email;
+	private String personalEmail;
+	private String fatherName;
+	private String mobile;
+
+	// Present Address
+	private String presentStreet;
+	private String presentCity;
+	private String presentState;
+	private String presentZip;
+
+	// Permanent Address
+	private String permanentStreet;
+	private String permanentCity;
+	private String permanentState;
+	private String permanentZip;
+
+	private Role role;
+	private Long projectId;
+	private Long teamId;
+}
@@ -0,0 +1,34 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Descriptive columns of a stored file (document or profile photo), loaded
+ * without the binary content so downloads can set headers before streaming.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileMetadataDTO {
+	private Long id;
+	private String fileName;
+	private String fileType;
+	private Long fileSize;
+	private Long employeeId;
+	private String storageKey;
+	private String contentHash;
+	private Long version;
+	private Instant lastModified;
+
+	// Profile photos are not versioned
+	public FileMetadataDTO(Long id, String fileName, String fileType, Long fileSize, Long employeeId,
+			String storageKey, String contentHash, Instant lastModified) {
+		this(id, fileName, fileType, fileSize, employeeId, storageKey, contentHash, null, lastModified);
+	}
+}
@@ -9,7 +9,6 @@ import java.time.LocalDate;
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class LeaveDTO {
     private Long leaveId;
     private Long employeeId;
@@ -21,4 +20,28 @@ public class LeaveDTO {
     private LeaveStatus status;
     private LocalDate createdAt;
     private LocalDate updatedAt;
+
+    /** For JPQL constructor expressions; the name is built from its parts the way {@code LeaveMapper} builds it. */
+    public LeaveDTO(Long leaveId, Long employeeId, String employeeFirstName, String employeeLastName,
+            LeaveType leaveType, String reason, LocalDate startDate, LocalDate endDate, LeaveStatus status,
+            LocalDate createdAt, LocalDate updatedAt) {
+        this.leaveId = leaveId;
+        this.employeeId = employeeId;
+        this.employeeName = employeeName(employeeFirstName, employeeLastName);
+        this.leaveType = leaveType;
+        this.reason = reason;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    /** First and last name separated by a space; a missing part is left out rather than printed as "null". */
+    public static String employeeName(String firstName, String lastName) {
+        if (firstName == null) {
+            return lastName;
+        }
+        return lastName == null ? firstName : firstName + " " + lastName;
+    }
 }
\ No newline at end of file
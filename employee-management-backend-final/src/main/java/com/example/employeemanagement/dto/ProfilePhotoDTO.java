@@ -14,6 +14,9 @@ public class ProfilePhotoDTO {
 	private Long fileSize;
 	@JsonIgnore
 	private byte[] data;
+	// SHA-256 of the content data holds, when the stored photo or rendition it came from has one
+	@JsonIgnore
+	private String contentHash;
 	private Long employeeId;
 
 	public boolean hasPhotoData() {
@@ -1,12 +1,14 @@
 package com.example.employeemanagement.dto;
 
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.util.List;
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class ProjectDTO {
     private Long id;
     private String name;
@@ -14,4 +16,16 @@ public class ProjectDTO {
     private String seniorProjectManagerName;
     private List<TeamDTO> teams;
     private int teamsCount;
+
+    // Listing projection: the team count and manager name come from the same grouped query
+    public ProjectDTO(Long id, String name, Long seniorProjectManagerId, String seniorProjectManagerFirstName,
+            String seniorProjectManagerLastName, Long teamsCount) {
+        this.id = id;
+        this.name = name;
+        this.seniorProjectManagerId = seniorProjectManagerId;
+        if (seniorProjectManagerId != null) {
+            this.seniorProjectManagerName = seniorProjectManagerFirstName + " " + seniorProjectManagerLastName;
+        }
+        this.teamsCount = teamsCount.intValue();
+    }
 }
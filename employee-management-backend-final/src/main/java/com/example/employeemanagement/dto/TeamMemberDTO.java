@@ -0,0 +1,34 @@
+package com.example.employeemanagement.dto;
+
+import com.example.employeemanagement.model.Role;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Roster entry for a team member: identity and role plus a link to the avatar
+ * rendition, so the roster never carries child collections or photo bytes.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class TeamMemberDTO {
+	private Long employeeId;
+	private String firstName;
+	private String lastName;
+	private Role role;
+	private String email;
+	private String photoUrl;
+
+	public TeamMemberDTO(Long employeeId, String firstName, String lastName, Role role, String email,
+			Long profilePhotoId) {
+		this.employeeId = employeeId;
+		this.firstName = firstName;
+		this.lastName = lastName;
+		this.role = role;
+		this.email = email;
+		if (profilePhotoId != null) {
+			this.photoUrl = "/api/employees/" + employeeId + "/profile-photo?size=avatar";
+		}
+	}
+}
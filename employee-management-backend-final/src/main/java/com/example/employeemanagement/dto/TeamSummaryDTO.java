@@ -0,0 +1,42 @@
+package com.example.employeemanagement.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * List-view projection of a team: project and manager names plus the member
+ * count, read in one grouped query without loading members or managers.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class TeamSummaryDTO {
+	private Long id;
+	private String name;
+	private Long projectId;
+	private String projectName;
+	private Long projectManagerId;
+	private String projectManagerName;
+	private Long teamManagerId;
+	private String teamManagerName;
+	private long memberCount;
+
+	public TeamSummaryDTO(Long id, String name, Long projectId, String projectName, Long projectManagerId,
+			String projectManagerFirstName, String projectManagerLastName, Long teamManagerId,
+			String teamManagerFirstName, String teamManagerLastName, Long memberCount) {
+		this.id = id;
+		this.name = name;
+		this.projectId = projectId;
+		this.projectName = projectName;
+		this.projectManagerId = projectManagerId;
+		if (projectManagerId != null) {
+			this.projectManagerName = projectManagerFirstName + " " + projectManagerLastName;
+		}
+		this.teamManagerId = teamManagerId;
+		if (teamManagerId != null) {
+			this.teamManagerName = teamManagerFirstName + " " + teamManagerLastName;
+		}
+		this.memberCount = memberCount;
+	}
+}
@@ -0,0 +1,8 @@
+package com.example.employeemanagement.exception;
+
+/** A listing request whose cursor or page size cannot be used; answered with 400. */
+public class InvalidPageRequestException extends RuntimeException {
+	public InvalidPageRequestException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,7 @@
+package com.example.employeemanagement.exception;
+
+public class QueryBudgetExceededException extends RuntimeException {
+	public QueryBudgetExceededException(String message) {
+		super(message);
+	}
+}
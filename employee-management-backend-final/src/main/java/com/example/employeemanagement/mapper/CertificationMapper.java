@@ -0,0 +1,46 @@
+package com.example.employeemanagement.mapper;
+
+import com.example.employeemanagement.dto.CertificationDTO;
+import com.example.employeemanagement.model.Certification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CertificationMapper implements Mapper<Certification, CertificationDTO> {
+
+	@Override
+	public CertificationDTO toDto(Certification certification) {
+		CertificationDTO dto = new CertificationDTO();
+		dto.setCertificationId(certification.getCertificationId());
+		dto.setVersion(certification.getVersion());
+		dto.setName(certification.getName());
+		dto.setOrganization(certification.getOrganization());
+		dto.setDate(certification.getDate());
+		return dto;
+	}
+
+	@Override
+	public Certification toEntity(CertificationDTO dto) {
+		Certification certification = new Certification();
+		merge(dto, certification);
+		return certification;
+	}
+
+	@Override
+	public void merge(CertificationDTO dto, Certification certification) {
+		if (dto.getCertificationId() != null) {
+			certification.setCertificationId(dto.getCertificationId());
+		}
+		if (dto.getVersion() != null) {
+			certification.setVersion(dto.getVersion());
+		}
+		if (dto.getName() != null) {
+			certification.setName(dto.getName());
+		}
+		if (dto.getOrganization() != null) {
+			certification.setOrganization(dto.getOrganization());
+		}
+		if (dto.getDate() != null) {
+			certification.setDate(dto.getDate());
+		}
+	}
+}
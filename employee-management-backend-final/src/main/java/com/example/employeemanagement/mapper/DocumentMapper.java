@@ -0,0 +1,56 @@
+package com.example.employeemanagement.mapper;
+
+import com.example.employeemanagement.dto.DocumentDTO;
+import com.example.employeemanagement.model.Document;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DocumentMapper implements Mapper<Document, DocumentDTO> {
+
+	@Override
+	public DocumentDTO toDto(Document document) {
+		DocumentDTO dto = new DocumentDTO();
+		dto.setDocumentId(document.getDocumentId());
+		dto.setFileName(document.getFileName());
+		dto.setFileType(document.getFileType());
+		dto.setFileSize(document.getFileSize());
+		dto.setDocumentType(document.getDocumentType());
+		dto.setVersion(document.getVersion());
+		if (document.getEmployee() != null) {
+			dto.setEmployeeId(document.getEmployee().getEmployeeId());
+		}
+		return dto;
+	}
+
+	@Override
+	public Document toEntity(DocumentDTO dto) {
+		Document document = new Document();
+		merge(dto, document);
+		return document;
+	}
+
+	@Override
+	public void merge(DocumentDTO dto, Document document) {
+		if (dto.getDocumentId() != null) {
+			document.setDocumentId(dto.getDocumentId());
+		}
+		if (dto.getFileName() != null) {
+			document.setFileName(dto.getFileName());
+		}
+		if (dto.getFileType() != null) {
+			document.setFileType(dto.getFileType());
+		}
+		if (dto.getFileSize() != null) {
+			document.setFileSize(dto.getFileSize());
+		}
+		if (dto.getData() != null) {
+			document.setData(dto.getData());
+		}
+		if (dto.getDocumentType() != null) {
+			document.setDocumentType(dto.getDocumentType());
+		}
+		if (dto.getVersion() != null) {
+			document.setVersion(dto.getVersion());
+		}
+	}
+}
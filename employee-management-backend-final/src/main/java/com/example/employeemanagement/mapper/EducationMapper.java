@@ -0,0 +1,50 @@
+package com.example.employeemanagement.mapper;
+
+import com.example.employeemanagement.dto.EducationDTO;
+import com.example.employeemanagement.model.Education;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EducationMapper implements Mapper<Education, EducationDTO> {
+
+	@Override
+	public EducationDTO toDto(Education education) {
+		EducationDTO dto = new EducationDTO();
+		dto.setEducationId(education.getEducationId());
+		dto.setVersion(education.getVersion());
+		dto.setEducationName(education.getEducationName());
+		dto.setCollege(education.getCollege());
+		dto.setYear(education.getYear());
+		dto.setPercentage(education.getPercentage());
+		return dto;
+	}
+
+	@Override
+	public Education toEntity(EducationDTO dto) {
+		Education education = new Education();
+		merge(dto, education);
+		return education;
+	}
+
+	@Override
+	public void merge(EducationDTO dto, Education education) {
+		if (dto.getEducationId() != null) {
+			education.setEducationId(dto.getEducationId());
+		}
+		if (dto.getVersion() != null) {
+			education.setVersion(dto.getVersion());
+		}
+		if (dto.getEducationName() != null) {
+			education.setEducationName(dto.getEducationName());
+		}
+		if (dto.getCollege() != null) {
+			education.setCollege(dto.getCollege());
+		}
+		if (dto.getYear() != null) {
+			education.setYear(dto.getYear());
+		}
+		if (dto.getPercentage() != null) {
+			education.setPercentage(dto.getPercentage());
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package com.example.employeemanagement.mapper;
+
+import com.example.employeemanagement.dto.*;
+import com.example.employeemanagement.model.*;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Maps the full employee aggregate. Child collections are converted by their own
+ * mappers; {@link #apply} and the {@link #toEntity}/{@link #merge} shortcuts only
+ * touch scalar fields and the role, leaving associations to the service that owns them.
+ */
+@Component
+public class EmployeeMapper implements Mapper<Employee, EmployeeDTO> {
+
+	private final EducationMapper educationMapper;
+	private final CertificationMapper certificationMapper;
+	private final SkillMapper skillMapper;
+	private final DocumentMapper documentMapper;
+	private final ExperienceMapper experienceMapper;
+	private final LeaveMapper leaveMapper;
+	private final ProfilePhotoMapper profilePhotoMapper;
+
+	public EmployeeMapper(EducationMapper educationMapper, CertificationMapper certificationMapper,
+			SkillMapper skillMapper, DocumentMapper documentMapper, ExperienceMapper experienceMapper,
+			LeaveMapper leaveMapper, ProfilePhotoMapper profilePhotoMapper) {
+		this.educationMapper = educationMapper;
+		this.certificationMapper = certificationMapper;
+		this.skillMapper = skillMapper;
+		this.documentMapper = documentMapper;
+		this.experienceMapper = experienceMapper;
+		this.leaveMapper = leaveMapper;
+		this.profilePhotoMapper = profilePhotoMapper;
+	}
+
+	@Override
+	public EmployeeDTO toDto(Employee employee) {
+		EmployeeDTO dto = new EmployeeDTO();
+		dto.setEmployeeId(employee.getEmployeeId());
+		dto.setFirstName(employee.getFirstName());
+		dto.setLastName(employee.getLastName());
+		dto.setGender(employee.getGender());
+		dto.setDob(employee.getDob());
+		dto.setEmail(employee.getEmail());
+		dto.setPersonalEmail(employee.getPersonalEmail());
+		dto.setFatherName(employee.getFatherName());
+		dto.setMobile(employee.getMobile());
+		dto.setPresentStreet(employee.getPresentStreet());
+		dto.setPresentCity(employee.getPresentCity());
+		dto.setPresentState(employee.getPresentState());
+		dto.setPresentZip(employee.getPresentZip());
+		dto.setPermanentStreet(employee.getPermanentStreet());
+		dto.setPermanentCity(employee.getPermanentCity());
+		dto.setPermanentState(employee.getPermanentState());
+		dto.setPermanentZip(employee.getPermanentZip());
+		dto.setRole(employee.getRole());
+
+		// Reading the id of a lazy proxy does not initialize it
+		if (employee.getProject() != null) {
+			dto.setProjectId(employee.getProject().getId());
+		}
+		if (employee.getTeam() != null) {
+			dto.setTeamId(employee.getTeam().getId());
+		}
+
+		if (employee.getProfilePhoto() != null) {
+			ProfilePhotoDTO photoDTO = profilePhotoMapper.toDto(employee.getProfilePhoto());
+			photoDTO.setEmployeeId(employee.getEmployeeId());
+			dto.setProfilePhoto(photoDTO);
+		}
+
+		dto.setEducationList(mapAll(employee.getEducationList(), educationMapper));
+		dto.setCertifications(mapAll(employee.getCertifications(), certificationMapper));
+		dto.setSkills(mapAll(employee.getSkills(), skillMapper));
+		dto.setDocuments(mapAll(employee.getDocuments(), documentMapper));
+		dto.setExperiences(mapAll(employee.getExperiences(), experienceMapper));
+		dto.setLeaves(mapAll(employee.getLeaves(), leaveMapper));
+		return dto;
+	}
+
+	@Override
+	public Employee toEntity(EmployeeDTO dto) {
+		Employee employee = new Employee();
+		apply(dto, employee, MappingStrategy.CREATE);
+		return employee;
+	}
+
+	@Override
+	public void merge(EmployeeDTO dto, Employee employee) {
+		apply(dto, employee, MappingStrategy.PATCH);
+	}
+
+	/**
+	 * Copies the scalar fields and role of the DTO onto the entity as the strategy
+	 * dictates. The id is never taken from the DTO.
+	 */
+	public void apply(EmployeeDTO dto, Employee employee, MappingStrategy strategy) {
+		copy(strategy, dto.getFirstName(), employee::setFirstName);
+		copy(strategy, dto.getLastName(), employee::setLastName);
+		copy(strategy, dto.getGender(), employee::setGender);
+		copy(strategy, dto.getDob(), employee::setDob);
+		copy(strategy, dto.getEmail(), employee::setEmail);
+		copy(strategy, dto.getPersonalEmail(), employee::setPersonalEmail);
+		copy(strategy, dto.getFatherName(), employee::setFatherName);
+		copy(strategy, dto.getMobile(), employee::setMobile);
+		copy(strategy, dto.getPresentStreet(), employee::setPresentStreet);
+		copy(strategy, dto.getPresentCity(), employee::setPresentCity);
+		copy(strategy, dto.getPresentState(), employee::setPresentState);
+		copy(strategy, dto.getPresentZip(), employee::setPresentZip);
+		copy(strategy, dto.getPermanentStreet(), employee::setPermanentStreet);
+		copy(strategy, dto.getPermanentCity(), employee::setPermanentCity);
+		copy(strategy, dto.getPermanentState(), employee::setPermanentState);
+		copy(strategy, dto.getPermanentZip(), employee::setPermanentZip);
+		copy(strategy, dto.getRole(), employee::setRole);
+	}
+
+	private static <T> void copy(MappingStrategy strategy, T value, Consumer<T> setter) {
+		if (strategy.copies(value)) {
+			setter.accept(value);
+		}
+	}
+
+	private static <E, D> List<D> mapAll(List<E> entities, Mapper<E, D> mapper) {
+		if (entities == null) {
+			return new ArrayList<>();
+		}
+		List<D> dtos = new ArrayList<>(entities.size());
+		for (E entity : entities) {
+			dtos.add(mapper.toDto(entity));
+		}
+		return dtos;
+	}
+}
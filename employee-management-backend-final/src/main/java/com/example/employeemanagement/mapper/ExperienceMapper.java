@@ -0,0 +1,45 @@
+package com.example.employeemanagement.mapper;
+
+import com.example.employeemanagement.dto.ExperienceDTO;
+import com.example.employeemanagement.model.Experience;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ExperienceMapper implements Mapper<Experience, ExperienceDTO> {
+
+	@Override
+	public ExperienceDTO toDto(Experience experience) {
+		ExperienceDTO dto = new ExperienceDTO();
+		dto.setExperienceId(experience.getExperienceId());
+		dto.setLevel(experience.getLevel());
+		dto.setJobRole(experience.getJobRole());
+		dto.setVersion(experience.getVersion());
+		if (experience.getEmployee() != null) {
+			dto.setEmployeeId(experience.getEmployee().getEmployeeId());
+		}
+		return dto;
+	}
+
+	@Override
+	public Experience toEntity(ExperienceDTO dto) {
+		Experience experience = new Experience();
+		merge(dto, experience);
+		return experience;
+	}
+
+	@Override
+	public void merge(ExperienceDTO dto, Experience experience) {
+		if (dto.getExperienceId() != null) {
+			experience.setExperienceId(dto.getExperienceId());
+		}
+		if (dto.getLevel() != null) {
+			experience.setLevel(dto.getLevel());
+		}
+		if (dto.getJobRole() != null) {
+			experience.setJobRole(dto.getJobRole());
+		}
+		if (dto.getVersion() != null) {
+			experience.setVersion(dto.getVersion());
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package com.example.employeemanagement.mapper;
+
+import com.example.employeemanagement.dto.LeaveDTO;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.Leave;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LeaveMapper implements Mapper<Leave, LeaveDTO> {
+
+	@Override
+	public LeaveDTO toDto(Leave leave) {
+		LeaveDTO dto = new LeaveDTO();
+		dto.setLeaveId(leave.getLeaveId());
+		dto.setLeaveType(leave.getLeaveType());
+		dto.setReason(leave.getReason());
+		dto.setStartDate(leave.getStartDate());
+		dto.setEndDate(leave.getEndDate());
+		dto.setStatus(leave.getStatus());
+		dto.setCreatedAt(leave.getCreatedAt());
+		dto.setUpdatedAt(leave.getUpdatedAt());
+
+		// Ensure employee is not null before accessing its ID/name
+		Employee employee = leave.getEmployee();
+		if (employee != null) {
+			dto.setEmployeeId(employee.getEmployeeId());
+			dto.setEmployeeName(LeaveDTO.employeeName(employee.getFirstName(), employee.getLastName()));
+		}
+		return dto;
+	}
+
+	@Override
+	public Leave toEntity(LeaveDTO dto) {
+		Leave leave = new Leave();
+		merge(dto, leave);
+		return leave;
+	}
+
+	@Override
+	public void merge(LeaveDTO dto, Leave leave) {
+		if (dto.getLeaveId() != null) {
+			leave.setLeaveId(dto.getLeaveId());
+		}
+		if (dto.getLeaveType() != null) {
+			leave.setLeaveType(dto.getLeaveType());
+		}
+		if (dto.getReason() != null) {
+			leave.setReason(dto.getReason());
+		}
+		if (dto.getStartDate() != null) {
+			leave.setStartDate(dto.getStartDate());
+		}
+		if (dto.getEndDate() != null) {
+			leave.setEndDate(dto.getEndDate());
+		}
+		if (dto.getStatus() != null) {
+			leave.setStatus(dto.getStatus());
+		}
+		if (dto.getCreatedAt() != null) {
+			leave.setCreatedAt(dto.getCreatedAt());
+		}
+		if (dto.getUpdatedAt() != null) {
+			leave.setUpdatedAt(dto.getUpdatedAt());
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package com.example.employeemanagement.mapper;
+
+/**
+ * Explicit, reflection-free conversion between an entity and its DTO.
+ * Implementations are stateless and safe to share between threads.
+ */
+public interface Mapper<E, D> {
+
+	D toDto(E entity);
+
+	/** Creates a new, unattached entity from the DTO's fields. Associations are left to the caller. */
+	E toEntity(D dto);
+
+	/** Copies the non-null fields of the DTO onto an existing entity, leaving the rest untouched. */
+	void merge(D dto, E entity);
+}
@@ -0,0 +1,33 @@
+package com.example.employeemanagement.mapper;
+
+/**
+ * How a DTO is applied to an entity. Each operation picks a constant instead of
+ * reconfiguring a shared mapper, so concurrent requests cannot see each other's
+ * settings.
+ */
+public enum MappingStrategy {
+
+	/** Copies every field onto a new entity. A client-supplied id is ignored. */
+	CREATE(false),
+
+	/** Overwrites every field of an existing entity, nulls included. The entity keeps its id. */
+	REPLACE(false),
+
+	/** Copies only the fields the client sent; null means "leave unchanged". The entity keeps its id. */
+	PATCH(true);
+
+	private final boolean skipNulls;
+
+	MappingStrategy(boolean skipNulls) {
+		this.skipNulls = skipNulls;
+	}
+
+	public boolean skipsNulls() {
+		return skipNulls;
+	}
+
+	/** Whether a field with this value should be written to the entity. */
+	public boolean copies(Object value) {
+		return value != null || !skipNulls;
+	}
+}
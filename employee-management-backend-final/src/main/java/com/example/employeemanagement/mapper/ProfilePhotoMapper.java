@@ -0,0 +1,47 @@
+package com.example.employeemanagement.mapper;
+
+import com.example.employeemanagement.dto.ProfilePhotoDTO;
+import com.example.employeemanagement.model.ProfilePhoto;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProfilePhotoMapper implements Mapper<ProfilePhoto, ProfilePhotoDTO> {
+
+	@Override
+	public ProfilePhotoDTO toDto(ProfilePhoto profilePhoto) {
+		ProfilePhotoDTO dto = new ProfilePhotoDTO();
+		dto.setId(profilePhoto.getId());
+		dto.setFileName(profilePhoto.getFileName());
+		dto.setFileType(profilePhoto.getFileType());
+		dto.setFileSize(profilePhoto.getFileSize());
+		dto.setData(profilePhoto.getData());
+		dto.setContentHash(profilePhoto.getContentHash());
+		if (profilePhoto.getEmployee() != null) {
+			dto.setEmployeeId(profilePhoto.getEmployee().getEmployeeId());
+		}
+		return dto;
+	}
+
+	@Override
+	public ProfilePhoto toEntity(ProfilePhotoDTO dto) {
+		ProfilePhoto profilePhoto = new ProfilePhoto();
+		merge(dto, profilePhoto);
+		return profilePhoto;
+	}
+
+	@Override
+	public void merge(ProfilePhotoDTO dto, ProfilePhoto profilePhoto) {
+		if (dto.getFileName() != null) {
+			profilePhoto.setFileName(dto.getFileName());
+		}
+		if (dto.getFileType() != null) {
+			profilePhoto.setFileType(dto.getFileType());
+		}
+		if (dto.getFileSize() != null) {
+			profilePhoto.setFileSize(dto.getFileSize());
+		}
+		if (dto.getData() != null) {
+			profilePhoto.setData(dto.getData());
+		}
+	}
+}
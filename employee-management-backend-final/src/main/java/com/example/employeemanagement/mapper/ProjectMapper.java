@@ -0,0 +1,42 @@
+package com.example.employeemanagement.mapper;
+
+import com.example.employeemanagement.dto.ProjectDTO;
+import com.example.employeemanagement.model.Project;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProjectMapper implements Mapper<Project, ProjectDTO> {
+
+	@Override
+	public ProjectDTO toDto(Project project) {
+		ProjectDTO dto = new ProjectDTO();
+		dto.setId(project.getId());
+		dto.setName(project.getName());
+		dto.setTeamsCount(project.getTeams().size());
+
+		if (project.getSeniorProjectManager() != null) {
+			dto.setSeniorProjectManagerId(project.getSeniorProjectManager().getEmployeeId());
+			dto.setSeniorProjectManagerName(project.getSeniorProjectManager().getFirstName() + " "
+					+ project.getSeniorProjectManager().getLastName());
+		}
+
+		return dto;
+	}
+
+	@Override
+	public Project toEntity(ProjectDTO dto) {
+		Project project = new Project();
+		merge(dto, project);
+		return project;
+	}
+
+	@Override
+	public void merge(ProjectDTO dto, Project project) {
+		if (dto.getId() != null) {
+			project.setId(dto.getId());
+		}
+		if (dto.getName() != null) {
+			project.setName(dto.getName());
+		}
+	}
+}
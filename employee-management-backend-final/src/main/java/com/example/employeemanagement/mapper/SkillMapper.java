@@ -0,0 +1,38 @@
+package com.example.employeemanagement.mapper;
+
+import com.example.employeemanagement.dto.SkillDTO;
+import com.example.employeemanagement.model.Skill;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SkillMapper implements Mapper<Skill, SkillDTO> {
+
+	@Override
+	public SkillDTO toDto(Skill skill) {
+		SkillDTO dto = new SkillDTO();
+		dto.setSkillId(skill.getSkillId());
+		dto.setVersion(skill.getVersion());
+		dto.setSkill(skill.getSkill());
+		return dto;
+	}
+
+	@Override
+	public Skill toEntity(SkillDTO dto) {
+		Skill skill = new Skill();
+		merge(dto, skill);
+		return skill;
+	}
+
+	@Override
+	public void merge(SkillDTO dto, Skill skill) {
+		if (dto.getSkillId() != null) {
+			skill.setSkillId(dto.getSkillId());
+		}
+		if (dto.getVersion() != null) {
+			skill.setVersion(dto.getVersion());
+		}
+		if (dto.getSkill() != null) {
+			skill.setSkill(dto.getSkill());
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.example.employeemanagement.mapper;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.TeamDTO;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.Team;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class TeamMapper implements Mapper<Team, TeamDTO> {
+
+	private final EmployeeMapper employeeMapper;
+
+	public TeamMapper(EmployeeMapper employeeMapper) {
+		this.employeeMapper = employeeMapper;
+	}
+
+	@Override
+	public TeamDTO toDto(Team team) {
+		TeamDTO dto = new TeamDTO();
+		dto.setId(team.getId());
+		dto.setName(team.getName());
+
+		if (team.getProject() != null) {
+			dto.setProjectId(team.getProject().getId());
+			dto.setProjectName(team.getProject().getName());
+		}
+
+		if (team.getProjectManager() != null) {
+			dto.setProjectManagerId(team.getProjectManager().getEmployeeId());
+			dto.setProjectManagerName(
+					team.getProjectManager().getFirstName() + " " + team.getProjectManager().getLastName());
+		}
+
+		if (team.getTeamManager() != null) {
+			dto.setTeamManagerId(team.getTeamManager().getEmployeeId());
+			dto.setTeamManagerName(team.getTeamManager().getFirstName() + " " + team.getTeamManager().getLastName());
+		}
+
+		List<EmployeeDTO> members = new ArrayList<>(team.getMembers().size());
+		for (Employee member : team.getMembers()) {
+			members.add(employeeMapper.toDto(member));
+		}
+		dto.setMembers(members);
+		return dto;
+	}
+
+	@Override
+	public Team toEntity(TeamDTO dto) {
+		Team team = new Team();
+		merge(dto, team);
+		return team;
+	}
+
+	@Override
+	public void merge(TeamDTO dto, Team team) {
+		if (dto.getId() != null) {
+			team.setId(dto.getId());
+		}
+		if (dto.getName() != null) {
+			team.setName(dto.getName());
+		}
+	}
+}
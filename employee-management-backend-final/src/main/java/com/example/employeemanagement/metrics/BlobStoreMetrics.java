@@ -0,0 +1,43 @@
+package com.example.employeemanagement.metrics;
+
+import com.example.employeemanagement.storage.StoredBlob;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the bytes written to and read from whichever {@code BlobStore} is
+ * active. Calls a store makes to itself, such as {@code read} delegating to
+ * {@code copyTo}, are not proxied, so no byte is counted twice.
+ */
+@Aspect
+@Component
+public class BlobStoreMetrics {
+
+	private final Counter bytesWritten;
+	private final Counter bytesRead;
+
+	public BlobStoreMetrics(MeterRegistry registry) {
+		this.bytesWritten = Counter.builder("app.blob.bytes").tag("direction", "written").baseUnit("bytes")
+				.register(registry);
+		this.bytesRead = Counter.builder("app.blob.bytes").tag("direction", "read").baseUnit("bytes")
+				.register(registry);
+	}
+
+	@AfterReturning(pointcut = "execution(* com.example.employeemanagement.storage.BlobStore.put(..))", returning = "blob")
+	public void written(StoredBlob blob) {
+		bytesWritten.increment(blob.getSize());
+	}
+
+	@AfterReturning(pointcut = "execution(long com.example.employeemanagement.storage.BlobStore.copy*(..))", returning = "bytes")
+	public void copied(long bytes) {
+		bytesRead.increment(bytes);
+	}
+
+	@AfterReturning(pointcut = "execution(byte[] com.example.employeemanagement.storage.BlobStore.read(..))", returning = "content")
+	public void read(byte[] content) {
+		bytesRead.increment(content.length);
+	}
+}
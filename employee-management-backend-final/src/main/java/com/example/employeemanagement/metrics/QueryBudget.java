@@ -0,0 +1,20 @@
+package com.example.employeemanagement.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The most SQL statements a handler may issue on the request thread, however
+ * many rows it returns. Going over means a lookup is being repeated per row;
+ * depending on {@code app.query-budget.mode} that is logged or fails the request.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+	int value();
+}
@@ -0,0 +1,69 @@
+package com.example.employeemanagement.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Applies the handler's {@link QueryBudget} to the statement count that
+ * {@link SqlStatementCountFilter} opened for the request, and reports handlers
+ * that went over it.
+ */
+@Component
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+	private static final Logger logger = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+
+	private final SqlStatementCounter sqlStatementCounter;
+	private final MeterRegistry registry;
+
+	public QueryBudgetInterceptor(SqlStatementCounter sqlStatementCounter, MeterRegistry registry) {
+		this.sqlStatementCounter = sqlStatementCounter;
+		this.registry = registry;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		QueryBudget budget = budgetOf(handler);
+		if (budget != null) {
+			sqlStatementCounter.limit(budget.value(), request.getMethod() + " " + uri(request));
+		}
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		QueryBudget budget = budgetOf(handler);
+		int statements = sqlStatementCounter.count();
+		if (budget == null || statements <= budget.value()) {
+			return;
+		}
+		Counter.builder("app.sql.budget.exceeded")
+				.description("Requests that issued more SQL statements than their handler's budget")
+				.tag("method", request.getMethod())
+				.tag("uri", uri(request))
+				.register(registry)
+				.increment();
+		if (!sqlStatementCounter.isFailOverBudget()) {
+			logger.warn("{} {} issued {} SQL statements, over its budget of {}", request.getMethod(), uri(request),
+					statements, budget.value());
+		}
+	}
+
+	private static QueryBudget budgetOf(Object handler) {
+		return handler instanceof HandlerMethod method ? method.getMethodAnnotation(QueryBudget.class) : null;
+	}
+
+	private static String uri(HttpServletRequest request) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		return pattern == null ? request.getRequestURI() : pattern.toString();
+	}
+}
@@ -0,0 +1,48 @@
+package com.example.employeemanagement.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each request issued, tagged like
+ * {@code http.server.requests}. Statements run by a streaming response body
+ * after the handler returns happen on another thread and are only in the total.
+ */
+@Component
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+	private final SqlStatementCounter sqlStatementCounter;
+	private final MeterRegistry registry;
+
+	public SqlStatementCountFilter(SqlStatementCounter sqlStatementCounter, MeterRegistry registry) {
+		this.sqlStatementCounter = sqlStatementCounter;
+		this.registry = registry;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		sqlStatementCounter.begin();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			int statements = sqlStatementCounter.end();
+			Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			DistributionSummary.builder("app.sql.request.statements")
+					.description("SQL statements issued per request")
+					.tag("method", request.getMethod())
+					.tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+					.register(registry)
+					.record(statements);
+		}
+	}
+}
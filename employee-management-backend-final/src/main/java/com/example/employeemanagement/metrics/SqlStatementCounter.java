@@ -0,0 +1,89 @@
+package com.example.employeemanagement.metrics;
+
+import com.example.employeemanagement.exception.QueryBudgetExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts every SQL statement Hibernate prepares, in total and for the scope
+ * opened on the current thread by {@link #begin()}. A scope can carry a
+ * {@link QueryBudget}; in {@code fail} mode the statement that goes over it
+ * throws instead of running.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+	private final ThreadLocal<Scope> current = new ThreadLocal<>();
+	private final Counter total;
+	private final boolean failOverBudget;
+
+	public SqlStatementCounter(MeterRegistry registry, @Value("${app.query-budget.mode:log}") String mode) {
+		this.total = Counter.builder("app.sql.statements")
+				.description("SQL statements prepared by Hibernate")
+				.register(registry);
+		if (!mode.equals("log") && !mode.equals("fail")) {
+			throw new IllegalArgumentException("app.query-budget.mode must be log or fail, not " + mode);
+		}
+		this.failOverBudget = mode.equals("fail");
+	}
+
+	@Override
+	public void customize(Map<String, Object> hibernateProperties) {
+		hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+	}
+
+	@Override
+	public String inspect(String sql) {
+		total.increment();
+		Scope scope = current.get();
+		if (scope != null && ++scope.count > scope.budget && failOverBudget) {
+			throw new QueryBudgetExceededException(scope.endpoint + " exceeded its budget of " + scope.budget
+					+ " SQL statements with: " + sql);
+		}
+		return sql;
+	}
+
+	/** Starts counting the statements issued on this thread. */
+	public void begin() {
+		current.set(new Scope());
+	}
+
+	/** Caps the statements of the scope open on this thread; {@code endpoint} names it in the failure. */
+	public void limit(int budget, String endpoint) {
+		Scope scope = current.get();
+		if (scope != null) {
+			scope.budget = budget;
+			scope.endpoint = endpoint;
+		}
+	}
+
+	/** The statements issued on this thread since {@link #begin()}. */
+	public int count() {
+		Scope scope = current.get();
+		return scope == null ? 0 : scope.count;
+	}
+
+	/** Stops counting on this thread and returns the statements issued since {@link #begin()}. */
+	public int end() {
+		int count = count();
+		current.remove();
+		return count;
+	}
+
+	public boolean isFailOverBudget() {
+		return failOverBudget;
+	}
+
+	private static final class Scope {
+		private int count;
+		private int budget = Integer.MAX_VALUE;
+		private String endpoint;
+	}
+}
@@ -0,0 +1,28 @@
+package com.example.employeemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Deduplicated binary content, keyed by its SHA-256, for the database-backed
+ * blob store.
+ */
+@Entity
+@Table(name = "blob_contents")
+@Getter
+@Setter
+public class BlobContent {
+
+	@Id
+	@Column(length = 64)
+	private String contentHash;
+
+	private Long size;
+
+	@Column(columnDefinition = "BYTEA", nullable = false)
+	@JdbcTypeCode(SqlTypes.BINARY)
+	private byte[] data;
+}
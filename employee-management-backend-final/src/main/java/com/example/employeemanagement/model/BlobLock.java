@@ -0,0 +1,21 @@
+package com.example.employeemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A row per blob key, locked by uploads that store or reuse the blob and by
+ * the orphan cleaner before it counts references, whichever blob store
+ * backend is in use.
+ */
+@Entity
+@Table(name = "blob_locks")
+@Getter
+@Setter
+public class BlobLock {
+
+	@Id
+	@Column(name = "storage_key", length = 64)
+	private String storageKey;
+}
@@ -2,12 +2,15 @@ package com.example.employeemanagement.model;
 
 import jakarta.persistence.*;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.type.SqlTypes;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Instant;
+
 @Entity
-@Table(name = "documents")
+@Table(name = "documents", indexes = @Index(name = "idx_documents_storage_key", columnList = "storage_key"))
 @Getter
 @Setter
 public class Document {
@@ -20,10 +23,19 @@ public class Document {
 	private String fileType;
 	private Long fileSize;
 
-	@Column(nullable = false)
+	@Column(columnDefinition = "BYTEA", nullable = false)
 	@JdbcTypeCode(SqlTypes.BINARY)
 	private byte[] data;
 
+	// Set once the content lives in the blob store; data is then left empty
+	private String storageKey;
+
+	@Column(length = 64)
+	private String contentHash;
+
+	@UpdateTimestamp
+	private Instant lastModified;
+
 	private String documentType;
 
 	@ManyToOne(fetch = FetchType.LAZY)
@@ -2,17 +2,29 @@ package com.example.employeemanagement.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import java.time.LocalDate;
 import java.util.*;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_email_normalized", columnList = "email_normalized", unique = true),
+        @Index(name = "idx_employees_personal_email_normalized", columnList = "personal_email_normalized",
+                unique = true),
+        @Index(name = "idx_employees_name_sort", columnList = "last_name_sort, first_name_sort, employee_id") })
+@NamedEntityGraph(name = Employee.AGGREGATE_GRAPH, attributeNodes = {
+        @NamedAttributeNode("project"),
+        @NamedAttributeNode("profilePhoto") })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Employee {
 
+    // To-one associations joined up front; child collections are batch-loaded below
+    public static final String AGGREGATE_GRAPH = "Employee.aggregate";
+    static final int COLLECTION_BATCH_SIZE = 100;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "employee_id")
@@ -20,6 +32,16 @@ public class Employee {
 
     private String firstName;
     private String lastName;
+
+    // Names with null as '', kept in step by the setters, so the name-sorted listing seeks and sorts on one index
+    @Setter(AccessLevel.NONE)
+    @Column(name = "last_name_sort")
+    private String lastNameSort = "";
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "first_name_sort")
+    private String firstNameSort = "";
+
     private String gender;
     private LocalDate dob;
 
@@ -29,6 +51,15 @@ public class Employee {
     @Column(unique = true)
     private String personalEmail;
 
+    // Lower-cased copies kept in step by the setters, so lookups and uniqueness are case-insensitive and index-backed
+    @Setter(AccessLevel.NONE)
+    @Column(name = "email_normalized")
+    private String emailNormalized;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "personal_email_normalized")
+    private String personalEmailNormalized;
+
     private String fatherName;
 
     @Column(unique = true)
@@ -59,26 +90,62 @@ public class Employee {
     private Team team;
 
     @OneToMany(mappedBy = "employee", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     private List<Education> educationList = new ArrayList<>();
 
     @OneToMany(mappedBy = "employee", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     private List<Certification> certifications = new ArrayList<>();
 
     @OneToMany(mappedBy = "employee", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     private List<Skill> skills = new ArrayList<>();
 
     @OneToOne(mappedBy = "employee", cascade = CascadeType.ALL, orphanRemoval = true)
     private ProfilePhoto profilePhoto;
 
     @OneToMany(mappedBy = "employee", cascade = { CascadeType.PERSIST, CascadeType.MERGE }, orphanRemoval = false)
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     private List<Document> documents = new ArrayList<>();
 
     @OneToMany(mappedBy = "employee", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     private List<Experience> experiences = new ArrayList<>();
 
     @OneToMany(mappedBy = "employee", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     private List<Leave> leaves = new ArrayList<>();
 
+    /** The form emails are matched in: trimmed and lower-cased. */
+    public static String normalizeEmail(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    /** The form names are sorted in: null sorts as the empty string. */
+    public static String nameSortKey(String name) {
+        return name != null ? name : "";
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+        this.firstNameSort = nameSortKey(firstName);
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+        this.lastNameSort = nameSortKey(lastName);
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+        this.emailNormalized = normalizeEmail(email);
+    }
+
+    public void setPersonalEmail(String personalEmail) {
+        this.personalEmail = personalEmail;
+        this.personalEmailNormalized = normalizeEmail(personalEmail);
+    }
+
     // Helper methods for managing relationships
     public void addEducation(Education education) {
         educationList.add(education);
@@ -6,7 +6,7 @@ import lombok.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "leaves")
+@Table(name = "leaves", indexes = @Index(name = "idx_leaves_employee_id", columnList = "employee_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,27 @@
+package com.example.employeemanagement.model;
+
+/**
+ * Fixed-size versions of a profile photo generated after upload. Each one fits
+ * inside its bounding box with the original aspect ratio.
+ */
+public enum PhotoRendition {
+	AVATAR(64, 64),
+	CARD(256, 256),
+	PDF(100, 120);
+
+	private final int maxWidth;
+	private final int maxHeight;
+
+	PhotoRendition(int maxWidth, int maxHeight) {
+		this.maxWidth = maxWidth;
+		this.maxHeight = maxHeight;
+	}
+
+	public int getMaxWidth() {
+		return maxWidth;
+	}
+
+	public int getMaxHeight() {
+		return maxHeight;
+	}
+}
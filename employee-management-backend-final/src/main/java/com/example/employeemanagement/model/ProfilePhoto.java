@@ -1,14 +1,17 @@
 package com.example.employeemanagement.model;
 
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.type.SqlTypes;
 
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Instant;
+
 @Entity
-@Table(name = "profile_photos")
+@Table(name = "profile_photos", indexes = @Index(name = "idx_profile_photos_storage_key", columnList = "storage_key"))
 @Getter
 @Setter
 public class ProfilePhoto {
@@ -27,6 +30,18 @@ public class ProfilePhoto {
     @JdbcTypeCode(SqlTypes.BINARY)
     private byte[] data;
 
+    // Set once the content lives in the blob store; data is then left empty
+    private String storageKey;
+
+    @Column(length = 64)
+    private String contentHash;
+
+    // Set when the content could not be decoded, so missing renditions are not queued again until it is replaced
+    private Boolean renditionsFailed;
+
+    @UpdateTimestamp
+    private Instant lastModified;
+
     @OneToOne
     @JoinColumn(name = "employee_id", referencedColumnName = "employee_id", unique = true, nullable = false)
     private Employee employee;
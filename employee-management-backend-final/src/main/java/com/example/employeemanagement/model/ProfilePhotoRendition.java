@@ -0,0 +1,52 @@
+package com.example.employeemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * A scaled copy of a profile photo. Renditions are a few kilobytes, so they are
+ * kept inline; the database removes them together with their photo.
+ */
+@Entity
+@Table(name = "profile_photo_renditions", uniqueConstraints = @UniqueConstraint(columnNames = { "photo_id",
+		"rendition" }))
+@Getter
+@Setter
+public class ProfilePhotoRendition {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@ManyToOne(fetch = FetchType.LAZY, optional = false)
+	@JoinColumn(name = "photo_id", nullable = false)
+	@OnDelete(action = OnDeleteAction.CASCADE)
+	private ProfilePhoto photo;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 16)
+	private PhotoRendition rendition;
+
+	private String fileType;
+	private Long fileSize;
+	private Integer width;
+	private Integer height;
+
+	@Column(length = 64)
+	private String contentHash;
+
+	@UpdateTimestamp
+	private Instant lastModified;
+
+	@Column(columnDefinition = "BYTEA", nullable = false)
+	@JdbcTypeCode(SqlTypes.BINARY)
+	private byte[] data;
+}
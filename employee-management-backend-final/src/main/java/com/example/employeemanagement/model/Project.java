@@ -3,12 +3,15 @@ package com.example.employeemanagement.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "projects")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project")
 @Getter
 @Setter
 public class Project {
@@ -19,11 +22,13 @@ public class Project {
     @Column(nullable = false)
     private String name;
     
-    @ManyToOne
+    // Lazy so a project served from the second-level cache does not load its manager with it
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "senior_project_manager_id")
     private Employee seniorProjectManager;
     
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project-teams")
     private List<Team> teams = new ArrayList<>();
     
     // Helper methods
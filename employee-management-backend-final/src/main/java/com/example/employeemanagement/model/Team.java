@@ -1,6 +1,9 @@
 package com.example.employeemanagement.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -9,6 +12,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "teams")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team")
 @Getter
 @Setter
 public class Team {
@@ -23,15 +27,18 @@ public class Team {
 	@JoinColumn(name = "project_id", nullable = false)
 	private Project project;
 
-	@ManyToOne
+	// Managers are lazy so a team served from the second-level cache does not load them with it
+	@ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_manager_id")
     private Employee projectManager;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "team_manager_id")
 	private Employee teamManager;
 
 	@OneToMany(mappedBy = "team", cascade = CascadeType.ALL, orphanRemoval = true)
+	@BatchSize(size = Employee.COLLECTION_BATCH_SIZE)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team-members")
 	private List<Employee> members = new ArrayList<>();
 
 	// Helper methods
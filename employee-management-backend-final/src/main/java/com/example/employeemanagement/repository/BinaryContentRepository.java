@@ -0,0 +1,107 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Copies binary columns to an output stream one bounded slice at a time, so a
+ * download never materializes the entity, its DTO and a response array for the
+ * same content. PostgreSQL's driver decodes a whole bytea value before handing
+ * out a stream over it, so each slice is its own
+ * {@code substring(data FROM ? FOR ?)} query and the heap holds one slice per
+ * download, whatever the size of the file.
+ */
+@Repository
+public class BinaryContentRepository {
+
+	static final int SLICE_SIZE = 256 * 1024;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public BinaryContentRepository(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	public long copyDocumentData(Long documentId, OutputStream out) {
+		return copyDocumentData(documentId, out, 0, Long.MAX_VALUE);
+	}
+
+	/** Copies {@code length} bytes from {@code start}; only the slices covering the range are read. */
+	public long copyDocumentData(Long documentId, OutputStream out, long start, long length) {
+		return copy("documents WHERE document_id = ?", documentId, out, start, length,
+				"Document not found with id: " + documentId);
+	}
+
+	public long copyProfilePhotoData(Long employeeId, OutputStream out) {
+		return copyProfilePhotoData(employeeId, out, 0, Long.MAX_VALUE);
+	}
+
+	public long copyProfilePhotoData(Long employeeId, OutputStream out, long start, long length) {
+		return copy("profile_photos WHERE employee_id = ?", employeeId, out, start, length,
+				"Profile photo not found for employee id: " + employeeId);
+	}
+
+	public long copyBlobContent(String contentHash, OutputStream out) {
+		return copyBlobContent(contentHash, out, 0, Long.MAX_VALUE);
+	}
+
+	public long copyBlobContent(String contentHash, OutputStream out, long start, long length) {
+		return copy("blob_contents WHERE content_hash = ?", contentHash, out, start, length,
+				"Stored content not found: " + contentHash);
+	}
+
+	/**
+	 * Copies up to {@code length} bytes from {@code start}. Every slice query also
+	 * returns the column's length, so the loop stops at the end of the content
+	 * without a trailing empty read.
+	 */
+	private long copy(String from, Object id, OutputStream out, long start, long length, String notFoundMessage) {
+		String sql = "SELECT substring(data FROM ? FOR ?), LENGTH(data) FROM " + from;
+		long copied = 0;
+		while (copied < length) {
+			long offset = start + copied;
+			if (offset >= Integer.MAX_VALUE) {
+				break;
+			}
+			int sliceLength = (int) Math.min(SLICE_SIZE, length - copied);
+			Slice slice = jdbcTemplate.query(sql, statement -> {
+				// substring counts from 1 and takes integer bounds on PostgreSQL
+				statement.setInt(1, (int) offset + 1);
+				statement.setInt(2, sliceLength);
+				statement.setObject(3, id);
+			}, rs -> rs.next() ? new Slice(rs.getBytes(1), rs.getLong(2)) : null);
+			if (slice == null) {
+				if (copied == 0) {
+					throw new ResourceNotFoundException(notFoundMessage);
+				}
+				// Deleted while it was being read; what was sent is all there is
+				break;
+			}
+			try {
+				out.write(slice.data);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			copied += slice.data.length;
+			if (slice.data.length < sliceLength || offset + slice.data.length >= slice.total) {
+				break;
+			}
+		}
+		return copied;
+	}
+
+	private static final class Slice {
+		private final byte[] data;
+		private final long total;
+
+		private Slice(byte[] data, long total) {
+			this.data = data != null ? data : new byte[0];
+			this.total = total;
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.model.BlobContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BlobContentRepository extends JpaRepository<BlobContent, String> {
+
+	// Bulk delete so the content is not loaded just to remove it
+	@Modifying
+	@Query("DELETE FROM BlobContent b WHERE b.contentHash = :contentHash")
+	void deleteByContentHash(@Param("contentHash") String contentHash);
+}
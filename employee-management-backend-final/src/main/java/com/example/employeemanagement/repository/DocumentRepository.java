@@ -1,14 +1,36 @@
 package com.example.employeemanagement.repository;
 
+import com.example.employeemanagement.dto.FileMetadataDTO;
 import com.example.employeemanagement.model.Document;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, Long> {
 	List<Document> findByEmployeeEmployeeId(Long employeeId);
 
 	void deleteByEmployeeEmployeeId(Long employeeId);
+
+	@Query("SELECT new com.example.employeemanagement.dto.FileMetadataDTO("
+			+ "d.documentId, d.fileName, d.fileType, d.fileSize, e.employeeId, d.storageKey, d.contentHash, d.version, d.lastModified) "
+			+ "FROM Document d LEFT JOIN d.employee e WHERE d.documentId = :documentId")
+	Optional<FileMetadataDTO> findMetadataById(@Param("documentId") Long documentId);
+
+	// Native because JPQL's length() only takes strings; the database reads the length without the content
+	@Query(value = "SELECT CAST(LENGTH(data) AS BIGINT) FROM documents WHERE document_id = :documentId",
+			nativeQuery = true)
+	Optional<Long> findInlineContentLength(@Param("documentId") Long documentId);
+
+	@Query("SELECT d.storageKey FROM Document d WHERE d.employee.employeeId = :employeeId AND d.storageKey IS NOT NULL")
+	List<String> findStorageKeysByEmployeeId(@Param("employeeId") Long employeeId);
+
+	// Rows still holding their content inline, oldest first
+	@Query("SELECT d.documentId FROM Document d WHERE d.storageKey IS NULL ORDER BY d.documentId")
+	List<Long> findIdsWithInlineContent(Limit limit);
 }
\ No newline at end of file
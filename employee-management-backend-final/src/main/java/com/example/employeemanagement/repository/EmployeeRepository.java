@@ -1,34 +1,129 @@
 package com.example.employeemanagement.repository;
 
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import com.example.employeemanagement.dto.TeamMemberDTO;
 import com.example.employeemanagement.model.Employee;
 import com.example.employeemanagement.model.Role;
 
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
-    boolean existsByEmail(String email);
-    boolean existsByPersonalEmail(String personalEmail);
+    boolean existsByEmailNormalized(String normalizedEmail);
+    boolean existsByPersonalEmailNormalized(String normalizedPersonalEmail);
     boolean existsByMobile(String mobile);
 
-    @Query("SELECT e FROM Employee e WHERE e.email = :email OR e.personalEmail = :email")
-    Optional<Employee> findByEmail(@Param("email") String email);
+    /**
+     * The employee a normalized email belongs to, a work email match ahead of a
+     * personal one. Written as two index seeks rather than an OR, which would
+     * leave the planner a scan or a bitmap merge over both columns.
+     */
+    @Query(value = "SELECT employee_id FROM ("
+            + "SELECT employee_id, 0 AS priority FROM employees WHERE email_normalized = :email "
+            + "UNION ALL "
+            + "SELECT employee_id, 1 AS priority FROM employees WHERE personal_email_normalized = :email"
+            + ") matches ORDER BY priority, employee_id LIMIT 1", nativeQuery = true)
+    Optional<Long> findIdByNormalizedEmail(@Param("email") String normalizedEmail);
 
-    Optional<Employee> findByPersonalEmail(String email);
+    /** Fills the name sort columns for rows written before they existed; returns the rows touched. */
+    @Modifying
+    @Query("UPDATE Employee e SET e.lastNameSort = COALESCE(e.lastName, ''), "
+            + "e.firstNameSort = COALESCE(e.firstName, '') "
+            + "WHERE e.lastNameSort IS NULL OR e.firstNameSort IS NULL")
+    int backfillNameSortKeys();
 
+    /** Fills the normalized columns for rows written before they existed; returns the rows touched. */
+    @Modifying
+    @Query("UPDATE Employee e SET e.emailNormalized = LOWER(TRIM(e.email)), "
+            + "e.personalEmailNormalized = LOWER(TRIM(e.personalEmail)) "
+            + "WHERE (e.emailNormalized IS NULL AND e.email IS NOT NULL) "
+            + "OR (e.personalEmailNormalized IS NULL AND e.personalEmail IS NOT NULL)")
+    int backfillNormalizedEmails();
+
+    @EntityGraph(Employee.AGGREGATE_GRAPH)
     List<Employee> findByProjectId(Long projectId);
 
+    @EntityGraph(Employee.AGGREGATE_GRAPH)
+    Optional<Employee> findWithAggregateByEmployeeId(Long employeeId);
+
+    @EntityGraph(Employee.AGGREGATE_GRAPH)
+    List<Employee> findByTeam_Id(Long teamId);
+
+    // Team roster: one statement over employees.team_id, the photo join only tells whether one exists
+    @Query("SELECT new com.example.employeemanagement.dto.TeamMemberDTO("
+            + "e.employeeId, e.firstName, e.lastName, e.role, e.email, ph.id) "
+            + "FROM Employee e LEFT JOIN e.profilePhoto ph WHERE e.team.id = :teamId "
+            + "ORDER BY COALESCE(e.lastName, ''), COALESCE(e.firstName, ''), e.employeeId")
+    List<TeamMemberDTO> findRosterByTeamId(@Param("teamId") Long teamId);
+
     // Corrected methods
+    @EntityGraph(Employee.AGGREGATE_GRAPH)
     List<Employee> findByTeam_ProjectManager_EmployeeId(Long projectManagerId);
+
+    @EntityGraph(Employee.AGGREGATE_GRAPH)
     List<Employee> findByTeam_TeamManager_EmployeeId(Long teamManagerId);
 
+    @EntityGraph(Employee.AGGREGATE_GRAPH)
     List<Employee> findByRole(Role role);
 
     List<Employee> findByProject_SeniorProjectManager_EmployeeId(Long employeeId);
+
+    // Ids only, for bulk work that loads each aggregate on its own worker
+    @Query("SELECT e.employeeId FROM Employee e WHERE e.project.id = :projectId ORDER BY e.employeeId")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT e.employeeId FROM Employee e WHERE e.team.id = :teamId ORDER BY e.employeeId")
+    List<Long> findIdsByTeamId(@Param("teamId") Long teamId);
+
+    // Keyset pagination: seek past the last row of the previous page instead of using OFFSET
+    @EntityGraph(Employee.AGGREGATE_GRAPH)
+    List<Employee> findByOrderByEmployeeIdAsc(Limit limit);
+
+    @EntityGraph(Employee.AGGREGATE_GRAPH)
+    List<Employee> findByEmployeeIdGreaterThanOrderByEmployeeIdAsc(Long employeeId, Limit limit);
+
+    // Name order is idx_employees_name_sort's order, and the seek is one row-value comparison on it
+    String NAME_ORDER = "ORDER BY e.lastNameSort, e.firstNameSort, e.employeeId";
+    String AFTER_NAME = "WHERE (e.lastNameSort, e.firstNameSort, e.employeeId) > (:lastName, :firstName, :employeeId) ";
+
+    @EntityGraph(Employee.AGGREGATE_GRAPH)
+    @Query("SELECT e FROM Employee e " + NAME_ORDER)
+    List<Employee> findFirstPageOrderByName(Limit limit);
+
+    @EntityGraph(Employee.AGGREGATE_GRAPH)
+    @Query("SELECT e FROM Employee e " + AFTER_NAME + NAME_ORDER)
+    List<Employee> findPageAfterName(@Param("lastName") String lastName, @Param("firstName") String firstName,
+            @Param("employeeId") Long employeeId, Limit limit);
+
+    // Summary projection: one statement, no child collections or photo bytes
+    String SUMMARY_SELECT = "SELECT new com.example.employeemanagement.dto.EmployeeSummaryDTO("
+            + "e.employeeId, e.firstName, e.lastName, e.gender, e.dob, e.email, e.personalEmail, e.fatherName, "
+            + "e.mobile, e.presentStreet, e.presentCity, e.presentState, e.presentZip, e.permanentStreet, "
+            + "e.permanentCity, e.permanentState, e.permanentZip, e.role, p.id, t.id) "
+            + "FROM Employee e LEFT JOIN e.project p LEFT JOIN e.team t ";
+
+    @Query(SUMMARY_SELECT + "WHERE e.employeeId = :employeeId")
+    Optional<EmployeeSummaryDTO> findSummaryById(@Param("employeeId") Long employeeId);
+
+    @Query(SUMMARY_SELECT + "ORDER BY e.employeeId")
+    List<EmployeeSummaryDTO> findSummaryFirstPage(Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE e.employeeId > :employeeId ORDER BY e.employeeId")
+    List<EmployeeSummaryDTO> findSummaryPageAfterId(@Param("employeeId") Long employeeId, Limit limit);
+
+    @Query(SUMMARY_SELECT + NAME_ORDER)
+    List<EmployeeSummaryDTO> findSummaryFirstPageOrderByName(Limit limit);
+
+    @Query(SUMMARY_SELECT + AFTER_NAME + NAME_ORDER)
+    List<EmployeeSummaryDTO> findSummaryPageAfterName(@Param("lastName") String lastName,
+            @Param("firstName") String firstName, @Param("employeeId") Long employeeId, Limit limit);
 }
@@ -1,18 +1,33 @@
 package com.example.employeemanagement.repository;
 
+import com.example.employeemanagement.dto.LeaveDTO;
 import com.example.employeemanagement.model.Leave;
 import com.example.employeemanagement.model.Leave.LeaveStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface LeaveRepository extends JpaRepository<Leave, Long> {
 	List<Leave> findByEmployeeEmployeeId(Long employeeId);
 
+	/**
+	 * The leave as its DTO in one statement; loading the employee entity would also pull in its photo.
+	 * The name parts are passed separately so LeaveDTO formats them as the mapper does.
+	 */
+	@Query("SELECT new com.example.employeemanagement.dto.LeaveDTO(l.leaveId, e.employeeId, "
+			+ "e.firstName, e.lastName, l.leaveType, l.reason, l.startDate, l.endDate, l.status, "
+			+ "l.createdAt, l.updatedAt) FROM Leave l JOIN l.employee e WHERE l.leaveId = :leaveId")
+	Optional<LeaveDTO> findDtoByLeaveId(@Param("leaveId") Long leaveId);
+
+	/** Ownership check on the primary key without loading the leave. */
+	boolean existsByLeaveIdAndEmployeeEmployeeId(Long leaveId, Long employeeId);
+
 	List<Leave> findByStatus(LeaveStatus status);
 
 	List<Leave> findByEmployeeEmployeeIdAndStatus(Long employeeId, LeaveStatus status);
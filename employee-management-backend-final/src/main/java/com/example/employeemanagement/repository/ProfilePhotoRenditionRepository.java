@@ -0,0 +1,22 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.model.PhotoRendition;
+import com.example.employeemanagement.model.ProfilePhotoRendition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ProfilePhotoRenditionRepository extends JpaRepository<ProfilePhotoRendition, Long> {
+
+	Optional<ProfilePhotoRendition> findByPhoto_Employee_EmployeeIdAndRendition(Long employeeId,
+			PhotoRendition rendition);
+
+	@Modifying
+	@Query("DELETE FROM ProfilePhotoRendition r WHERE r.photo.id = :photoId")
+	void deleteByPhotoId(@Param("photoId") Long photoId);
+}
@@ -1,13 +1,18 @@
 package com.example.employeemanagement.repository;
 
+import com.example.employeemanagement.dto.FileMetadataDTO;
 import com.example.employeemanagement.model.ProfilePhoto;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,7 +20,33 @@ public interface ProfilePhotoRepository extends JpaRepository<ProfilePhoto, Long
     
     // Method to find by employee ID
     Optional<ProfilePhoto> findByEmployee_EmployeeId(Long employeeId);
+
+    // Photo metadata without the image bytes
+    @Query("SELECT new com.example.employeemanagement.dto.FileMetadataDTO("
+            + "p.id, p.fileName, p.fileType, p.fileSize, p.employee.employeeId, p.storageKey, p.contentHash, p.lastModified) "
+            + "FROM ProfilePhoto p WHERE p.employee.employeeId = :employeeId")
+    Optional<FileMetadataDTO> findMetadataByEmployeeId(@Param("employeeId") Long employeeId);
+
+    // Length of the inline image, which the database reports without returning the bytes
+    @Query(value = "SELECT CAST(LENGTH(data) AS BIGINT) FROM profile_photos WHERE employee_id = :employeeId",
+            nativeQuery = true)
+    Optional<Long> findInlineContentLength(@Param("employeeId") Long employeeId);
+
+    // Photos still holding their content inline, oldest first
+    @Query("SELECT p.id FROM ProfilePhoto p WHERE p.storageKey IS NULL ORDER BY p.id")
+    List<Long> findIdsWithInlineContent(Limit limit);
     
+    // Locks the photo row so it cannot be deleted while rows referencing it are written
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    Optional<ProfilePhoto> findLockedById(Long id);
+
+    boolean existsByEmployee_EmployeeIdAndRenditionsFailedTrue(Long employeeId);
+
+    // An update statement rather than a dirty entity, so the photo's Last-Modified stays as it was
+    @Modifying
+    @Query("UPDATE ProfilePhoto p SET p.renditionsFailed = true WHERE p.id = :id")
+    void markRenditionsFailed(@Param("id") Long id);
+
     // Method to delete by employee ID
     @Modifying
     @Query("DELETE FROM ProfilePhoto p WHERE p.employee.employeeId = :employeeId")
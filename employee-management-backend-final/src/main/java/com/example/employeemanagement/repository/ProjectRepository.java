@@ -1,9 +1,34 @@
 package com.example.employeemanagement.repository;
 
+import com.example.employeemanagement.dto.ProjectDTO;
 import com.example.employeemanagement.model.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+
+    // Counts teams in the database instead of loading each project's teams and their managers
+    String SUMMARY_SELECT = "SELECT new com.example.employeemanagement.dto.ProjectDTO("
+            + "p.id, p.name, s.employeeId, s.firstName, s.lastName, COUNT(t)) "
+            + "FROM Project p LEFT JOIN p.seniorProjectManager s LEFT JOIN p.teams t ";
+
+    String SUMMARY_GROUP_BY = "GROUP BY p.id, p.name, s.employeeId, s.firstName, s.lastName ";
+
+    // Results stay in the query cache until projects, teams or employees are next written
+    @Query(SUMMARY_SELECT + SUMMARY_GROUP_BY + "ORDER BY p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<ProjectDTO> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE p.id = :id " + SUMMARY_GROUP_BY)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<ProjectDTO> findSummaryById(@Param("id") Long id);
 }
@@ -1,8 +1,12 @@
 package com.example.employeemanagement.repository;
 
+import com.example.employeemanagement.dto.TeamSummaryDTO;
 import com.example.employeemanagement.model.Team;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -17,4 +21,17 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
     @Query("SELECT t FROM Team t WHERE t.teamManager.id = :teamManagerId")
     List<Team> findByTeamManagerId(@Param("teamManagerId") Long teamManagerId);
 
+    // One row per team; members are counted in the database, never loaded. Results stay in the
+    // query cache until teams, projects or employees are next written
+    @Query("SELECT new com.example.employeemanagement.dto.TeamSummaryDTO("
+            + "t.id, t.name, p.id, p.name, pm.employeeId, pm.firstName, pm.lastName, "
+            + "tm.employeeId, tm.firstName, tm.lastName, COUNT(m)) "
+            + "FROM Team t LEFT JOIN t.project p LEFT JOIN t.projectManager pm LEFT JOIN t.teamManager tm "
+            + "LEFT JOIN t.members m "
+            + "GROUP BY t.id, t.name, p.id, p.name, pm.employeeId, pm.firstName, pm.lastName, "
+            + "tm.employeeId, tm.firstName, tm.lastName "
+            + "ORDER BY t.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<TeamSummaryDTO> findAllSummaries();
+
 }
@@ -0,0 +1,31 @@
+package com.example.employeemanagement.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Eviction for caches holding values derived from rows the current
+ * transaction changes.
+ */
+final class CacheEviction {
+
+	private CacheEviction() {
+	}
+
+	/**
+	 * Evicts now and again once the surrounding transaction commits. A reader
+	 * that loaded the old rows between the two would otherwise put a stale
+	 * entry back that outlives the change.
+	 */
+	static void nowAndAfterCommit(Runnable evict) {
+		evict.run();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					evict.run();
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package com.example.employeemanagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The employee a token subject resolved to, so authorisation checks on later
+ * requests skip the email lookup. Entries expire after a fixed time and are
+ * evicted when the employee they point at is updated or deleted; failed
+ * lookups are not kept.
+ */
+@Component
+public class CallerEmployeeIdCache implements MeterBinder {
+
+	private final Cache<String, Long> cache;
+	// Keys per employee id, so eviction does not scan the cache. It may hold keys that have since gone
+	// or moved to another employee, but never misses a key the cache maps to the employee.
+	private final Map<Long, Set<String>> keysByEmployee = new ConcurrentHashMap<>();
+
+	public CallerEmployeeIdCache(@Value("${app.caller-cache.max-size:10000}") long maxSize,
+			@Value("${app.caller-cache.ttl-seconds:600}") long ttlSeconds) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+				.recordStats()
+				.executor(Runnable::run)
+				.removalListener((String key, Long employeeId, RemovalCause cause) -> unindex(key, employeeId))
+				.build();
+	}
+
+	/** Returns the cached id for {@code key}, running {@code lookup} on a miss; a null result is not cached. */
+	public Long get(String key, Supplier<Long> lookup) {
+		Long cached = cache.getIfPresent(key);
+		if (cached != null) {
+			return cached;
+		}
+		Long employeeId = lookup.get();
+		if (employeeId != null) {
+			cache.put(key, employeeId);
+			keysByEmployee.compute(employeeId, (id, keys) -> {
+				Set<String> indexed = keys != null ? keys : new HashSet<>();
+				indexed.add(key);
+				return indexed;
+			});
+		}
+		return employeeId;
+	}
+
+	/** Drops every subject resolved to the employee; see {@link CacheEviction#nowAndAfterCommit}. */
+	public void invalidateEmployee(Long employeeId) {
+		CacheEviction.nowAndAfterCommit(() -> evict(employeeId));
+	}
+
+	private void evict(Long employeeId) {
+		Set<String> keys = keysByEmployee.remove(employeeId);
+		if (keys != null) {
+			keys.forEach(key -> cache.asMap().remove(key, employeeId));
+		}
+	}
+
+	// Runs after the cache has changed; a key that was put back for the same employee stays indexed
+	private void unindex(String key, Long employeeId) {
+		if (key == null || employeeId == null) {
+			return;
+		}
+		keysByEmployee.computeIfPresent(employeeId, (id, keys) -> {
+			if (!id.equals(cache.asMap().get(key))) {
+				keys.remove(key);
+			}
+			return keys.isEmpty() ? null : keys;
+		});
+	}
+
+	/** Number of employees with at least one indexed key. */
+	int indexedEmployees() {
+		return keysByEmployee.size();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, cache, "callerEmployeeId");
+	}
+}
@@ -0,0 +1,62 @@
+package com.example.employeemanagement.service;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Set;
+
+/**
+ * Who the current request acts for, read from its token once. The employee id
+ * is filled in the first time a check needs it.
+ */
+public class CallerIdentity {
+
+	private final Authentication authentication;
+	private final Jwt jwt;
+	private final String subject;
+	private final String email;
+	private final Set<String> roles;
+	private Long employeeId;
+
+	CallerIdentity(Authentication authentication, Jwt jwt, String subject, String email, Set<String> roles) {
+		this.authentication = authentication;
+		this.jwt = jwt;
+		this.subject = subject;
+		this.email = email;
+		this.roles = roles;
+	}
+
+	public Authentication getAuthentication() {
+		return authentication;
+	}
+
+	/** The token behind the request, or null when it was not authenticated with a JWT. */
+	public Jwt getJwt() {
+		return jwt;
+	}
+
+	public String getSubject() {
+		return subject;
+	}
+
+	/** The caller's email, or null when the token carries none. */
+	public String getEmail() {
+		return email;
+	}
+
+	public Set<String> getRoles() {
+		return roles;
+	}
+
+	public boolean isAdmin() {
+		return roles.contains("admin");
+	}
+
+	Long getEmployeeId() {
+		return employeeId;
+	}
+
+	void setEmployeeId(Long employeeId) {
+		this.employeeId = employeeId;
+	}
+}
@@ -1,9 +1,14 @@
 package com.example.employeemanagement.service;
 
 import com.example.employeemanagement.dto.DocumentDTO;
+import com.example.employeemanagement.dto.FileMetadataDTO;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 
 public interface DocumentService {
 	List<DocumentDTO> getDocumentsByEmployeeId(Long employeeId);
@@ -11,4 +16,8 @@ public interface DocumentService {
 	DocumentDTO uploadDocument(Long employeeId, MultipartFile file, String documentType);
 	void deleteDocument(Long documentId);
 	byte[] downloadDocument(Long documentId);
+	FileMetadataDTO getDocumentMetadata(Long documentId);
+	long streamDocument(FileMetadataDTO metadata, OutputStream out) throws IOException;
+	long streamDocument(FileMetadataDTO metadata, OutputStream out, long start, long length) throws IOException;
+	Optional<Path> localContentPath(FileMetadataDTO metadata);
 }
\ No newline at end of file
@@ -1,35 +1,56 @@
 package com.example.employeemanagement.service;
 
 import com.example.employeemanagement.dto.DocumentDTO;
+import com.example.employeemanagement.dto.FileMetadataDTO;
 import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.mapper.DocumentMapper;
 import com.example.employeemanagement.model.Document;
 import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.BinaryContentRepository;
 import com.example.employeemanagement.repository.DocumentRepository;
 import com.example.employeemanagement.repository.EmployeeRepository;
-import org.modelmapper.ModelMapper;
+import com.example.employeemanagement.storage.BlobStore;
+import com.example.employeemanagement.storage.OrphanBlobCleaner;
+import com.example.employeemanagement.storage.StoredBlob;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("app.service")
 @Transactional
 public class DocumentServiceImpl implements DocumentService {
 
 	private final DocumentRepository documentRepository;
 	private final EmployeeRepository employeeRepository;
-	private final ModelMapper modelMapper;
+	private final DocumentMapper documentMapper;
+	private final BinaryContentRepository binaryContentRepository;
+	private final BlobStore blobStore;
+	private final OrphanBlobCleaner orphanBlobCleaner;
 
 	@Autowired
 	public DocumentServiceImpl(DocumentRepository documentRepository, EmployeeRepository employeeRepository,
-			ModelMapper modelMapper) {
+			DocumentMapper documentMapper, BinaryContentRepository binaryContentRepository, BlobStore blobStore,
+			OrphanBlobCleaner orphanBlobCleaner) {
 		this.documentRepository = documentRepository;
 		this.employeeRepository = employeeRepository;
-		this.modelMapper = modelMapper;
+		this.documentMapper = documentMapper;
+		this.binaryContentRepository = binaryContentRepository;
+		this.blobStore = blobStore;
+		this.orphanBlobCleaner = orphanBlobCleaner;
 	}
 
 	@Override
@@ -54,11 +75,18 @@ public class DocumentServiceImpl implements DocumentService {
 			Document document = new Document();
 			document.setFileName(file.getOriginalFilename());
 			document.setFileType(file.getContentType());
-			document.setFileSize(file.getSize());
-			document.setData(file.getBytes());
 			document.setDocumentType(documentType);
 			document.setEmployee(employee);
 
+			// Content goes to the blob store; the row keeps an empty placeholder for the NOT NULL column
+			try (InputStream content = file.getInputStream()) {
+				StoredBlob blob = blobStore.put(content);
+				document.setStorageKey(blob.getKey());
+				document.setContentHash(blob.getContentHash());
+				document.setFileSize(blob.getSize());
+				document.setData(new byte[0]);
+			}
+
 			Document savedDocument = documentRepository.save(document);
 
 			// Explicitly add to employee's documents list
@@ -84,18 +112,61 @@ public class DocumentServiceImpl implements DocumentService {
 		}
 
 		documentRepository.delete(document);
+		orphanBlobCleaner.deleteIfUnreferencedAfterCommit(Collections.singletonList(document.getStorageKey()));
 	}
 
 	@Override
 	public byte[] downloadDocument(Long documentId) {
 		Document document = documentRepository.findById(documentId)
 				.orElseThrow(() -> new ResourceNotFoundException("Document not found with id: " + documentId));
-		return document.getData();
+		if (document.getStorageKey() == null) {
+			return document.getData();
+		}
+		try {
+			return blobStore.read(document.getStorageKey());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public FileMetadataDTO getDocumentMetadata(Long documentId) {
+		FileMetadataDTO metadata = documentRepository.findMetadataById(documentId)
+				.orElseThrow(() -> new ResourceNotFoundException("Document not found with id: " + documentId));
+		if (metadata.getStorageKey() == null) {
+			// Older inline rows may carry a size the client claimed; the response is framed by the real length
+			metadata.setFileSize(documentRepository.findInlineContentLength(documentId).orElse(0L));
+		}
+		return metadata;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long streamDocument(FileMetadataDTO metadata, OutputStream out) throws IOException {
+		if (metadata.getStorageKey() != null) {
+			return blobStore.copyTo(metadata.getStorageKey(), out);
+		}
+		return binaryContentRepository.copyDocumentData(metadata.getId(), out);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long streamDocument(FileMetadataDTO metadata, OutputStream out, long start, long length)
+			throws IOException {
+		if (metadata.getStorageKey() != null) {
+			return blobStore.copyRange(metadata.getStorageKey(), out, start, length);
+		}
+		return binaryContentRepository.copyDocumentData(metadata.getId(), out, start, length);
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.SUPPORTS)
+	public Optional<Path> localContentPath(FileMetadataDTO metadata) {
+		return metadata.getStorageKey() != null ? blobStore.localPath(metadata.getStorageKey()) : Optional.empty();
 	}
 
 	private DocumentDTO convertToDTO(Document document) {
-		DocumentDTO dto = modelMapper.map(document, DocumentDTO.class);
-		dto.setEmployeeId(document.getEmployee().getEmployeeId());
-		return dto;
+		return documentMapper.toDto(document);
 	}
 }
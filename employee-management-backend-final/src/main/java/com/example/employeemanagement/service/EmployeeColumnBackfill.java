@@ -0,0 +1,63 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills the derived columns of employees saved before those columns existed,
+ * once at startup:
+ * <ul>
+ * <li>the name sort keys, which the name-ordered listing seeks and orders by;</li>
+ * <li>the normalized emails, which the caller lookup and access checks match
+ * on. These columns are unique, so employees whose emails differ only in case
+ * fail startup until they are merged.</li>
+ * </ul>
+ * Rows already filled are skipped by the updates themselves, so after the first
+ * run this is two statements that touch nothing. It runs once every bean is
+ * created but before the web server starts, so no request sees a legacy
+ * employee missing either column.
+ */
+@Component
+public class EmployeeColumnBackfill implements SmartInitializingSingleton {
+
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeColumnBackfill.class);
+
+	private final EmployeeRepository employeeRepository;
+	private final TransactionTemplate transactionTemplate;
+
+	public EmployeeColumnBackfill(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager) {
+		this.employeeRepository = employeeRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		backfill();
+	}
+
+	public void backfill() {
+		transactionTemplate.executeWithoutResult(status -> {
+			int sortKeys = employeeRepository.backfillNameSortKeys();
+			if (sortKeys > 0) {
+				logger.info("Filled the name sort keys of {} existing employees", sortKeys);
+			}
+
+			int updated;
+			try {
+				updated = employeeRepository.backfillNormalizedEmails();
+			} catch (DataIntegrityViolationException e) {
+				throw new IllegalStateException("Some employees share an email that differs only in case; "
+						+ "merge them so the normalized email columns can be filled", e);
+			}
+			if (updated > 0) {
+				logger.info("Normalized the emails of {} existing employees", updated);
+			}
+		});
+	}
+}
@@ -0,0 +1,87 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.EmployeeSort;
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import com.example.employeemanagement.exception.InvalidPageRequestException;
+import com.example.employeemanagement.model.Employee;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position for employee listings. The token carries the sort key
+ * of the last row returned so the next page can seek past it instead of using
+ * an offset. A token that does not decode, or was issued for another sort, is
+ * rejected as an {@link InvalidPageRequestException}.
+ */
+final class EmployeeCursor {
+
+	private static final String SEPARATOR = "\u001F";
+
+	private final EmployeeSort sort;
+	private final Long employeeId;
+	private final String lastName;
+	private final String firstName;
+
+	private EmployeeCursor(EmployeeSort sort, Long employeeId, String lastName, String firstName) {
+		this.sort = sort;
+		this.employeeId = employeeId;
+		this.lastName = lastName;
+		this.firstName = firstName;
+	}
+
+	static EmployeeCursor after(EmployeeSort sort, Employee employee) {
+		return after(sort, employee.getEmployeeId(), employee.getLastName(), employee.getFirstName());
+	}
+
+	static EmployeeCursor after(EmployeeSort sort, EmployeeSummaryDTO summary) {
+		return after(sort, summary.getEmployeeId(), summary.getLastName(), summary.getFirstName());
+	}
+
+	private static EmployeeCursor after(EmployeeSort sort, Long employeeId, String lastName, String firstName) {
+		return new EmployeeCursor(sort, employeeId, Employee.nameSortKey(lastName), Employee.nameSortKey(firstName));
+	}
+
+	static EmployeeCursor decode(String token, EmployeeSort expectedSort) {
+		String[] parts;
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			parts = raw.split(SEPARATOR, 4);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidPageRequestException("Invalid cursor");
+		}
+		if (parts.length != 4) {
+			throw new InvalidPageRequestException("Invalid cursor");
+		}
+
+		EmployeeSort sort;
+		Long employeeId;
+		try {
+			sort = EmployeeSort.valueOf(parts[0]);
+			employeeId = Long.valueOf(parts[1]);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidPageRequestException("Invalid cursor");
+		}
+		if (sort != expectedSort) {
+			throw new InvalidPageRequestException("Cursor was issued for sort " + sort + ", not " + expectedSort);
+		}
+		return new EmployeeCursor(sort, employeeId, parts[2], parts[3]);
+	}
+
+	String encode() {
+		String raw = String.join(SEPARATOR, sort.name(), employeeId.toString(), lastName, firstName);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	Long getEmployeeId() {
+		return employeeId;
+	}
+
+	String getLastName() {
+		return lastName;
+	}
+
+	String getFirstName() {
+		return firstName;
+	}
+}
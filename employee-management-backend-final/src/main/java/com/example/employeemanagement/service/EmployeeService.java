@@ -1,6 +1,10 @@
 package com.example.employeemanagement.service;
  
+import com.example.employeemanagement.dto.CursorPage;
 import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.EmployeeSort;
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import com.example.employeemanagement.mapper.MappingStrategy;
 import com.example.employeemanagement.model.Employee;
 import com.example.employeemanagement.model.Role;
 
@@ -9,8 +13,11 @@ import java.util.List;
 public interface EmployeeService {
     EmployeeDTO saveEmployee(EmployeeDTO employeeDTO);
     EmployeeDTO getEmployeeById(Long id);
-    List<EmployeeDTO> getAllEmployees();
+    CursorPage<EmployeeDTO> getEmployeesPage(String cursor, Integer size, EmployeeSort sort);
+    CursorPage<EmployeeSummaryDTO> getEmployeeSummariesPage(String cursor, Integer size, EmployeeSort sort);
+    EmployeeSummaryDTO getEmployeeSummaryById(Long id);
     EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO);
+    EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO, MappingStrategy strategy);
 	void deleteEmployee(Long id);
 	EmployeeDTO getEmployeeByEmail(String subject);
 	List<EmployeeDTO> getEmployeesByProject(Long projectId);
@@ -1,52 +1,87 @@
 package com.example.employeemanagement.service;
 
 import com.example.employeemanagement.dto.*;
+import com.example.employeemanagement.exception.InvalidPageRequestException;
 import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.mapper.*;
 import com.example.employeemanagement.model.*;
 import com.example.employeemanagement.repository.*;
-import org.modelmapper.ModelMapper;
+import com.example.employeemanagement.storage.BlobStore;
+import com.example.employeemanagement.storage.OrphanBlobCleaner;
+import com.example.employeemanagement.storage.StoredBlob;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Service
+@Timed("app.service")
 @Transactional
 public class EmployeeServiceImpl implements EmployeeService {
 
 	private static final Logger logger = LoggerFactory.getLogger(EmployeeServiceImpl.class);
 
+	static final int DEFAULT_PAGE_SIZE = 20;
+	static final int MAX_PAGE_SIZE = 100;
+
 	private final EmployeeRepository employeeRepository;
 	private final EducationRepository educationRepository;
 	private final CertificationRepository certificationRepository;
 	private final SkillRepository skillRepository;
 	private final DocumentRepository documentRepository;
-	private final ModelMapper modelMapper;
 	private final ProfilePhotoRepository profilePhotoRepository;
 	private final ProfilePhotoService profilePhotoService;
 	private final ExperienceRepository experienceRepository;
+	private final EmployeeMapper employeeMapper;
+	private final EducationMapper educationMapper;
+	private final CertificationMapper certificationMapper;
+	private final SkillMapper skillMapper;
+	private final ExperienceMapper experienceMapper;
+	private final DocumentMapper documentMapper;
+	private final ProfilePhotoMapper profilePhotoMapper;
+	private final OrphanBlobCleaner orphanBlobCleaner;
+	private final BlobStore blobStore;
+	private final PdfRenderCache pdfRenderCache;
+	private final CallerEmployeeIdCache callerEmployeeIdCache;
 
 	@Autowired
 	public EmployeeServiceImpl(EmployeeRepository employeeRepository, EducationRepository educationRepository,
 			CertificationRepository certificationRepository, SkillRepository skillRepository,
 			DocumentRepository documentRepository, ProfilePhotoRepository profilePhotoRepository,
-			ModelMapper modelMapper, ProfilePhotoService profilePhotoService,
-			ExperienceRepository experienceRepository) {
+			ProfilePhotoService profilePhotoService, ExperienceRepository experienceRepository,
+			EmployeeMapper employeeMapper, EducationMapper educationMapper, CertificationMapper certificationMapper,
+			SkillMapper skillMapper, ExperienceMapper experienceMapper, DocumentMapper documentMapper,
+			ProfilePhotoMapper profilePhotoMapper, OrphanBlobCleaner orphanBlobCleaner, BlobStore blobStore,
+			PdfRenderCache pdfRenderCache, CallerEmployeeIdCache callerEmployeeIdCache) {
 		this.employeeRepository = employeeRepository;
 		this.educationRepository = educationRepository;
 		this.certificationRepository = certificationRepository;
 		this.skillRepository = skillRepository;
 		this.documentRepository = documentRepository;
 		this.profilePhotoRepository = profilePhotoRepository;
-		this.modelMapper = modelMapper;
 		this.profilePhotoService = profilePhotoService;
 		this.experienceRepository = experienceRepository;
+		this.employeeMapper = employeeMapper;
+		this.educationMapper = educationMapper;
+		this.certificationMapper = certificationMapper;
+		this.skillMapper = skillMapper;
+		this.experienceMapper = experienceMapper;
+		this.documentMapper = documentMapper;
+		this.profilePhotoMapper = profilePhotoMapper;
+		this.orphanBlobCleaner = orphanBlobCleaner;
+		this.blobStore = blobStore;
+		this.pdfRenderCache = pdfRenderCache;
+		this.callerEmployeeIdCache = callerEmployeeIdCache;
 	}
 
 	@Override
@@ -68,97 +103,192 @@ public class EmployeeServiceImpl implements EmployeeService {
 
 	@Override
 	public EmployeeDTO getEmployeeById(Long id) {
-		Employee employee = employeeRepository.findById(id)
+		Employee employee = employeeRepository.findWithAggregateByEmployeeId(id)
 				.orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
 
-		EmployeeDTO employeeDTO = convertToDTO(employee);
+		// Photo bytes held in the blob store are not loaded here; the PDF export attaches its own rendition
+		return convertToDTO(employee);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPage<EmployeeDTO> getEmployeesPage(String cursor, Integer size, EmployeeSort sort) {
+		int pageSize = resolvePageSize(size);
+		EmployeeSort effectiveSort = sort != null ? sort : EmployeeSort.ID;
+		EmployeeCursor after = decodeCursor(cursor, effectiveSort);
+
+		// Fetch one extra row to learn whether another page exists
+		Limit limit = Limit.of(pageSize + 1);
+		List<Employee> rows;
+		if (effectiveSort == EmployeeSort.NAME) {
+			rows = after == null ? employeeRepository.findFirstPageOrderByName(limit)
+					: employeeRepository.findPageAfterName(after.getLastName(), after.getFirstName(),
+							after.getEmployeeId(), limit);
+		} else {
+			rows = after == null ? employeeRepository.findByOrderByEmployeeIdAsc(limit)
+					: employeeRepository.findByEmployeeIdGreaterThanOrderByEmployeeIdAsc(after.getEmployeeId(), limit);
+		}
 
-		// Load profile photo if not already loaded
-		ProfilePhotoDTO photoDTO = profilePhotoService.getProfilePhoto(id);
-		employeeDTO.setProfilePhoto(photoDTO);
+		boolean hasNext = rows.size() > pageSize;
+		List<Employee> page = hasNext ? rows.subList(0, pageSize) : rows;
+		String nextCursor = hasNext ? EmployeeCursor.after(effectiveSort, page.get(page.size() - 1)).encode() : null;
 
-		return employeeDTO;
+		List<EmployeeDTO> items = page.stream().map(this::convertToDTO).collect(Collectors.toList());
+		return new CursorPage<>(items, nextCursor, hasNext, items.size());
 	}
 
 	@Override
-	public List<EmployeeDTO> getAllEmployees() {
-		return employeeRepository.findAll().stream().map(this::convertToDTO).collect(Collectors.toList());
+	@Transactional(readOnly = true)
+	public CursorPage<EmployeeSummaryDTO> getEmployeeSummariesPage(String cursor, Integer size, EmployeeSort sort) {
+		int pageSize = resolvePageSize(size);
+		EmployeeSort effectiveSort = sort != null ? sort : EmployeeSort.ID;
+		EmployeeCursor after = decodeCursor(cursor, effectiveSort);
+
+		Limit limit = Limit.of(pageSize + 1);
+		List<EmployeeSummaryDTO> rows;
+		if (effectiveSort == EmployeeSort.NAME) {
+			rows = after == null ? employeeRepository.findSummaryFirstPageOrderByName(limit)
+					: employeeRepository.findSummaryPageAfterName(after.getLastName(), after.getFirstName(),
+							after.getEmployeeId(), limit);
+		} else {
+			rows = after == null ? employeeRepository.findSummaryFirstPage(limit)
+					: employeeRepository.findSummaryPageAfterId(after.getEmployeeId(), limit);
+		}
+
+		boolean hasNext = rows.size() > pageSize;
+		List<EmployeeSummaryDTO> page = hasNext ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+		String nextCursor = hasNext ? EmployeeCursor.after(effectiveSort, page.get(page.size() - 1)).encode() : null;
+		return new CursorPage<>(page, nextCursor, hasNext, page.size());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public EmployeeSummaryDTO getEmployeeSummaryById(Long id) {
+		return employeeRepository.findSummaryById(id)
+				.orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
+	}
+
+	private int resolvePageSize(Integer size) {
+		int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+		if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+			throw new InvalidPageRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+		}
+		return pageSize;
+	}
+
+	private EmployeeCursor decodeCursor(String cursor, EmployeeSort sort) {
+		return cursor != null && !cursor.isBlank() ? EmployeeCursor.decode(cursor, sort) : null;
 	}
 
 	@Override
 	public EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO) {
+		return updateEmployee(id, employeeDTO, MappingStrategy.PATCH);
+	}
+
+	@Override
+	public EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO, MappingStrategy strategy) {
+		if (strategy == MappingStrategy.CREATE) {
+			throw new IllegalArgumentException("CREATE cannot be used to update an existing employee");
+		}
+		if (strategy == MappingStrategy.REPLACE && employeeDTO.getRole() == null) {
+			throw new IllegalArgumentException("Role is required");
+		}
+
 		Employee existingEmployee = employeeRepository.findById(id)
 				.orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
 
+		// Content keys that may become unreferenced once this update commits
+		List<String> releasedBlobs = new ArrayList<>();
+
 		// Handle document deletions
 		if (employeeDTO.getDocumentsToDelete() != null && !employeeDTO.getDocumentsToDelete().isEmpty()) {
 			List<Document> toDelete = documentRepository.findAllById(employeeDTO.getDocumentsToDelete());
 			documentRepository.deleteAll(toDelete);
+			releasedBlobs.addAll(toDelete.stream().map(Document::getStorageKey).toList());
 		}
 
 		// Handle profile photo removal
 		if (employeeDTO.getRemoveProfilePhoto() != null && employeeDTO.getRemoveProfilePhoto()) {
 			if (existingEmployee.getProfilePhoto() != null) {
+				releasedBlobs.add(existingEmployee.getProfilePhoto().getStorageKey());
 				profilePhotoRepository.delete(existingEmployee.getProfilePhoto());
 				existingEmployee.setProfilePhoto(null);
 			}
-			employeeDTO.setProfilePhoto(null);
 		}
-		// If no photo data is provided and we're not removing, keep existing photo
-		else if (employeeDTO.getProfilePhoto() == null
-				|| (employeeDTO.getProfilePhoto() != null && !employeeDTO.getProfilePhoto().hasPhotoData())) {
-			employeeDTO.setProfilePhoto(convertToDTO(existingEmployee).getProfilePhoto());
+		// Replace the photo only when new photo data is provided; otherwise keep the existing one
+		else if (employeeDTO.getProfilePhoto() != null && employeeDTO.getProfilePhoto().hasPhotoData()) {
+			if (existingEmployee.getProfilePhoto() != null) {
+				releasedBlobs.add(existingEmployee.getProfilePhoto().getStorageKey());
+			}
+			updateProfilePhoto(existingEmployee, employeeDTO.getProfilePhoto());
 		}
 
 		// Validate unique constraints before updating
 		validateUniqueConstraints(employeeDTO, existingEmployee);
 
-		// Map other fields while preserving the ID
+		// Copy the scalar fields as the strategy dictates; the ID is never taken from the DTO
 		employeeDTO.setEmployeeId(id);
-		modelMapper.getConfiguration().setSkipNullEnabled(true);
-		modelMapper.map(employeeDTO, existingEmployee);
+		employeeMapper.apply(employeeDTO, existingEmployee, strategy);
 
 		// Update relationships
-		updateEmployeeRelationships(existingEmployee, employeeDTO);
+		updateEmployeeRelationships(existingEmployee, employeeDTO, strategy);
 
 		Employee updatedEmployee = employeeRepository.save(existingEmployee);
+		orphanBlobCleaner.deleteIfUnreferencedAfterCommit(releasedBlobs);
+		pdfRenderCache.invalidate(id);
+		// The email a token resolved through may have changed
+		callerEmployeeIdCache.invalidateEmployee(id);
 		return convertToDTO(updatedEmployee);
 	}
 
 	private void updateProfilePhoto(Employee employee, ProfilePhotoDTO photoDTO) {
-		if (employee.getProfilePhoto() == null) {
+		ProfilePhoto photo = employee.getProfilePhoto();
+		if (photo == null) {
 			// Create new photo
-			ProfilePhoto newPhoto = modelMapper.map(photoDTO, ProfilePhoto.class);
-			newPhoto.setEmployee(employee);
-			employee.setProfilePhoto(newPhoto);
+			photo = profilePhotoMapper.toEntity(photoDTO);
+			photo.setEmployee(employee);
+			employee.setProfilePhoto(photo);
 		} else {
 			// Update existing photo without changing ID
-			ProfilePhoto existingPhoto = employee.getProfilePhoto();
-			existingPhoto.setFileName(photoDTO.getFileName());
-			existingPhoto.setFileType(photoDTO.getFileType());
-			existingPhoto.setFileSize(photoDTO.getFileSize());
-			existingPhoto.setData(photoDTO.getData());
+			photo.setFileName(photoDTO.getFileName());
+			photo.setFileType(photoDTO.getFileType());
+			photo.setFileSize(photoDTO.getFileSize());
+		}
+		try {
+			profilePhotoService.storeContent(photo, new ByteArrayInputStream(photoDTO.getData()));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
 		}
 	}
 
 	@Override
 	public void deleteEmployee(Long id) {
+		List<String> releasedBlobs = new ArrayList<>(documentRepository.findStorageKeysByEmployeeId(id));
+		profilePhotoRepository.findMetadataByEmployeeId(id).map(FileMetadataDTO::getStorageKey)
+				.ifPresent(releasedBlobs::add);
+
 		educationRepository.deleteByEmployeeEmployeeId(id);
 		certificationRepository.deleteByEmployeeEmployeeId(id);
 		skillRepository.deleteByEmployeeEmployeeId(id);
 		documentRepository.deleteByEmployeeEmployeeId(id);
 		employeeRepository.deleteById(id);
+		orphanBlobCleaner.deleteIfUnreferencedAfterCommit(releasedBlobs);
+		pdfRenderCache.invalidate(id);
+		callerEmployeeIdCache.invalidateEmployee(id);
 	}
 
 	private void validateUniqueConstraints(EmployeeDTO employeeDTO, Employee existingEmployee) {
-		if (existingEmployee == null || !existingEmployee.getEmail().equals(employeeDTO.getEmail())) {
-			if (employeeRepository.existsByEmail(employeeDTO.getEmail())) {
+		// Emails are compared in normalized form, so a change of case alone is neither a clash nor a new address
+		String email = Employee.normalizeEmail(employeeDTO.getEmail());
+		if (existingEmployee == null || !Objects.equals(existingEmployee.getEmailNormalized(), email)) {
+			if (employeeRepository.existsByEmailNormalized(email)) {
 				throw new IllegalArgumentException("Email already exists");
 			}
 		}
 
-		if (existingEmployee == null || !existingEmployee.getPersonalEmail().equals(employeeDTO.getPersonalEmail())) {
-			if (employeeRepository.existsByPersonalEmail(employeeDTO.getPersonalEmail())) {
+		String personalEmail = Employee.normalizeEmail(employeeDTO.getPersonalEmail());
+		if (existingEmployee == null || !Objects.equals(existingEmployee.getPersonalEmailNormalized(), personalEmail)) {
+			if (employeeRepository.existsByPersonalEmailNormalized(personalEmail)) {
 				throw new IllegalArgumentException("Personal email already exists");
 			}
 		}
@@ -170,20 +300,32 @@ public class EmployeeServiceImpl implements EmployeeService {
 		}
 	}
 
-	private void updateEmployeeRelationships(Employee employee, EmployeeDTO employeeDTO) {
-		updateEducations(employee,
-				employeeDTO.getEducationList() != null ? employeeDTO.getEducationList() : new ArrayList<>(),
-				educationRepository.findByEmployeeEmployeeId(employee.getEmployeeId()));
-
-		updateCertifications(employee,
-				employeeDTO.getCertifications() != null ? employeeDTO.getCertifications() : new ArrayList<>(),
-				certificationRepository.findByEmployeeEmployeeId(employee.getEmployeeId()));
-
-		updateSkills(employee, employeeDTO.getSkills() != null ? employeeDTO.getSkills() : new ArrayList<>(),
-				skillRepository.findByEmployeeEmployeeId(employee.getEmployeeId()));
+	private void updateEmployeeRelationships(Employee employee, EmployeeDTO employeeDTO, MappingStrategy strategy) {
+		// A patch leaves a collection alone when the client did not send it; a replace clears it
+		Long employeeId = employee.getEmployeeId();
+		if (strategy.copies(employeeDTO.getEducationList())) {
+			updateEducations(employee, orEmpty(employeeDTO.getEducationList()),
+					educationRepository.findByEmployeeEmployeeId(employeeId));
+		}
+		if (strategy.copies(employeeDTO.getCertifications())) {
+			updateCertifications(employee, orEmpty(employeeDTO.getCertifications()),
+					certificationRepository.findByEmployeeEmployeeId(employeeId));
+		}
+		if (strategy.copies(employeeDTO.getSkills())) {
+			updateSkills(employee, orEmpty(employeeDTO.getSkills()), skillRepository.findByEmployeeEmployeeId(employeeId));
+		}
+		if (strategy.copies(employeeDTO.getDocuments())) {
+			updateDocuments(employee, orEmpty(employeeDTO.getDocuments()),
+					documentRepository.findByEmployeeEmployeeId(employeeId));
+		}
+		if (strategy.copies(employeeDTO.getExperiences())) {
+			updateExperiences(employee, orEmpty(employeeDTO.getExperiences()),
+					experienceRepository.findByEmployeeEmployeeId(employeeId));
+		}
+	}
 
-		updateDocuments(employee, employeeDTO.getDocuments() != null ? employeeDTO.getDocuments() : new ArrayList<>(),
-				documentRepository.findByEmployeeEmployeeId(employee.getEmployeeId()));
+	private static <T> List<T> orEmpty(List<T> list) {
+		return list != null ? list : new ArrayList<>();
 	}
 
 	private void updateEducations(Employee employee, List<EducationDTO> educationDTOs,
@@ -197,9 +339,9 @@ public class EmployeeServiceImpl implements EmployeeService {
 				education = currentEducations.stream().filter(e -> e.getEducationId().equals(dto.getEducationId()))
 						.findFirst().orElseThrow(() -> new ResourceNotFoundException(
 								"Education not found with id: " + dto.getEducationId()));
-				modelMapper.map(dto, education);
+				educationMapper.merge(dto, education);
 			} else {
-				education = modelMapper.map(dto, Education.class);
+				education = educationMapper.toEntity(dto);
 				education.setEducationId(null);
 				education.setVersion(0L);
 			}
@@ -228,9 +370,9 @@ public class EmployeeServiceImpl implements EmployeeService {
 						.filter(c -> c.getCertificationId().equals(dto.getCertificationId())).findFirst()
 						.orElseThrow(() -> new ResourceNotFoundException(
 								"Certification not found with id: " + dto.getCertificationId()));
-				modelMapper.map(dto, certification);
+				certificationMapper.merge(dto, certification);
 			} else {
-				certification = modelMapper.map(dto, Certification.class);
+				certification = certificationMapper.toEntity(dto);
 				certification.setCertificationId(null);
 				certification.setVersion(0L);
 			}
@@ -257,9 +399,9 @@ public class EmployeeServiceImpl implements EmployeeService {
 				skill = currentSkills.stream().filter(s -> s.getSkillId().equals(dto.getSkillId())).findFirst()
 						.orElseThrow(
 								() -> new ResourceNotFoundException("Skill not found with id: " + dto.getSkillId()));
-				modelMapper.map(dto, skill);
+				skillMapper.merge(dto, skill);
 			} else {
-				skill = modelMapper.map(dto, Skill.class);
+				skill = skillMapper.toEntity(dto);
 				skill.setSkillId(null);
 				skill.setVersion(0L);
 			}
@@ -304,9 +446,9 @@ public class EmployeeServiceImpl implements EmployeeService {
 				experience = currentExperiences.stream().filter(e -> e.getExperienceId().equals(dto.getExperienceId()))
 						.findFirst().orElseThrow(() -> new ResourceNotFoundException(
 								"Experience not found with id: " + dto.getExperienceId()));
-				modelMapper.map(dto, experience);
+				experienceMapper.merge(dto, experience);
 			} else {
-				experience = modelMapper.map(dto, Experience.class);
+				experience = experienceMapper.toEntity(dto);
 				experience.setExperienceId(null);
 				experience.setVersion(0L);
 			}
@@ -324,16 +466,12 @@ public class EmployeeServiceImpl implements EmployeeService {
 	}
 
 	private Employee convertToNewEntity(EmployeeDTO employeeDTO) {
-		Employee employee = modelMapper.map(employeeDTO, Employee.class);
-		employee.setEducationList(new ArrayList<>());
-		employee.setCertifications(new ArrayList<>());
-		employee.setSkills(new ArrayList<>());
-		employee.setDocuments(new ArrayList<>());
-		employee.setRole(employeeDTO.getRole());
+		Employee employee = new Employee();
+		employeeMapper.apply(employeeDTO, employee, MappingStrategy.CREATE);
 
 		if (employeeDTO.getEducationList() != null) {
 			employeeDTO.getEducationList().forEach(eduDto -> {
-				Education education = modelMapper.map(eduDto, Education.class);
+				Education education = educationMapper.toEntity(eduDto);
 				education.setEducationId(null);
 				education.setVersion(0L);
 				education.setEmployee(employee);
@@ -343,7 +481,7 @@ public class EmployeeServiceImpl implements EmployeeService {
 
 		if (employeeDTO.getCertifications() != null) {
 			employeeDTO.getCertifications().forEach(certDto -> {
-				Certification certification = modelMapper.map(certDto, Certification.class);
+				Certification certification = certificationMapper.toEntity(certDto);
 				certification.setCertificationId(null);
 				certification.setVersion(0L);
 				certification.setEmployee(employee);
@@ -353,7 +491,7 @@ public class EmployeeServiceImpl implements EmployeeService {
 
 		if (employeeDTO.getSkills() != null) {
 			employeeDTO.getSkills().forEach(skillDto -> {
-				Skill skill = modelMapper.map(skillDto, Skill.class);
+				Skill skill = skillMapper.toEntity(skillDto);
 				skill.setSkillId(null);
 				skill.setVersion(0L);
 				skill.setEmployee(employee);
@@ -363,7 +501,7 @@ public class EmployeeServiceImpl implements EmployeeService {
 
 		if (employeeDTO.getExperiences() != null) {
 			employeeDTO.getExperiences().forEach(expDto -> {
-				Experience experience = modelMapper.map(expDto, Experience.class);
+				Experience experience = experienceMapper.toEntity(expDto);
 				experience.setExperienceId(null);
 				experience.setVersion(0L);
 				experience.setEmployee(employee);
@@ -373,10 +511,11 @@ public class EmployeeServiceImpl implements EmployeeService {
 
 		if (employeeDTO.getDocuments() != null) {
 			employeeDTO.getDocuments().forEach(docDto -> {
-				Document document = modelMapper.map(docDto, Document.class);
+				Document document = documentMapper.toEntity(docDto);
 				document.setDocumentId(null);
 				document.setVersion(0L);
 				document.setEmployee(employee);
+				storeDocumentContent(document, docDto.getData());
 				employee.getDocuments().add(document);
 			});
 		}
@@ -384,6 +523,20 @@ public class EmployeeServiceImpl implements EmployeeService {
 		return employee;
 	}
 
+	// Content goes to the blob store as on upload; the row keeps an empty placeholder for the NOT NULL column.
+	// The size is the stored length, never the client's, since downloads serve Content-Length and ranges from it
+	private void storeDocumentContent(Document document, byte[] data) {
+		try {
+			StoredBlob blob = blobStore.put(new ByteArrayInputStream(data != null ? data : new byte[0]));
+			document.setStorageKey(blob.getKey());
+			document.setContentHash(blob.getContentHash());
+			document.setFileSize(blob.getSize());
+			document.setData(new byte[0]);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
 	@Override
 	public List<EmployeeDTO> getEmployeesByProject(Long projectId) {
 		if (projectId == null) {
@@ -420,74 +573,24 @@ public class EmployeeServiceImpl implements EmployeeService {
 	}
 
 	private EmployeeDTO convertToDTO(Employee employee) {
-		EmployeeDTO employeeDTO = modelMapper.map(employee, EmployeeDTO.class);
-
-		if (employee.getProfilePhoto() != null) {
-			ProfilePhotoDTO photoDTO = new ProfilePhotoDTO();
-			photoDTO.setId(employee.getProfilePhoto().getId());
-			photoDTO.setFileName(employee.getProfilePhoto().getFileName());
-			photoDTO.setFileType(employee.getProfilePhoto().getFileType());
-			photoDTO.setFileSize(employee.getProfilePhoto().getFileSize());
-			photoDTO.setData(employee.getProfilePhoto().getData());
-			photoDTO.setEmployeeId(employee.getEmployeeId());
-			employeeDTO.setProfilePhoto(photoDTO);
-		}
-
-		employeeDTO.setEducationList(employee.getEducationList().stream().map(edu -> {
-			EducationDTO dto = modelMapper.map(edu, EducationDTO.class);
-			dto.setVersion(edu.getVersion());
-			return dto;
-		}).collect(Collectors.toList()));
-
-		employeeDTO.setCertifications(employee.getCertifications().stream().map(cert -> {
-			CertificationDTO dto = modelMapper.map(cert, CertificationDTO.class);
-			dto.setVersion(cert.getVersion());
-			return dto;
-		}).collect(Collectors.toList()));
-
-		employeeDTO.setSkills(employee.getSkills().stream().map(skill -> {
-			SkillDTO dto = modelMapper.map(skill, SkillDTO.class);
-			dto.setVersion(skill.getVersion());
-			return dto;
-		}).collect(Collectors.toList()));
-
-		employeeDTO.setDocuments(employee.getDocuments().stream().map(doc -> {
-			DocumentDTO dto = modelMapper.map(doc, DocumentDTO.class);
-			dto.setEmployeeId(employee.getEmployeeId());
-			return dto;
-		}).collect(Collectors.toList()));
-
-		employeeDTO.setExperiences(employee.getExperiences().stream().map(exp -> {
-			ExperienceDTO dto = modelMapper.map(exp, ExperienceDTO.class);
-			dto.setVersion(exp.getVersion());
-			return dto;
-		}).collect(Collectors.toList()));
-
-		return employeeDTO;
+		return employeeMapper.toDto(employee);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public EmployeeDTO getEmployeeByEmail(String email) {
 	    logger.debug("Fetching employee with email: {}", email);
-	    
-	    // First try to find by email
-	    Optional<Employee> employee = employeeRepository.findByEmail(email);
 
-	    // If not found, try personal email
-	    if (employee.isEmpty()) {
-	        employee = employeeRepository.findByPersonalEmail(email);
-	    }
+	    // Work or personal email, any case, in one lookup
+	    Optional<Long> employeeId = employeeRepository.findIdByNormalizedEmail(Employee.normalizeEmail(email));
 
-	    // If still not found, try to extract email from Auth0 ID if it's in that format
-	    if (employee.isEmpty() && email.startsWith("auth0|")) {
+	    // If not found, try to extract email from Auth0 ID if it's in that format
+	    if (employeeId.isEmpty() && email.startsWith("auth0|")) {
 	        String cleanEmail = email.substring(email.indexOf("|") + 1);
-	        employee = employeeRepository.findByEmail(cleanEmail);
-	        if (employee.isEmpty()) {
-	            employee = employeeRepository.findByPersonalEmail(cleanEmail);
-	        }
+	        employeeId = employeeRepository.findIdByNormalizedEmail(Employee.normalizeEmail(cleanEmail));
 	    }
 
-	    return employee.map(this::convertToDTO)
+	    return employeeId.flatMap(employeeRepository::findWithAggregateByEmployeeId).map(this::convertToDTO)
 	            .orElseThrow(() -> new ResourceNotFoundException("Employee not found with identifier: " + email));
 	}
 }
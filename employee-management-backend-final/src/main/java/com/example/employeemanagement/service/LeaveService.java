@@ -11,5 +11,6 @@ public interface LeaveService {
     List<LeaveDTO> getPendingLeaves();
     long countPendingLeaves();
     LeaveDTO getLeaveById(Long leaveId);
+    boolean isLeaveOwnedBy(Long leaveId, Long employeeId);
     void cancelLeave(Long leaveId);
 }
\ No newline at end of file
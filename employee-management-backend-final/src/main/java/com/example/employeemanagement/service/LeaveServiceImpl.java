@@ -2,12 +2,13 @@ package com.example.employeemanagement.service;
 
 import com.example.employeemanagement.dto.LeaveDTO;
 import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.mapper.LeaveMapper;
 import com.example.employeemanagement.model.Employee; // Import Employee
 import com.example.employeemanagement.model.Leave;
 import com.example.employeemanagement.model.Leave.LeaveStatus;
 import com.example.employeemanagement.repository.EmployeeRepository;
 import com.example.employeemanagement.repository.LeaveRepository;
-import org.modelmapper.ModelMapper;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,19 +18,20 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("app.service")
 @Transactional
 public class LeaveServiceImpl implements LeaveService {
 
 	private final LeaveRepository leaveRepository;
 	private final EmployeeRepository employeeRepository;
-	private final ModelMapper modelMapper;
+	private final LeaveMapper leaveMapper;
 
 	@Autowired
 	public LeaveServiceImpl(LeaveRepository leaveRepository, EmployeeRepository employeeRepository,
-			ModelMapper modelMapper) {
+			LeaveMapper leaveMapper) {
 		this.leaveRepository = leaveRepository;
 		this.employeeRepository = employeeRepository;
-		this.modelMapper = modelMapper;
+		this.leaveMapper = leaveMapper;
 	}
 
 	@Override
@@ -41,7 +43,7 @@ public class LeaveServiceImpl implements LeaveService {
 		Employee employee = employeeRepository.findById(leaveDTO.getEmployeeId()).orElseThrow(
 				() -> new ResourceNotFoundException("Employee not found with id: " + leaveDTO.getEmployeeId()));
 
-		Leave leave = modelMapper.map(leaveDTO, Leave.class);
+		Leave leave = leaveMapper.toEntity(leaveDTO);
 		// Set the fetched Employee object on the Leave entity
 		leave.setEmployee(employee);
 		// --- END OF MODIFICATION ---
@@ -99,10 +101,16 @@ public class LeaveServiceImpl implements LeaveService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public LeaveDTO getLeaveById(Long leaveId) {
-		Leave leave = leaveRepository.findById(leaveId)
+		return leaveRepository.findDtoByLeaveId(leaveId)
 				.orElseThrow(() -> new ResourceNotFoundException("Leave not found with id: " + leaveId));
-		return convertToDTO(leave);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public boolean isLeaveOwnedBy(Long leaveId, Long employeeId) {
+		return leaveRepository.existsByLeaveIdAndEmployeeEmployeeId(leaveId, employeeId);
 	}
 
 	@Override
@@ -119,12 +127,6 @@ public class LeaveServiceImpl implements LeaveService {
 	}
 
 	private LeaveDTO convertToDTO(Leave leave) {
-		LeaveDTO leaveDTO = modelMapper.map(leave, LeaveDTO.class);
-		// Ensure employee is not null before accessing its ID/name
-		if (leave.getEmployee() != null) {
-			leaveDTO.setEmployeeId(leave.getEmployee().getEmployeeId());
-			leaveDTO.setEmployeeName(leave.getEmployee().getFirstName() + " " + leave.getEmployee().getLastName());
-		}
-		return leaveDTO;
+		return leaveMapper.toDto(leave);
 	}
 }
\ No newline at end of file
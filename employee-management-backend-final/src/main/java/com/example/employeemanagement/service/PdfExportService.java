@@ -0,0 +1,152 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.ProjectRepository;
+import com.example.employeemanagement.repository.TeamRepository;
+import com.itextpdf.text.DocumentException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Renders many employee PDFs on a bounded worker pool and writes them into a
+ * ZIP in completion order. Each export keeps at most one PDF per worker in
+ * memory, however many employees it covers.
+ */
+@Service
+public class PdfExportService {
+
+	private static final Logger logger = LoggerFactory.getLogger(PdfExportService.class);
+
+	private final EmployeeService employeeService;
+	private final PdfService pdfService;
+	private final PhotoRenditionService photoRenditionService;
+	private final EmployeeRepository employeeRepository;
+	private final ProjectRepository projectRepository;
+	private final TeamRepository teamRepository;
+	private final ThreadPoolTaskExecutor executor;
+	private final int parallelism;
+
+	public PdfExportService(EmployeeService employeeService, PdfService pdfService,
+			PhotoRenditionService photoRenditionService, EmployeeRepository employeeRepository,
+			ProjectRepository projectRepository, TeamRepository teamRepository,
+			@Value("${app.pdf-export.threads:4}") int threads) {
+		this.employeeService = employeeService;
+		this.pdfService = pdfService;
+		this.photoRenditionService = photoRenditionService;
+		this.employeeRepository = employeeRepository;
+		this.projectRepository = projectRepository;
+		this.teamRepository = teamRepository;
+		this.parallelism = threads;
+		this.executor = new ThreadPoolTaskExecutor();
+		this.executor.setCorePoolSize(threads);
+		this.executor.setMaxPoolSize(threads);
+		this.executor.setThreadNamePrefix("pdf-export-");
+		this.executor.initialize();
+	}
+
+	public List<Long> getEmployeeIdsForProject(Long projectId) {
+		if (!projectRepository.existsById(projectId)) {
+			throw new ResourceNotFoundException("Project not found with id: " + projectId);
+		}
+		return employeeRepository.findIdsByProjectId(projectId);
+	}
+
+	public List<Long> getEmployeeIdsForTeam(Long teamId) {
+		if (!teamRepository.existsById(teamId)) {
+			throw new ResourceNotFoundException("Team not found with id: " + teamId);
+		}
+		return employeeRepository.findIdsByTeamId(teamId);
+	}
+
+	/**
+	 * Writes one {@code employee_<id>.pdf} entry per employee. Employees deleted
+	 * since the ids were read are skipped; any other failure aborts the export.
+	 */
+	public void writeZip(List<Long> employeeIds, OutputStream out) throws IOException {
+		CompletionService<RenderedPdf> completion = new ExecutorCompletionService<>(executor);
+		List<Future<RenderedPdf>> pending = new ArrayList<>();
+		Iterator<Long> remaining = employeeIds.iterator();
+
+		try (ZipOutputStream zip = new ZipOutputStream(out)) {
+			// Keep the window of rendered-but-unwritten PDFs no wider than the pool
+			while (pending.size() < parallelism && remaining.hasNext()) {
+				pending.add(completion.submit(render(remaining.next())));
+			}
+			while (!pending.isEmpty()) {
+				Future<RenderedPdf> done = completion.take();
+				pending.remove(done);
+				if (remaining.hasNext()) {
+					pending.add(completion.submit(render(remaining.next())));
+				}
+
+				RenderedPdf pdf = done.get();
+				if (pdf == null) {
+					continue;
+				}
+				zip.putNextEntry(new ZipEntry("employee_" + pdf.employeeId + ".pdf"));
+				zip.write(pdf.content);
+				zip.closeEntry();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("PDF export interrupted");
+		} catch (ExecutionException e) {
+			throw new IOException("Failed to generate PDF", e.getCause());
+		} finally {
+			pending.forEach(future -> future.cancel(true));
+		}
+	}
+
+	private Callable<RenderedPdf> render(Long employeeId) {
+		return () -> {
+			EmployeeDTO employee;
+			try {
+				employee = employeeService.getEmployeeById(employeeId);
+			} catch (ResourceNotFoundException e) {
+				logger.info("Employee {} was deleted during the export; skipping", employeeId);
+				return null;
+			}
+			photoRenditionService.attachPdfPhoto(employee);
+			try {
+				return new RenderedPdf(employeeId, pdfService.generateEmployeePdf(employee));
+			} catch (DocumentException e) {
+				throw new IllegalStateException("Failed to generate PDF for employee " + employeeId, e);
+			}
+		};
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdown();
+	}
+
+	private static final class RenderedPdf {
+		private final Long employeeId;
+		private final byte[] content;
+
+		private RenderedPdf(Long employeeId, byte[] content) {
+			this.employeeId = employeeId;
+			this.content = content;
+		}
+	}
+}
@@ -0,0 +1,234 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.*;
+import com.example.employeemanagement.storage.ContentHash;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.itextpdf.text.DocumentException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Rendered employee PDFs, bounded by total size in bytes. An entry is only
+ * served while the fingerprint of the employee it was rendered from still
+ * matches; the update, photo upload and delete paths also evict eagerly so
+ * stale documents do not hold on to memory.
+ */
+@Component
+public class PdfRenderCache implements MeterBinder {
+
+	private final Cache<Long, CachedPdf> cache;
+	private final int maxEntryBytes;
+	private volatile Timer renderTimer;
+
+	public PdfRenderCache(@Value("${app.pdf-cache.max-bytes:67108864}") long maxBytes,
+			@Value("${app.pdf-cache.max-entry-bytes:2097152}") int maxEntryBytes) {
+		this.maxEntryBytes = maxEntryBytes;
+		this.cache = Caffeine.newBuilder()
+				.maximumWeight(maxBytes)
+				.weigher((Long employeeId, CachedPdf pdf) -> pdf.content.length)
+				.recordStats()
+				// Evict on the calling thread; the work is a map removal per entry
+				.executor(Runnable::run)
+				.build();
+	}
+
+	/**
+	 * Writes the cached PDF for this state of the employee to {@code out}. On a
+	 * miss the renderer writes straight through, and a copy is kept only for
+	 * documents no larger than the per-entry limit.
+	 */
+	public void write(EmployeeDTO employee, OutputStream out, PdfRenderer renderer)
+			throws DocumentException, IOException {
+		String fingerprint = fingerprint(employee);
+		Long employeeId = employee.getEmployeeId();
+		CachedPdf stale = cache.policy().getIfPresentQuietly(employeeId);
+		if (stale != null && !stale.fingerprint.equals(fingerprint)) {
+			// Rendered from an older state: drop it first so the lookup below is counted as the miss it is
+			cache.asMap().remove(employeeId, stale);
+		}
+		CachedPdf cached = cache.getIfPresent(employeeId);
+		if (cached != null && cached.fingerprint.equals(fingerprint)) {
+			out.write(cached.content);
+			return;
+		}
+
+		if (maxEntryBytes <= 0) {
+			render(renderer, employee, out);
+			return;
+		}
+		CapturingOutputStream capture = new CapturingOutputStream(out, maxEntryBytes);
+		render(renderer, employee, capture);
+		byte[] content = capture.captured();
+		if (content != null) {
+			cache.put(employeeId, new CachedPdf(fingerprint, content));
+		}
+	}
+
+	/** Cache size, hits and evictions, plus {@code app.pdf.render} timing the renders behind misses. */
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, cache, "pdfRender");
+		renderTimer = Timer.builder("app.pdf.render").description("Employee PDF renders on a cache miss")
+				.register(registry);
+	}
+
+	private void render(PdfRenderer renderer, EmployeeDTO employee, OutputStream out)
+			throws DocumentException, IOException {
+		Timer timer = renderTimer;
+		if (timer == null) {
+			renderer.render(employee, out);
+			return;
+		}
+		long start = System.nanoTime();
+		try {
+			renderer.render(employee, out);
+		} finally {
+			timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/** Drops the employee's PDF; see {@link CacheEviction#nowAndAfterCommit}. */
+	public void invalidate(Long employeeId) {
+		CacheEviction.nowAndAfterCommit(() -> cache.invalidate(employeeId));
+	}
+
+	public Map<String, Object> stats() {
+		CacheStats stats = cache.stats();
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("entries", cache.estimatedSize());
+		result.put("hits", stats.hitCount());
+		result.put("misses", stats.missCount());
+		result.put("hitRate", stats.hitRate());
+		result.put("evictions", stats.evictionCount());
+		result.put("evictedBytes", stats.evictionWeight());
+		return result;
+	}
+
+	/**
+	 * Child rows carry {@code @Version} columns and the photo is identified by its
+	 * id and the stored hash of the bytes that will be embedded; only content not
+	 * yet moved to the blob store, which has no hash, is hashed here. The employee
+	 * row has no version, so the printed fields stand in for one.
+	 */
+	static String fingerprint(EmployeeDTO employee) {
+		StringBuilder key = new StringBuilder();
+		append(key, employee.getEmployeeId(), employee.getFirstName(), employee.getLastName(), employee.getGender(),
+				employee.getDob(), employee.getEmail(), employee.getPersonalEmail(), employee.getFatherName(),
+				employee.getMobile(), employee.getRole(), employee.getPresentStreet(), employee.getPresentCity(),
+				employee.getPresentState(), employee.getPresentZip(), employee.getPermanentStreet(),
+				employee.getPermanentCity(), employee.getPermanentState(), employee.getPermanentZip());
+
+		key.append("|education");
+		versions(key, employee.getEducationList(), EducationDTO::getEducationId, EducationDTO::getVersion);
+		key.append("|certification");
+		versions(key, employee.getCertifications(), CertificationDTO::getCertificationId,
+				CertificationDTO::getVersion);
+		key.append("|skill");
+		versions(key, employee.getSkills(), SkillDTO::getSkillId, SkillDTO::getVersion);
+		key.append("|experience");
+		versions(key, employee.getExperiences(), ExperienceDTO::getExperienceId, ExperienceDTO::getVersion);
+
+		ProfilePhotoDTO photo = employee.getProfilePhoto();
+		key.append("|photo");
+		if (photo != null && photo.hasPhotoData()) {
+			String contentHash = photo.getContentHash() != null ? photo.getContentHash()
+					: ContentHash.sha256Hex(photo.getData());
+			append(key, photo.getId(), contentHash);
+		}
+		return ContentHash.sha256Hex(key.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static <T> void versions(StringBuilder key, List<T> rows, Function<T, Long> id,
+			Function<T, Long> version) {
+		if (rows == null) {
+			return;
+		}
+		for (T row : rows) {
+			append(key, id.apply(row), version.apply(row));
+		}
+	}
+
+	private static void append(StringBuilder key, Object... values) {
+		for (Object value : values) {
+			String text = String.valueOf(value);
+			// Length-prefixed so adjacent values cannot run into each other
+			key.append(text.length()).append(':').append(text);
+		}
+	}
+
+	@FunctionalInterface
+	public interface PdfRenderer {
+		void render(EmployeeDTO employee, OutputStream out) throws DocumentException, IOException;
+	}
+
+	/** Passes writes through and keeps a copy until it would exceed the limit. */
+	private static final class CapturingOutputStream extends FilterOutputStream {
+		private final int limit;
+		private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+		private CapturingOutputStream(OutputStream out, int limit) {
+			super(out);
+			this.limit = limit;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			if (keep(1)) {
+				copy.write(b);
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			if (keep(len)) {
+				copy.write(b, off, len);
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			// Closing is left to whoever opened the underlying stream
+			flush();
+		}
+
+		private boolean keep(int len) {
+			if (copy != null && copy.size() + len > limit) {
+				copy = null;
+			}
+			return copy != null;
+		}
+
+		private byte[] captured() {
+			return copy != null ? copy.toByteArray() : null;
+		}
+	}
+
+	private static final class CachedPdf {
+		private final String fingerprint;
+		private final byte[] content;
+
+		private CachedPdf(String fingerprint, byte[] content) {
+			this.fingerprint = fingerprint;
+			this.content = content;
+		}
+	}
+}
@@ -4,13 +4,22 @@ import com.example.employeemanagement.dto.*;
 import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.*;
 import com.itextpdf.text.pdf.draw.LineSeparator;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
+@Timed("app.service")
 public class PdfService {
 
 	private static final Font TITLE_FONT = new Font(Font.FontFamily.HELVETICA, 18, Font.BOLD);
@@ -25,42 +34,264 @@ public class PdfService {
 	private static final BaseColor HEADER_BG_COLOR = new BaseColor(220, 220, 220);
 	private static final BaseColor BORDER_COLOR = new BaseColor(200, 200, 200);
 
+	// Table cells use the font size as line height; padding matches createTableCell
+	private static final float NORMAL_LEADING = 10f;
+	private static final float CELL_PADDING = 5f;
+	private static final float CELL_PADDING_LEFT = 8f;
+	// iText's default cell padding, which the photo cell keeps
+	private static final float PHOTO_CELL_PADDING = 2f;
+
+	private final PdfRenderCache pdfRenderCache;
+	private final boolean templateEnabled;
+	private final LayoutTemplate photoTemplate;
+	private final LayoutTemplate placeholderTemplate;
+
+	public PdfService(PdfRenderCache pdfRenderCache,
+			@Value("${app.pdf.template-enabled:true}") boolean templateEnabled) {
+		this.pdfRenderCache = pdfRenderCache;
+		this.templateEnabled = templateEnabled;
+		this.photoTemplate = templateEnabled ? buildTemplate(true) : null;
+		this.placeholderTemplate = templateEnabled ? buildTemplate(false) : null;
+	}
+
+	/** Returns the employee's PDF, reusing the last rendering while nothing printed on it has changed. */
 	public byte[] generateEmployeePdf(EmployeeDTO employee) throws DocumentException {
 		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try {
+			generateEmployeePdf(employee, baos);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return baos.toByteArray();
+	}
+
+	/**
+	 * Writes the employee's PDF to {@code out} as iText produces it, without
+	 * holding the whole document in memory. The stream is left open.
+	 */
+	public void generateEmployeePdf(EmployeeDTO employee, OutputStream out) throws DocumentException, IOException {
+		pdfRenderCache.write(employee, out, this::renderEmployeePdf);
+	}
+
+	private void renderEmployeePdf(EmployeeDTO employee, OutputStream out) throws DocumentException, IOException {
+		if (templateEnabled) {
+			renderFromTemplate(employee, out);
+		} else {
+			renderFlow(employee, out);
+		}
+	}
+
+	/** Lays out every element of the document, including labels and headings, from scratch. */
+	private void renderFlow(EmployeeDTO employee, OutputStream out) throws DocumentException {
 		Document document = new Document(PageSize.A4, 36, 36, 36, 36);
 
 		try {
-			PdfWriter writer = PdfWriter.getInstance(document, baos);
+			PdfWriter writer = PdfWriter.getInstance(document, out);
+			// The caller owns the stream (servlet response, ZIP entry)
+			writer.setCloseStream(false);
 			document.open();
 
-			addDocumentHeader(document, writer, employee);
-			addPersonalInfoSection(document, employee);
-			addAddressSection(document, employee);
+			addDocumentHeader(document, writer, employee, null);
+			addPersonalInfoSection(document, employee, null);
+			addAddressSection(document, employee, null);
+			addListSections(document, employee);
+			addFooter(writer);
 
-			if (!employee.getEducationList().isEmpty()) {
-				addEducationSection(document, employee.getEducationList());
+		} finally {
+			if (document.isOpen()) {
+				document.close();
 			}
+		}
+	}
 
-			if (!employee.getCertifications().isEmpty()) {
-				addCertificationSection(document, employee.getCertifications());
-			}
+	/**
+	 * Draws the pre-rendered header, personal and address frame as a form
+	 * XObject and writes only this employee's values into its cells. The list
+	 * sections vary in length and are still laid out per document. An employee
+	 * with a value that does not fit its cell gets the flow layout instead,
+	 * which grows the cell rather than cutting the value short.
+	 */
+	private void renderFromTemplate(EmployeeDTO employee, OutputStream out) throws DocumentException, IOException {
+		Image photo = loadPhoto(employee);
+		LayoutTemplate template = photo != null ? photoTemplate : placeholderTemplate;
+		Map<String, String> values = headerValues(employee);
+		if (!fits(template, values)) {
+			renderFlow(employee, out);
+			return;
+		}
+		Document document = new Document(PageSize.A4, 36, 36, 36, 36);
+		// The writer closes the reader it imports from, so each document gets its own copy of the parsed frame
+		PdfReader frame = new PdfReader(template.frame);
+
+		try {
+			PdfWriter writer = PdfWriter.getInstance(document, out);
+			writer.setCloseStream(false);
+			document.open();
 
-			if (!employee.getSkills().isEmpty()) {
-				addSkillsSection(document, employee.getSkills());
+			PdfContentByte canvas = writer.getDirectContent();
+			canvas.addTemplate(writer.getImportedPage(frame, 1), 0, 0);
+			values.forEach((label, value) -> stamp(canvas, template.cells.get(label), value));
+			if (photo != null) {
+				stampPhoto(canvas, template.cells.get(LayoutTemplate.PHOTO), photo);
 			}
 
-			if (!employee.getExperiences().isEmpty()) {
-				addExperienceSection(document, employee.getExperiences());
+			// Reserve the frame's height so the list sections start below it
+			PdfPTable spacer = new PdfPTable(1);
+			spacer.setWidthPercentage(100);
+			PdfPCell spacerCell = new PdfPCell();
+			spacerCell.setBorder(Rectangle.NO_BORDER);
+			spacerCell.setFixedHeight(template.height);
+			spacer.addCell(spacerCell);
+			document.add(spacer);
+
+			addListSections(document, employee);
+			canvas.addTemplate(writer.getImportedPage(frame, 2), 0, 0);
+
+		} finally {
+			if (document.isOpen()) {
+				document.close();
 			}
+			frame.close();
+		}
+	}
 
-			addFooter(writer);
+	private void addListSections(Document document, EmployeeDTO employee) throws DocumentException {
+		if (!employee.getEducationList().isEmpty()) {
+			addEducationSection(document, employee.getEducationList());
+		}
 
+		if (!employee.getCertifications().isEmpty()) {
+			addCertificationSection(document, employee.getCertifications());
+		}
+
+		if (!employee.getSkills().isEmpty()) {
+			addSkillsSection(document, employee.getSkills());
+		}
+
+		if (!employee.getExperiences().isEmpty()) {
+			addExperienceSection(document, employee.getExperiences());
+		}
+	}
+
+	/**
+	 * Renders the static parts of the document once: page one holds the header,
+	 * personal and address sections with empty value cells, page two only the
+	 * footer. The position of every value cell is recorded for stamping.
+	 */
+	private LayoutTemplate buildTemplate(boolean withPhoto) {
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		Document document = new Document(PageSize.A4, 36, 36, 36, 36);
+		LayoutRecorder recorder = new LayoutRecorder(withPhoto);
+		float height;
+
+		try {
+			PdfWriter writer = PdfWriter.getInstance(document, content);
+			document.open();
+
+			EmployeeDTO blank = new EmployeeDTO();
+			blank.setEmployeeId(0L);
+			addDocumentHeader(document, writer, blank, recorder);
+			addPersonalInfoSection(document, blank, recorder);
+			addAddressSection(document, blank, recorder);
+			height = document.top() - writer.getVerticalPosition(true);
+
+			document.newPage();
+			writer.setPageEmpty(false);
+			addFooter(writer);
+		} catch (DocumentException e) {
+			throw new IllegalStateException("Failed to build the PDF layout template", e);
 		} finally {
 			if (document.isOpen()) {
 				document.close();
 			}
 		}
-		return baos.toByteArray();
+		try {
+			return new LayoutTemplate(new PdfReader(content.toByteArray()), recorder.cells, height);
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to read the PDF layout template", e);
+		}
+	}
+
+	/** The values written into the template's cells, keyed by the label of their row. */
+	private Map<String, String> headerValues(EmployeeDTO employee) {
+		Map<String, String> values = new LinkedHashMap<>();
+		values.put("Employee ID:", employee.getEmployeeId().toString());
+		values.put("Name:", employee.getFirstName() + " " + employee.getLastName());
+		values.put("Date of Birth:", employee.getDob() != null ? employee.getDob().format(DATE_FORMATTER) : "N/A");
+		values.put("Gender:", employee.getGender());
+		values.put("Email:", employee.getEmail());
+		values.put("Personal Email:", employee.getPersonalEmail());
+		values.put("Father's Name:", employee.getFatherName());
+		values.put("Mobile:", employee.getMobile());
+		values.put("Role:", employee.getRole() != null ? employee.getRole().name() : "N/A");
+		values.put("Present Address:", formatAddress(employee.getPresentStreet(), employee.getPresentCity(),
+				employee.getPresentState(), employee.getPresentZip()));
+		values.put("Permanent Address:", formatAddress(employee.getPermanentStreet(), employee.getPermanentCity(),
+				employee.getPermanentState(), employee.getPermanentZip()));
+		return values;
+	}
+
+	/** Whether every value has a row in its cell for each of its lines and no line is wider than the cell. */
+	private static boolean fits(LayoutTemplate template, Map<String, String> values) {
+		BaseFont baseFont = NORMAL_FONT.getCalculatedBaseFont(false);
+		for (Map.Entry<String, String> value : values.entrySet()) {
+			if (value.getValue() == null || value.getValue().isEmpty()) {
+				continue;
+			}
+			Rectangle cell = template.cells.get(value.getKey());
+			float width = cell.getWidth() - CELL_PADDING_LEFT - CELL_PADDING;
+			String[] lines = value.getValue().split("\n");
+			if (cell.getTop() - CELL_PADDING - lines.length * NORMAL_LEADING < cell.getBottom()) {
+				return false;
+			}
+			for (String line : lines) {
+				if (baseFont.getWidthPoint(line, NORMAL_FONT.getSize()) > width) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/** Writes one line per row of the cell; {@link #fits} has checked that they all have room. */
+	private void stamp(PdfContentByte canvas, Rectangle cell, String value) {
+		if (value == null || value.isEmpty()) {
+			return;
+		}
+
+		float baseline = cell.getTop() - CELL_PADDING;
+		for (String line : value.split("\n")) {
+			baseline -= NORMAL_LEADING;
+			ColumnText.showTextAligned(canvas, Element.ALIGN_LEFT, new Phrase(line, NORMAL_FONT),
+					cell.getLeft() + CELL_PADDING_LEFT, baseline, 0);
+		}
+	}
+
+	private void stampPhoto(PdfContentByte canvas, Rectangle cell, Image photo) throws DocumentException {
+		photo.scaleToFit(PHOTO_WIDTH, PHOTO_HEIGHT);
+		float x = cell.getLeft() + PHOTO_CELL_PADDING;
+		float y = cell.getTop() - PHOTO_CELL_PADDING - photo.getScaledHeight();
+		photo.setAbsolutePosition(x, y);
+		canvas.addImage(photo);
+
+		canvas.saveState();
+		canvas.setColorStroke(BaseColor.LIGHT_GRAY);
+		canvas.setLineWidth(1f);
+		canvas.rectangle(x, y, photo.getScaledWidth(), photo.getScaledHeight());
+		canvas.stroke();
+		canvas.restoreState();
+	}
+
+	/** Returns the decoded photo, or null when there is none or it cannot be read. */
+	private Image loadPhoto(EmployeeDTO employee) {
+		if (employee.getProfilePhoto() == null || !employee.getProfilePhoto().hasPhotoData()) {
+			return null;
+		}
+		try {
+			return Image.getInstance(employee.getProfilePhoto().getData());
+		} catch (Exception e) {
+			return null;
+		}
 	}
 
 	private void addExperienceSection(Document document, List<ExperienceDTO> experiences) throws DocumentException {
@@ -86,19 +317,20 @@ public class PdfService {
 		document.add(table);
 	}
 
-	private void addDocumentHeader(Document document, PdfWriter writer, EmployeeDTO employee) throws DocumentException {
+	private void addDocumentHeader(Document document, PdfWriter writer, EmployeeDTO employee, LayoutRecorder recorder)
+			throws DocumentException {
 		PdfPTable headerTable = new PdfPTable(2);
 		headerTable.setWidthPercentage(100);
 		headerTable.setWidths(new float[] { 1, 3 });
 		headerTable.setSpacingAfter(20f);
 
 		// Photo cell (left column)
-		PdfPCell photoCell = createPhotoCell(employee);
+		PdfPCell photoCell = createPhotoCell(employee, recorder);
 		photoCell.setPaddingRight(15f);
 		headerTable.addCell(photoCell);
 
 		// Info cell (right column)
-		PdfPCell infoCell = createInfoCell(employee);
+		PdfPCell infoCell = createInfoCell(employee, recorder);
 		infoCell.setPaddingLeft(15f);
 		headerTable.addCell(infoCell);
 
@@ -111,7 +343,7 @@ public class PdfService {
 		document.add(separator);
 	}
 
-	private PdfPCell createPhotoCell(EmployeeDTO employee) {
+	private PdfPCell createPhotoCell(EmployeeDTO employee, LayoutRecorder recorder) {
 		PdfPCell photoCell = new PdfPCell();
 		photoCell.setBorder(Rectangle.NO_BORDER);
 		photoCell.setHorizontalAlignment(Element.ALIGN_CENTER);
@@ -120,22 +352,28 @@ public class PdfService {
 		photoCell.setFixedHeight(PHOTO_HEIGHT + 25);
 
 		try {
-			if (employee.getProfilePhoto() != null && employee.getProfilePhoto().getData() != null
-					&& employee.getProfilePhoto().getData().length > 0) {
+			boolean hasPhoto = recorder != null ? recorder.withPhoto
+					: employee.getProfilePhoto() != null && employee.getProfilePhoto().hasPhotoData();
+			if (hasPhoto) {
 
 				// Create photo container table
 				PdfPTable photoTable = new PdfPTable(1);
 				photoTable.setWidthPercentage(100);
 
-				// Add photo
-				Image photo = Image.getInstance(employee.getProfilePhoto().getData());
-				photo.scaleToFit(PHOTO_WIDTH, PHOTO_HEIGHT);
-				photo.setBorder(Rectangle.BOX);
-				photo.setBorderWidth(1f);
-				photo.setBorderColor(BaseColor.LIGHT_GRAY);
-
 				PdfPCell imageCell = new PdfPCell();
-				imageCell.addElement(photo);
+				if (recorder != null) {
+					// The photo is stamped into this cell per employee
+					imageCell.setFixedHeight(PHOTO_HEIGHT + CELL_PADDING);
+					imageCell.setCellEvent(recorder.record(LayoutTemplate.PHOTO));
+				} else {
+					// Add photo
+					Image photo = Image.getInstance(employee.getProfilePhoto().getData());
+					photo.scaleToFit(PHOTO_WIDTH, PHOTO_HEIGHT);
+					photo.setBorder(Rectangle.BOX);
+					photo.setBorderWidth(1f);
+					photo.setBorderColor(BaseColor.LIGHT_GRAY);
+					imageCell.addElement(photo);
+				}
 				imageCell.setBorder(Rectangle.NO_BORDER);
 				imageCell.setHorizontalAlignment(Element.ALIGN_CENTER);
 				photoTable.addCell(imageCell);
@@ -198,7 +436,7 @@ public class PdfService {
 		cell.addElement(placeholder);
 	}
 
-	private PdfPCell createInfoCell(EmployeeDTO employee) {
+	private PdfPCell createInfoCell(EmployeeDTO employee, LayoutRecorder recorder) {
 		PdfPCell infoCell = new PdfPCell();
 		infoCell.setBorder(Rectangle.NO_BORDER);
 		infoCell.setHorizontalAlignment(Element.ALIGN_LEFT);
@@ -215,17 +453,18 @@ public class PdfService {
 		infoTable.setWidthPercentage(90);
 		infoTable.setHorizontalAlignment(Element.ALIGN_LEFT);
 
-		addTableRow(infoTable, "Employee ID:", employee.getEmployeeId().toString());
-		addTableRow(infoTable, "Name:", employee.getFirstName() + " " + employee.getLastName());
+		addTableRow(infoTable, "Employee ID:", employee.getEmployeeId().toString(), recorder, 1);
+		addTableRow(infoTable, "Name:", employee.getFirstName() + " " + employee.getLastName(), recorder, 1);
 		addTableRow(infoTable, "Date of Birth:",
-				employee.getDob() != null ? employee.getDob().format(DATE_FORMATTER) : "N/A");
+				employee.getDob() != null ? employee.getDob().format(DATE_FORMATTER) : "N/A", recorder, 1);
 
 		infoCell.addElement(infoTable);
 
 		return infoCell;
 	}
 
-	private void addPersonalInfoSection(Document document, EmployeeDTO employee) throws DocumentException {
+	private void addPersonalInfoSection(Document document, EmployeeDTO employee, LayoutRecorder recorder)
+			throws DocumentException {
 		Paragraph sectionHeader = new Paragraph("Personal Information", SECTION_FONT);
 		sectionHeader.setSpacingAfter(10f);
 		document.add(sectionHeader);
@@ -235,16 +474,17 @@ public class PdfService {
 		table.setSpacingBefore(5f);
 		table.setSpacingAfter(15f);
 
-		addTableRow(table, "Gender:", employee.getGender());
-		addTableRow(table, "Email:", employee.getEmail());
-		addTableRow(table, "Personal Email:", employee.getPersonalEmail());
-		addTableRow(table, "Father's Name:", employee.getFatherName());
-		addTableRow(table, "Mobile:", employee.getMobile());
-		addTableRow(table, "Role:", employee.getRole() != null ? employee.getRole().name() : "N/A");
+		addTableRow(table, "Gender:", employee.getGender(), recorder, 1);
+		addTableRow(table, "Email:", employee.getEmail(), recorder, 1);
+		addTableRow(table, "Personal Email:", employee.getPersonalEmail(), recorder, 1);
+		addTableRow(table, "Father's Name:", employee.getFatherName(), recorder, 1);
+		addTableRow(table, "Mobile:", employee.getMobile(), recorder, 1);
+		addTableRow(table, "Role:", employee.getRole() != null ? employee.getRole().name() : "N/A", recorder, 1);
 		document.add(table);
 	}
 
-	private void addAddressSection(Document document, EmployeeDTO employee) throws DocumentException {
+	private void addAddressSection(Document document, EmployeeDTO employee, LayoutRecorder recorder)
+			throws DocumentException {
 		Paragraph sectionHeader = new Paragraph("Address Information", SECTION_FONT);
 		sectionHeader.setSpacingAfter(10f);
 		document.add(sectionHeader);
@@ -256,11 +496,11 @@ public class PdfService {
 
 		// Present Address
 		addTableRow(table, "Present Address:", formatAddress(employee.getPresentStreet(), employee.getPresentCity(),
-				employee.getPresentState(), employee.getPresentZip()));
+				employee.getPresentState(), employee.getPresentZip()), recorder, 2);
 
 		// Permanent Address
 		addTableRow(table, "Permanent Address:", formatAddress(employee.getPermanentStreet(),
-				employee.getPermanentCity(), employee.getPermanentState(), employee.getPermanentZip()));
+				employee.getPermanentCity(), employee.getPermanentState(), employee.getPermanentZip()), recorder, 2);
 
 		document.add(table);
 	}
@@ -365,9 +605,20 @@ public class PdfService {
 		footer.writeSelectedRows(0, -1, 36, 30, writer.getDirectContent());
 	}
 
-	private void addTableRow(PdfPTable table, String label, String value) {
+	/**
+	 * Adds a label and its value. While a template is being recorded the value
+	 * cell stays empty, sized for {@code lines} lines, and its position is kept.
+	 */
+	private void addTableRow(PdfPTable table, String label, String value, LayoutRecorder recorder, int lines) {
 		addTableCell(table, label, true);
-		addTableCell(table, value);
+		if (recorder == null) {
+			addTableCell(table, value);
+			return;
+		}
+		PdfPCell cell = createTableCell("", false);
+		cell.setMinimumHeight(lines * NORMAL_LEADING + 2 * CELL_PADDING);
+		cell.setCellEvent(recorder.record(label));
+		table.addCell(cell);
 	}
 
 	private void addTableCell(PdfPTable table, String text) {
@@ -375,12 +626,16 @@ public class PdfService {
 	}
 
 	private void addTableCell(PdfPTable table, String text, boolean isHeader) {
+		table.addCell(createTableCell(text, isHeader));
+	}
+
+	private PdfPCell createTableCell(String text, boolean isHeader) {
 		PdfPCell cell = new PdfPCell(new Phrase(text, isHeader ? HEADER_FONT : NORMAL_FONT));
 		cell.setBorderWidth(0.5f);
 		cell.setBorderColor(BORDER_COLOR);
-		cell.setPadding(5f);
-		cell.setPaddingLeft(8f);
-		table.addCell(cell);
+		cell.setPadding(CELL_PADDING);
+		cell.setPaddingLeft(CELL_PADDING_LEFT);
+		return cell;
 	}
 
 	private void addTableHeaderCell(PdfPTable table, String text) {
@@ -392,4 +647,33 @@ public class PdfService {
 		cell.setHorizontalAlignment(Element.ALIGN_CENTER);
 		table.addCell(cell);
 	}
+
+	/** Pre-rendered static layout and where each value cell ended up on the page. */
+	private static final class LayoutTemplate {
+		private static final String PHOTO = "photo";
+
+		private final PdfReader frame;
+		private final Map<String, Rectangle> cells;
+		private final float height;
+
+		private LayoutTemplate(PdfReader frame, Map<String, Rectangle> cells, float height) {
+			this.frame = frame;
+			this.cells = cells;
+			this.height = height;
+		}
+	}
+
+	/** Collects the absolute position of value cells while a template is laid out. */
+	private static final class LayoutRecorder {
+		private final boolean withPhoto;
+		private final Map<String, Rectangle> cells = new HashMap<>();
+
+		private LayoutRecorder(boolean withPhoto) {
+			this.withPhoto = withPhoto;
+		}
+
+		private PdfPCellEvent record(String key) {
+			return (cell, position, canvases) -> cells.put(key, new Rectangle(position));
+		}
+	}
 }
@@ -0,0 +1,78 @@
+package com.example.employeemanagement.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Generates photo renditions off the request thread once the upload has
+ * committed. The pool and its queue are bounded; when they are full the request
+ * is dropped and picked up again the next time a rendition is found missing.
+ */
+@Component
+public class PhotoRenditionListener {
+
+	private static final Logger logger = LoggerFactory.getLogger(PhotoRenditionListener.class);
+
+	private final PhotoRenditionService photoRenditionService;
+	private final ThreadPoolTaskExecutor executor;
+	private final Map<Long, AtomicBoolean> inFlight = new ConcurrentHashMap<>();
+
+	public PhotoRenditionListener(PhotoRenditionService photoRenditionService,
+			@Value("${app.photo-renditions.threads:2}") int threads,
+			@Value("${app.photo-renditions.queue-capacity:50}") int queueCapacity) {
+		this.photoRenditionService = photoRenditionService;
+		this.executor = new ThreadPoolTaskExecutor();
+		this.executor.setCorePoolSize(threads);
+		this.executor.setMaxPoolSize(threads);
+		this.executor.setQueueCapacity(queueCapacity);
+		this.executor.setThreadNamePrefix("photo-rendition-");
+		this.executor.initialize();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onRenditionsRequested(PhotoRenditionsRequestedEvent event) {
+		Long employeeId = event.getEmployeeId();
+		// Several list views may miss the same rendition at once; generate it once, but run
+		// again if the photo was replaced while the previous run was decoding the old one
+		AtomicBoolean rerun = new AtomicBoolean();
+		AtomicBoolean running = inFlight.putIfAbsent(employeeId, rerun);
+		if (running != null) {
+			if (event.isPhotoChanged()) {
+				running.set(true);
+			}
+			return;
+		}
+		try {
+			executor.execute(() -> {
+				try {
+					do {
+						rerun.set(false);
+						photoRenditionService.generateRenditions(employeeId);
+					} while (rerun.get());
+				} catch (RuntimeException e) {
+					logger.warn("Could not generate photo renditions for employee {}", employeeId, e);
+				} finally {
+					inFlight.remove(employeeId);
+				}
+			});
+		} catch (TaskRejectedException e) {
+			inFlight.remove(employeeId);
+			logger.warn("Photo rendition queue is full; skipping employee {} for now", employeeId);
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdown();
+	}
+}
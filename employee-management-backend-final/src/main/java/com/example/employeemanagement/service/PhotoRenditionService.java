@@ -0,0 +1,149 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.ProfilePhotoDTO;
+import com.example.employeemanagement.model.PhotoRendition;
+import com.example.employeemanagement.model.ProfilePhoto;
+import com.example.employeemanagement.model.ProfilePhotoRendition;
+import com.example.employeemanagement.repository.ProfilePhotoRenditionRepository;
+import com.example.employeemanagement.repository.ProfilePhotoRepository;
+import com.example.employeemanagement.storage.ContentHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Service
+public class PhotoRenditionService {
+
+	private static final Logger logger = LoggerFactory.getLogger(PhotoRenditionService.class);
+
+	private static final int LARGEST_TARGET = Arrays.stream(PhotoRendition.values())
+			.mapToInt(r -> Math.max(r.getMaxWidth(), r.getMaxHeight())).max().orElse(1);
+
+	private final ProfilePhotoRepository profilePhotoRepository;
+	private final ProfilePhotoRenditionRepository renditionRepository;
+	private final ProfilePhotoService profilePhotoService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TransactionTemplate transactionTemplate;
+
+	public PhotoRenditionService(ProfilePhotoRepository profilePhotoRepository,
+			ProfilePhotoRenditionRepository renditionRepository, ProfilePhotoService profilePhotoService,
+			ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
+		this.profilePhotoRepository = profilePhotoRepository;
+		this.renditionRepository = renditionRepository;
+		this.profilePhotoService = profilePhotoService;
+		this.eventPublisher = eventPublisher;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * Decodes the employee's current photo once and replaces all of its renditions.
+	 * Decoding and scaling run without a transaction; one is only opened to lock the
+	 * photo and write the result. Content that cannot be decoded marks the photo so
+	 * later misses do not queue it again.
+	 */
+	public void generateRenditions(Long employeeId) {
+		ProfilePhoto photo = profilePhotoRepository.findByEmployee_EmployeeId(employeeId).orElse(null);
+		if (photo == null || Boolean.TRUE.equals(photo.getRenditionsFailed())) {
+			return;
+		}
+
+		List<ProfilePhotoRendition> renditions;
+		try {
+			renditions = scale(photo);
+			if (renditions == null) {
+				logger.warn("Profile photo {} is not in a readable image format", photo.getId());
+			}
+		} catch (IOException e) {
+			logger.warn("Could not decode profile photo {}", photo.getId(), e);
+			renditions = null;
+		}
+
+		List<ProfilePhotoRendition> result = renditions;
+		transactionTemplate.executeWithoutResult(status -> {
+			// The photo may have been replaced or deleted while it was decoded; a replacement queues its own run.
+			// Holding the lock keeps it in place until the renditions commit
+			ProfilePhoto locked = profilePhotoRepository.findLockedById(photo.getId()).orElse(null);
+			if (locked == null || !Objects.equals(locked.getContentHash(), photo.getContentHash())) {
+				return;
+			}
+			if (result == null) {
+				profilePhotoRepository.markRenditionsFailed(locked.getId());
+				return;
+			}
+			renditionRepository.deleteByPhotoId(locked.getId());
+			for (ProfilePhotoRendition rendition : result) {
+				rendition.setPhoto(locked);
+				renditionRepository.save(rendition);
+			}
+		});
+	}
+
+	/** Every rendition of the photo, not yet attached to it; null when the content is not an image. */
+	private List<ProfilePhotoRendition> scale(ProfilePhoto photo) throws IOException {
+		BufferedImage original = PhotoScaler.decode(profilePhotoService.readContent(photo), LARGEST_TARGET);
+		if (original == null) {
+			return null;
+		}
+		List<ProfilePhotoRendition> renditions = new ArrayList<>();
+		for (PhotoRendition rendition : PhotoRendition.values()) {
+			BufferedImage scaled = PhotoScaler.scale(original, rendition);
+			byte[] jpeg = PhotoScaler.encodeJpeg(scaled);
+
+			ProfilePhotoRendition entity = new ProfilePhotoRendition();
+			entity.setRendition(rendition);
+			entity.setFileType(PhotoScaler.CONTENT_TYPE);
+			entity.setFileSize((long) jpeg.length);
+			entity.setWidth(scaled.getWidth());
+			entity.setHeight(scaled.getHeight());
+			entity.setContentHash(ContentHash.sha256Hex(jpeg));
+			entity.setData(jpeg);
+			renditions.add(entity);
+		}
+		return renditions;
+	}
+
+	/**
+	 * Returns the stored rendition. A miss (for example a photo uploaded before
+	 * renditions existed) queues generation so later requests find it, unless
+	 * the photo is already known not to decode.
+	 */
+	@Transactional(readOnly = true)
+	public Optional<ProfilePhotoRendition> findRendition(Long employeeId, PhotoRendition rendition) {
+		Optional<ProfilePhotoRendition> found = renditionRepository
+				.findByPhoto_Employee_EmployeeIdAndRendition(employeeId, rendition);
+		if (found.isEmpty() && !profilePhotoRepository.existsByEmployee_EmployeeIdAndRenditionsFailedTrue(employeeId)) {
+			eventPublisher.publishEvent(new PhotoRenditionsRequestedEvent(employeeId, false));
+		}
+		return found;
+	}
+
+	/** Puts the PDF-sized rendition into the DTO, or the original until the rendition exists. */
+	@Transactional(readOnly = true)
+	public void attachPdfPhoto(EmployeeDTO employee) {
+		if (employee.getProfilePhoto() == null) {
+			return;
+		}
+		Optional<ProfilePhotoRendition> rendition = findRendition(employee.getEmployeeId(), PhotoRendition.PDF);
+		if (rendition.isPresent()) {
+			employee.getProfilePhoto().setData(rendition.get().getData());
+			employee.getProfilePhoto().setContentHash(rendition.get().getContentHash());
+		} else if (!employee.getProfilePhoto().hasPhotoData()) {
+			ProfilePhotoDTO original = profilePhotoService.getProfilePhotoWithContent(employee.getEmployeeId());
+			employee.getProfilePhoto().setData(original != null ? original.getData() : null);
+			employee.getProfilePhoto().setContentHash(original != null ? original.getContentHash() : null);
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package com.example.employeemanagement.service;
+
+/**
+ * Published when an employee's photo changed or one of its renditions was
+ * found missing. Handled after the publishing transaction commits.
+ */
+public class PhotoRenditionsRequestedEvent {
+
+	private final Long employeeId;
+	private final boolean photoChanged;
+
+	public PhotoRenditionsRequestedEvent(Long employeeId, boolean photoChanged) {
+		this.employeeId = employeeId;
+		this.photoChanged = photoChanged;
+	}
+
+	public Long getEmployeeId() {
+		return employeeId;
+	}
+
+	/** True for a new or replaced photo, false when a rendition was only found missing. */
+	public boolean isPhotoChanged() {
+		return photoChanged;
+	}
+}
@@ -0,0 +1,101 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.PhotoRendition;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Decodes an uploaded photo once and produces JPEG renditions from it. Large
+ * originals are subsampled while decoding so a multi-megapixel JPEG is never
+ * fully expanded just to make a 256px image.
+ */
+final class PhotoScaler {
+
+	static final String CONTENT_TYPE = "image/jpeg";
+	private static final float JPEG_QUALITY = 0.85f;
+
+	private PhotoScaler() {
+	}
+
+	/** Returns the decoded image, or {@code null} when the format is not readable. */
+	static BufferedImage decode(byte[] content, int largestTarget) throws IOException {
+		try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+			Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+			if (!readers.hasNext()) {
+				return null;
+			}
+			ImageReader reader = readers.next();
+			try {
+				reader.setInput(input, true, true);
+				int shortestSide = Math.min(reader.getWidth(0), reader.getHeight(0));
+				// Keep at least twice the largest target so the final downscale stays smooth
+				int subsampling = Math.max(1, shortestSide / (2 * largestTarget));
+				ImageReadParam param = reader.getDefaultReadParam();
+				param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+				return reader.read(0, param);
+			} finally {
+				reader.dispose();
+			}
+		}
+	}
+
+	static BufferedImage scale(BufferedImage source, PhotoRendition rendition) {
+		double ratio = Math.min(1d, Math.min((double) rendition.getMaxWidth() / source.getWidth(),
+				(double) rendition.getMaxHeight() / source.getHeight()));
+		int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+		int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+		// Halve in steps first; a single large bilinear step drops detail
+		BufferedImage current = source;
+		while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+			current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+		}
+		return draw(current, width, height);
+	}
+
+	static byte[] encodeJpeg(BufferedImage image) throws IOException {
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+			writer.setOutput(output);
+			ImageWriteParam param = writer.getDefaultWriteParam();
+			param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+			param.setCompressionQuality(JPEG_QUALITY);
+			writer.write(null, new IIOImage(image, null, null), param);
+		} finally {
+			writer.dispose();
+		}
+		return out.toByteArray();
+	}
+
+	private static BufferedImage draw(BufferedImage source, int width, int height) {
+		// JPEG has no alpha channel, so transparent areas are flattened onto white
+		BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = target.createGraphics();
+		try {
+			graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			graphics.setColor(Color.WHITE);
+			graphics.fillRect(0, 0, width, height);
+			graphics.drawImage(source, 0, 0, width, height, null);
+		} finally {
+			graphics.dispose();
+		}
+		return target;
+	}
+}
@@ -1,18 +1,31 @@
 package com.example.employeemanagement.service;
 
+import com.example.employeemanagement.dto.FileMetadataDTO;
 import com.example.employeemanagement.dto.ProfilePhotoDTO;
 import com.example.employeemanagement.exception.ResourceNotFoundException;
 import com.example.employeemanagement.model.Employee;
 import com.example.employeemanagement.model.ProfilePhoto;
+import com.example.employeemanagement.repository.BinaryContentRepository;
 import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.ProfilePhotoRenditionRepository;
 import com.example.employeemanagement.repository.ProfilePhotoRepository;
+import com.example.employeemanagement.storage.BlobStore;
+import com.example.employeemanagement.storage.OrphanBlobCleaner;
+import com.example.employeemanagement.storage.StoredBlob;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -21,11 +34,26 @@ public class ProfilePhotoService {
 
 	private final ProfilePhotoRepository profilePhotoRepository;
 	private final EmployeeRepository employeeRepository;
+	private final BinaryContentRepository binaryContentRepository;
+	private final BlobStore blobStore;
+	private final OrphanBlobCleaner orphanBlobCleaner;
+	private final ProfilePhotoRenditionRepository renditionRepository;
+	private final ApplicationEventPublisher eventPublisher;
+	private final PdfRenderCache pdfRenderCache;
 
 	@Autowired
-	public ProfilePhotoService(ProfilePhotoRepository profilePhotoRepository, EmployeeRepository employeeRepository) {
+	public ProfilePhotoService(ProfilePhotoRepository profilePhotoRepository, EmployeeRepository employeeRepository,
+			BinaryContentRepository binaryContentRepository, BlobStore blobStore,
+			OrphanBlobCleaner orphanBlobCleaner, ProfilePhotoRenditionRepository renditionRepository,
+			ApplicationEventPublisher eventPublisher, PdfRenderCache pdfRenderCache) {
 		this.profilePhotoRepository = profilePhotoRepository;
 		this.employeeRepository = employeeRepository;
+		this.binaryContentRepository = binaryContentRepository;
+		this.blobStore = blobStore;
+		this.orphanBlobCleaner = orphanBlobCleaner;
+		this.renditionRepository = renditionRepository;
+		this.eventPublisher = eventPublisher;
+		this.pdfRenderCache = pdfRenderCache;
 	}
 
 	@Transactional
@@ -46,8 +74,10 @@ public class ProfilePhotoService {
 	    profilePhoto.setFileName(StringUtils.cleanPath(file.getOriginalFilename()));
 	    profilePhoto.setFileType(file.getContentType());
 	    profilePhoto.setFileSize(file.getSize());
-	    profilePhoto.setData(file.getBytes());
 	    profilePhoto.setEmployee(employee);
+	    try (InputStream content = file.getInputStream()) {
+	        storeContent(profilePhoto, content);
+	    }
 
 	    ProfilePhoto savedPhoto = profilePhotoRepository.save(profilePhoto);
 	    return convertToDTO(savedPhoto);
@@ -62,9 +92,89 @@ public class ProfilePhotoService {
 		return convertToDTO(profilePhoto);
 	}
 
+	/** The photo with its bytes, for callers that embed it; the other DTOs leave the content unloaded. */
+	@Transactional(readOnly = true)
+	public ProfilePhotoDTO getProfilePhotoWithContent(Long employeeId) {
+		ProfilePhoto profilePhoto = profilePhotoRepository.findByEmployee_EmployeeId(employeeId).orElse(null);
+		if (profilePhoto == null) {
+			return null;
+		}
+		ProfilePhotoDTO dto = convertToDTO(profilePhoto);
+		dto.setData(readContent(profilePhoto));
+		return dto;
+	}
+
+	@Transactional(readOnly = true)
+	public FileMetadataDTO getProfilePhotoMetadata(Long employeeId) {
+		FileMetadataDTO metadata = profilePhotoRepository.findMetadataByEmployeeId(employeeId).orElse(null);
+		if (metadata != null && metadata.getStorageKey() == null) {
+			// Sized by its content, as for documents: an inline row's file_size may be whatever the client sent
+			metadata.setFileSize(profilePhotoRepository.findInlineContentLength(employeeId).orElse(0L));
+		}
+		return metadata;
+	}
+
+	@Transactional(readOnly = true)
+	public long streamProfilePhoto(FileMetadataDTO metadata, OutputStream out) throws IOException {
+		if (metadata.getStorageKey() != null) {
+			return blobStore.copyTo(metadata.getStorageKey(), out);
+		}
+		return binaryContentRepository.copyProfilePhotoData(metadata.getEmployeeId(), out);
+	}
+
+	@Transactional(readOnly = true)
+	public long streamProfilePhoto(FileMetadataDTO metadata, OutputStream out, long start, long length)
+			throws IOException {
+		if (metadata.getStorageKey() != null) {
+			return blobStore.copyRange(metadata.getStorageKey(), out, start, length);
+		}
+		return binaryContentRepository.copyProfilePhotoData(metadata.getEmployeeId(), out, start, length);
+	}
+
+	/** The photo's file when the blob store keeps it locally; inline rows have none. */
+	@Transactional(propagation = Propagation.SUPPORTS)
+	public Optional<Path> localContentPath(FileMetadataDTO metadata) {
+		return metadata.getStorageKey() != null ? blobStore.localPath(metadata.getStorageKey()) : Optional.empty();
+	}
+
+	/**
+	 * Writes the content to the blob store and points the photo at it, leaving the inline column empty.
+	 * Renditions of the previous content are dropped and regenerated once the transaction commits.
+	 */
+	public void storeContent(ProfilePhoto profilePhoto, InputStream content) throws IOException {
+		StoredBlob blob = blobStore.put(content);
+		profilePhoto.setStorageKey(blob.getKey());
+		profilePhoto.setContentHash(blob.getContentHash());
+		profilePhoto.setFileSize(blob.getSize());
+		profilePhoto.setData(new byte[0]);
+		profilePhoto.setRenditionsFailed(null);
+
+		if (profilePhoto.getId() != null) {
+			renditionRepository.deleteByPhotoId(profilePhoto.getId());
+		}
+		eventPublisher.publishEvent(new PhotoRenditionsRequestedEvent(profilePhoto.getEmployee().getEmployeeId(), true));
+		pdfRenderCache.invalidate(profilePhoto.getEmployee().getEmployeeId());
+	}
+
+	/** Returns the photo bytes, from the blob store or, for rows not yet migrated, the inline column. */
+	public byte[] readContent(ProfilePhoto profilePhoto) {
+		if (profilePhoto.getStorageKey() == null) {
+			return profilePhoto.getData();
+		}
+		try {
+			return blobStore.read(profilePhoto.getStorageKey());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
 	@Transactional
 	public void deleteProfilePhoto(Long employeeId) {
+		Optional<String> storageKey = profilePhotoRepository.findMetadataByEmployeeId(employeeId)
+				.map(FileMetadataDTO::getStorageKey);
 		profilePhotoRepository.deleteByEmployeeId(employeeId);
+		storageKey.ifPresent(key -> orphanBlobCleaner.deleteIfUnreferencedAfterCommit(List.of(key)));
+		pdfRenderCache.invalidate(employeeId);
 	}
 
 	private ProfilePhotoDTO convertToDTO(ProfilePhoto profilePhoto) {
@@ -73,7 +183,7 @@ public class ProfilePhotoService {
 		dto.setFileName(profilePhoto.getFileName());
 		dto.setFileType(profilePhoto.getFileType());
 		dto.setFileSize(profilePhoto.getFileSize());
-		dto.setData(profilePhoto.getData());
+		dto.setContentHash(profilePhoto.getContentHash());
 		dto.setEmployeeId(profilePhoto.getEmployee().getEmployeeId());
 		return dto;
 	}
@@ -3,18 +3,17 @@ package com.example.employeemanagement.service;
 
 import com.example.employeemanagement.dto.ProjectDTO;
 import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.mapper.ProjectMapper;
 import com.example.employeemanagement.model.Employee;
 import com.example.employeemanagement.model.Project;
 import com.example.employeemanagement.model.Role;
 import com.example.employeemanagement.repository.ProjectRepository;
 import com.example.employeemanagement.repository.EmployeeRepository;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -22,14 +21,14 @@ public class ProjectServiceImpl implements ProjectService {
 
 	private final ProjectRepository projectRepository;
 	private final EmployeeRepository employeeRepository;
-	private final ModelMapper modelMapper;
+	private final ProjectMapper projectMapper;
 
 	@Autowired
 	public ProjectServiceImpl(ProjectRepository projectRepository, EmployeeRepository employeeRepository,
-			ModelMapper modelMapper) {
+			ProjectMapper projectMapper) {
 		this.projectRepository = projectRepository;
 		this.employeeRepository = employeeRepository;
-		this.modelMapper = modelMapper;
+		this.projectMapper = projectMapper;
 	}
 
 	@Override
@@ -78,15 +77,16 @@ public class ProjectServiceImpl implements ProjectService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<ProjectDTO> getAllProjects() {
-		return projectRepository.findAll().stream().map(this::convertToDTO).collect(Collectors.toList());
+		return projectRepository.findAllSummaries();
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public ProjectDTO getProjectById(Long id) {
-		Project project = projectRepository.findById(id)
+		return projectRepository.findSummaryById(id)
 				.orElseThrow(() -> new ResourceNotFoundException("Project not found"));
-		return convertToDTO(project);
 	}
 
 	@Override
@@ -114,17 +114,6 @@ public class ProjectServiceImpl implements ProjectService {
 	}
 
 	private ProjectDTO convertToDTO(Project project) {
-		ProjectDTO dto = new ProjectDTO();
-		dto.setId(project.getId());
-		dto.setName(project.getName());
-		dto.setTeamsCount(project.getTeams().size());
-
-		if (project.getSeniorProjectManager() != null) {
-			dto.setSeniorProjectManagerId(project.getSeniorProjectManager().getEmployeeId());
-			dto.setSeniorProjectManagerName(project.getSeniorProjectManager().getFirstName() + " "
-					+ project.getSeniorProjectManager().getLastName());
-		}
-
-		return dto;
+		return projectMapper.toDto(project);
 	}
 }
@@ -3,65 +3,79 @@ package com.example.employeemanagement.service;
 import com.example.employeemanagement.dto.EmployeeDTO;
 import com.example.employeemanagement.dto.LeaveDTO;
 import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.model.Employee;
 import com.example.employeemanagement.repository.EmployeeRepository;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class SecurityService {
 
+    private static final String ROLES_CLAIM = "https://api.employeemanagement.com/roles";
+    private static final String CALLER_ATTRIBUTE = SecurityService.class.getName() + ".caller";
+
     private final EmployeeService employeeService;
     private final EmployeeRepository employeeRepository;
     private final LeaveService leaveService;
+    private final CallerEmployeeIdCache callerEmployeeIdCache;
 
-    public SecurityService(EmployeeService employeeService, 
+    public SecurityService(EmployeeService employeeService,
                          EmployeeRepository employeeRepository,
-                         LeaveService leaveService) {
+                         LeaveService leaveService,
+                         CallerEmployeeIdCache callerEmployeeIdCache) {
         this.employeeService = employeeService;
         this.employeeRepository = employeeRepository;
         this.leaveService = leaveService;
+        this.callerEmployeeIdCache = callerEmployeeIdCache;
     }
 
-    public boolean isAdmin() {
+    /**
+     * The caller behind the current authentication, resolved once and kept on the
+     * request so repeated checks do not read the token again. Null when nobody is
+     * authenticated.
+     */
+    public CallerIdentity currentCaller() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
-            List<String> roles = jwt.getClaimAsStringList("https://api.employeemanagement.com/roles");
-            return roles != null && roles.contains("admin");
+        if (authentication == null) {
+            return null;
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null
+                && request.getAttribute(CALLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof CallerIdentity caller
+                && caller.getAuthentication() == authentication) {
+            return caller;
+        }
+        CallerIdentity caller = resolveCaller(authentication);
+        if (request != null) {
+            request.setAttribute(CALLER_ATTRIBUTE, caller, RequestAttributes.SCOPE_REQUEST);
         }
-        return authentication != null && authentication.getAuthorities().stream()
-                .anyMatch(auth -> auth.getAuthority().equals("ROLE_admin"));
+        return caller;
+    }
+
+    public boolean isAdmin() {
+        CallerIdentity caller = currentCaller();
+        return caller != null && caller.isAdmin();
     }
 
     public String getUserEmailFromJwt(Jwt jwt) {
-        if (jwt == null) {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.getPrincipal() instanceof Jwt) {
-                jwt = (Jwt) authentication.getPrincipal();
-            } else {
+        CallerIdentity caller = currentCaller();
+        if (jwt == null || (caller != null && caller.getJwt() == jwt)) {
+            if (caller == null || caller.getJwt() == null) {
                 throw new AccessDeniedException("No authentication information available");
             }
+            return requireEmail(caller.getEmail());
         }
-
-        String userEmail = jwt.getClaimAsString("email");
-        if (userEmail == null) {
-            userEmail = jwt.getClaimAsString("https://api.employeemanagement.com/user_email");
-        }
-        if (userEmail == null) {
-            String subject = jwt.getSubject();
-            if (subject != null && subject.contains("@")) {
-                userEmail = subject;
-            } else if (subject != null && subject.startsWith("auth0|")) {
-                userEmail = subject.substring(subject.indexOf("|") + 1);
-            } else {
-                throw new AccessDeniedException("Unable to identify user - no email available in token");
-            }
-        }
-        return userEmail;
+        return requireEmail(emailFrom(jwt));
     }
 
     public void validateEmployeeAccess(Long employeeId, Jwt jwt) {
@@ -69,12 +83,8 @@ public class SecurityService {
             return;
         }
 
-        String userEmail = getUserEmailFromJwt(jwt);
         EmployeeDTO employee = employeeService.getEmployeeById(employeeId);
-
-        if (!userEmail.equals(employee.getEmail()) && !userEmail.equals(employee.getPersonalEmail())) {
-            throw new AccessDeniedException("You can only access your own employee record.");
-        }
+        requireOwnRecord(employee, getUserEmailFromJwt(jwt));
     }
 
     public void validateEmployeeAccess(EmployeeDTO employee, Jwt jwt) {
@@ -82,28 +92,100 @@ public class SecurityService {
             return;
         }
 
-        String userEmail = getUserEmailFromJwt(jwt);
-        if (!userEmail.equals(employee.getEmail()) && !userEmail.equals(employee.getPersonalEmail())) {
+        requireOwnRecord(employee, getUserEmailFromJwt(jwt));
+    }
+
+    // Matched the way the email lookup matches, so a token email differing only in case is still the owner
+    private void requireOwnRecord(EmployeeDTO employee, String userEmail) {
+        String email = Employee.normalizeEmail(userEmail);
+        if (!email.equals(Employee.normalizeEmail(employee.getEmail()))
+                && !email.equals(Employee.normalizeEmail(employee.getPersonalEmail()))) {
             throw new AccessDeniedException("You can only access your own employee record.");
         }
     }
 
+    /**
+     * The employee the token belongs to. Looked up by email at most once per
+     * request, and answered from {@link CallerEmployeeIdCache} while the subject's
+     * entry is fresh.
+     */
     public Long getEmployeeIdFromToken(Jwt jwt) {
-        String userEmail = getUserEmailFromJwt(jwt);
-        return employeeRepository.findByEmail(userEmail)
-                .or(() -> employeeRepository.findByPersonalEmail(userEmail))
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found for email: " + userEmail))
-                .getEmployeeId();
+        CallerIdentity caller = currentCaller();
+        if (jwt == null || (caller != null && caller.getJwt() == jwt)) {
+            String userEmail = getUserEmailFromJwt(jwt);
+            if (caller.getEmployeeId() == null) {
+                caller.setEmployeeId(resolveEmployeeId(caller.getSubject(), userEmail));
+            }
+            return caller.getEmployeeId();
+        }
+        return resolveEmployeeId(jwt.getSubject(), getUserEmailFromJwt(jwt));
     }
 
+    /**
+     * Whether the caller may act on the leave, answered with one exists query on
+     * top of the (usually cached) employee id. A leave that does not exist is
+     * reported the same as someone else's.
+     */
     public boolean hasLeaveAccess(Long leaveId, Jwt jwt) {
         if (isAdmin()) {
             return true;
         }
-        
-        LeaveDTO leave = leaveService.getLeaveById(leaveId);
-        Long currentEmployeeId = getEmployeeIdFromToken(jwt);
-        
-        return currentEmployeeId.equals(leave.getEmployeeId());
+        return leaveService.isLeaveOwnedBy(leaveId, getEmployeeIdFromToken(jwt));
+    }
+
+    /** For a leave the request has already loaded: compares owners without another query. */
+    public boolean hasLeaveAccess(LeaveDTO leave, Jwt jwt) {
+        if (isAdmin()) {
+            return true;
+        }
+        return getEmployeeIdFromToken(jwt).equals(leave.getEmployeeId());
+    }
+
+    private Long resolveEmployeeId(String subject, String userEmail) {
+        // The subject is stable for a user across tokens; fall back to the email for tokens without one
+        String key = subject != null ? "sub:" + subject : "email:" + userEmail;
+        Long employeeId = callerEmployeeIdCache.get(key, () -> employeeRepository
+                .findIdByNormalizedEmail(Employee.normalizeEmail(userEmail)).orElse(null));
+        if (employeeId == null) {
+            throw new ResourceNotFoundException("Employee not found for email: " + userEmail);
+        }
+        return employeeId;
+    }
+
+    private static CallerIdentity resolveCaller(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof Jwt jwt) {
+            List<String> roles = jwt.getClaimAsStringList(ROLES_CLAIM);
+            return new CallerIdentity(authentication, jwt, jwt.getSubject(), emailFrom(jwt),
+                    roles != null ? Set.copyOf(roles) : Set.of());
+        }
+        Set<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority != null && authority.startsWith("ROLE_"))
+                .map(authority -> authority.substring("ROLE_".length()))
+                .collect(Collectors.toUnmodifiableSet());
+        return new CallerIdentity(authentication, null, authentication.getName(), null, roles);
+    }
+
+    private static String emailFrom(Jwt jwt) {
+        String userEmail = jwt.getClaimAsString("email");
+        if (userEmail == null) {
+            userEmail = jwt.getClaimAsString("https://api.employeemanagement.com/user_email");
+        }
+        if (userEmail == null) {
+            String subject = jwt.getSubject();
+            if (subject != null && subject.contains("@")) {
+                userEmail = subject;
+            } else if (subject != null && subject.startsWith("auth0|")) {
+                userEmail = subject.substring(subject.indexOf("|") + 1);
+            }
+        }
+        return userEmail;
+    }
+
+    private static String requireEmail(String userEmail) {
+        if (userEmail == null) {
+            throw new AccessDeniedException("Unable to identify user - no email available in token");
+        }
+        return userEmail;
     }
 }
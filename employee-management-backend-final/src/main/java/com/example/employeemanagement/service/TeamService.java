@@ -2,6 +2,8 @@ package com.example.employeemanagement.service;
 
 import com.example.employeemanagement.dto.EmployeeDTO;
 import com.example.employeemanagement.dto.TeamDTO;
+import com.example.employeemanagement.dto.TeamMemberDTO;
+import com.example.employeemanagement.dto.TeamSummaryDTO;
 import com.example.employeemanagement.exception.ResourceNotFoundException;
 
 import java.util.List;
@@ -9,12 +11,13 @@ import java.util.List;
 public interface TeamService {
     TeamDTO createTeam(TeamDTO teamDTO);
     TeamDTO updateTeam(Long id, TeamDTO teamDTO);
-    List<TeamDTO> getAllTeams();
+    List<TeamSummaryDTO> getAllTeams();
     TeamDTO getTeamById(Long id);
     void deleteTeam(Long id);
     TeamDTO assignProjectManager(Long teamId, Long employeeId) throws ResourceNotFoundException;
     TeamDTO assignTeamManager(Long teamId, Long employeeId) throws ResourceNotFoundException;
     List<EmployeeDTO> getTeamMembers(Long teamId) throws ResourceNotFoundException;
+    List<TeamMemberDTO> getTeamRoster(Long teamId) throws ResourceNotFoundException;
     TeamDTO addTeamMember(Long teamId, Long employeeId) throws ResourceNotFoundException;
     void removeTeamMember(Long teamId, Long employeeId) throws ResourceNotFoundException;
 }
\ No newline at end of file
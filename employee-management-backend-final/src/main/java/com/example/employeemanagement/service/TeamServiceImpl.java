@@ -2,7 +2,11 @@ package com.example.employeemanagement.service;
 
 import com.example.employeemanagement.dto.EmployeeDTO;
 import com.example.employeemanagement.dto.TeamDTO;
+import com.example.employeemanagement.dto.TeamMemberDTO;
+import com.example.employeemanagement.dto.TeamSummaryDTO;
 import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.mapper.EmployeeMapper;
+import com.example.employeemanagement.mapper.TeamMapper;
 import com.example.employeemanagement.model.Employee;
 import com.example.employeemanagement.model.Project;
 import com.example.employeemanagement.model.Role;
@@ -10,8 +14,7 @@ import com.example.employeemanagement.model.Team;
 import com.example.employeemanagement.repository.TeamRepository;
 import com.example.employeemanagement.repository.ProjectRepository;
 import com.example.employeemanagement.repository.EmployeeRepository;
-import org.hibernate.Hibernate;
-import org.modelmapper.ModelMapper;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
@@ -22,23 +25,27 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("app.service")
 @Transactional
 public class TeamServiceImpl implements TeamService {
 
     private final TeamRepository teamRepository;
     private final ProjectRepository projectRepository;
     private final EmployeeRepository employeeRepository;
-    private final ModelMapper modelMapper;
+    private final TeamMapper teamMapper;
+    private final EmployeeMapper employeeMapper;
     private static final Logger log = LoggerFactory.getLogger(TeamServiceImpl.class);
 
     public TeamServiceImpl(TeamRepository teamRepository, 
                          ProjectRepository projectRepository,
                          EmployeeRepository employeeRepository, 
-                         ModelMapper modelMapper) {
+                         TeamMapper teamMapper,
+                         EmployeeMapper employeeMapper) {
         this.teamRepository = teamRepository;
         this.projectRepository = projectRepository;
         this.employeeRepository = employeeRepository;
-        this.modelMapper = modelMapper;
+        this.teamMapper = teamMapper;
+        this.employeeMapper = employeeMapper;
     }
 
     @Override
@@ -118,10 +125,9 @@ public class TeamServiceImpl implements TeamService {
     }
 
     @Override
-    public List<TeamDTO> getAllTeams() {
-        return teamRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<TeamSummaryDTO> getAllTeams() {
+        return teamRepository.findAllSummaries();
     }
 
     @Override
@@ -180,17 +186,27 @@ public class TeamServiceImpl implements TeamService {
 
     @Override
     public List<EmployeeDTO> getTeamMembers(Long teamId) {
-        Team team = teamRepository.findById(teamId)
-                .orElseThrow(() -> new ResourceNotFoundException("Team not found"));
-        
-        // Initialize members to avoid LazyInitializationException
-        Hibernate.initialize(team.getMembers());
-        
-        return team.getMembers().stream()
-                .map(employee -> modelMapper.map(employee, EmployeeDTO.class))
+        if (!teamRepository.existsById(teamId)) {
+            throw new ResourceNotFoundException("Team not found");
+        }
+
+        // Load members with their aggregate graph instead of initializing the lazy collection
+        return employeeRepository.findByTeam_Id(teamId).stream()
+                .map(employeeMapper::toDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<TeamMemberDTO> getTeamRoster(Long teamId) {
+        List<TeamMemberDTO> roster = employeeRepository.findRosterByTeamId(teamId);
+        // Only an empty roster needs the extra lookup to tell an empty team from a missing one
+        if (roster.isEmpty() && !teamRepository.existsById(teamId)) {
+            throw new ResourceNotFoundException("Team not found");
+        }
+        return roster;
+    }
+
     @Override
     public TeamDTO addTeamMember(Long teamId, Long employeeId) {
         Team team = teamRepository.findById(teamId)
@@ -225,30 +241,6 @@ public class TeamServiceImpl implements TeamService {
     }
 
     private TeamDTO convertToDTO(Team team) {
-        TeamDTO teamDTO = modelMapper.map(team, TeamDTO.class);
-        
-        // Manually map the fields that aren't being mapped automatically
-        if (team.getProject() != null) {
-            teamDTO.setProjectId(team.getProject().getId());
-            teamDTO.setProjectName(team.getProject().getName());
-        }
-        
-        if (team.getProjectManager() != null) {
-            teamDTO.setProjectManagerId(team.getProjectManager().getEmployeeId());
-            teamDTO.setProjectManagerName(
-                team.getProjectManager().getFirstName() + " " + 
-                team.getProjectManager().getLastName()
-            );
-        }
-        
-        if (team.getTeamManager() != null) {
-            teamDTO.setTeamManagerId(team.getTeamManager().getEmployeeId());
-            teamDTO.setTeamManagerName(
-                team.getTeamManager().getFirstName() + " " + 
-                team.getTeamManager().getLastName()
-            );
-        }
-        
-        return teamDTO;
+        return teamMapper.toDto(team);
     }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.example.employeemanagement.storage;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Row locks that keep deduplication and orphan deletion apart. An upload
+ * locks its blob's key before checking whether the content is already stored
+ * and keeps the lock until its own row commits; the cleaner takes the same
+ * lock before counting references, so it either sees that row or deletes the
+ * blob before the upload looks for it.
+ */
+@Component
+public class BlobKeyLocks {
+
+	private static final String INSERT_SQL = "INSERT INTO blob_locks (storage_key) VALUES (?) ON CONFLICT DO NOTHING";
+	private static final String LOCK_SQL = "SELECT storage_key FROM blob_locks WHERE storage_key = ? FOR UPDATE";
+	private static final String DELETE_SQL = "DELETE FROM blob_locks WHERE storage_key = ?";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public BlobKeyLocks(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/** Locks the key until the surrounding transaction ends. */
+	public void lock(String key) {
+		if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+			throw new IllegalStateException("Blob keys can only be locked inside a transaction");
+		}
+		// A cleaner may remove the row between the insert and the lock; take it again if so
+		do {
+			jdbcTemplate.update(INSERT_SQL, key);
+		} while (jdbcTemplate.queryForList(LOCK_SQL, String.class, key).isEmpty());
+	}
+
+	/** Drops the row of a deleted blob. The caller must hold its lock. */
+	public void remove(String key) {
+		jdbcTemplate.update(DELETE_SQL, key);
+	}
+}
@@ -0,0 +1,104 @@
+package com.example.employeemanagement.storage;
+
+import com.example.employeemanagement.repository.DocumentRepository;
+import com.example.employeemanagement.repository.ProfilePhotoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Moves content that is still stored inline in {@code documents} and
+ * {@code profile_photos} into the configured {@link BlobStore}, a small batch
+ * per run. Each row is moved in its own transaction and only if it was not
+ * externalized in the meantime, so the job can run alongside normal traffic
+ * and be stopped at any point. The stored length replaces the recorded file
+ * size, which rows created before the store existed took from the client.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.migration.enabled", havingValue = "true")
+public class BlobMigrationJob {
+
+	private static final Logger logger = LoggerFactory.getLogger(BlobMigrationJob.class);
+
+	private static final byte[] EMPTY = new byte[0];
+
+	private static final String SELECT_DOCUMENT = "SELECT data FROM documents WHERE document_id = ? AND storage_key IS NULL";
+	private static final String UPDATE_DOCUMENT = "UPDATE documents SET storage_key = ?, content_hash = ?, file_size = ?, "
+			+ "data = ?, version = COALESCE(version, 0) + 1 WHERE document_id = ? AND storage_key IS NULL";
+	private static final String SELECT_PHOTO = "SELECT data FROM profile_photos WHERE id = ? AND storage_key IS NULL";
+	private static final String UPDATE_PHOTO = "UPDATE profile_photos SET storage_key = ?, content_hash = ?, file_size = ?, "
+			+ "data = ? WHERE id = ? AND storage_key IS NULL";
+
+	private final BlobStore blobStore;
+	private final DocumentRepository documentRepository;
+	private final ProfilePhotoRepository profilePhotoRepository;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final int batchSize;
+
+	public BlobMigrationJob(BlobStore blobStore, DocumentRepository documentRepository,
+			ProfilePhotoRepository profilePhotoRepository, JdbcTemplate jdbcTemplate,
+			PlatformTransactionManager transactionManager,
+			@Value("${app.storage.migration.batch-size:20}") int batchSize) {
+		this.blobStore = blobStore;
+		this.documentRepository = documentRepository;
+		this.profilePhotoRepository = profilePhotoRepository;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.batchSize = batchSize;
+	}
+
+	@Scheduled(initialDelayString = "${app.storage.migration.initial-delay-ms:60000}",
+			fixedDelayString = "${app.storage.migration.interval-ms:60000}")
+	public void migrateBatch() {
+		int documents = migrate(documentRepository.findIdsWithInlineContent(Limit.of(batchSize)), SELECT_DOCUMENT,
+				UPDATE_DOCUMENT);
+		int photos = migrate(profilePhotoRepository.findIdsWithInlineContent(Limit.of(batchSize)), SELECT_PHOTO,
+				UPDATE_PHOTO);
+		if (documents + photos > 0) {
+			logger.info("Moved {} documents and {} profile photos to the blob store", documents, photos);
+		}
+	}
+
+	private int migrate(List<Long> ids, String selectSql, String updateSql) {
+		int moved = 0;
+		for (Long id : ids) {
+			try {
+				Boolean updated = transactionTemplate.execute(status -> migrateRow(id, selectSql, updateSql));
+				if (Boolean.TRUE.equals(updated)) {
+					moved++;
+				}
+			} catch (RuntimeException e) {
+				logger.warn("Could not move content of row {} to the blob store", id, e);
+			}
+		}
+		return moved;
+	}
+
+	private boolean migrateRow(Long id, String selectSql, String updateSql) {
+		StoredBlob blob = jdbcTemplate.query(selectSql, rs -> {
+			if (!rs.next()) {
+				return null;
+			}
+			try (InputStream in = rs.getBinaryStream(1)) {
+				return blobStore.put(in != null ? in : InputStream.nullInputStream());
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}, id);
+		return blob != null
+				&& jdbcTemplate.update(updateSql, blob.getKey(), blob.getContentHash(), blob.getSize(), EMPTY, id) == 1;
+	}
+}
@@ -0,0 +1,54 @@
+package com.example.employeemanagement.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Storage for document and photo content outside the owning rows. Keys are
+ * derived from the content, so identical uploads share one stored copy and a
+ * blob must only be deleted once no row references it any more.
+ */
+public interface BlobStore {
+
+	/**
+	 * Stores the stream's content and returns its key; storing known content
+	 * again is a no-op. Must run in the transaction that writes the row
+	 * referencing the blob, which keeps it from being collected as an orphan
+	 * until that row is visible.
+	 */
+	StoredBlob put(InputStream content) throws IOException;
+
+	/** Copies the content to the stream and returns the number of bytes written. */
+	long copyTo(String key, OutputStream out) throws IOException;
+
+	/**
+	 * Copies {@code length} bytes starting at {@code start} and returns the number
+	 * of bytes written. The default reads from the beginning and discards what
+	 * precedes the range; stores that can seek override it.
+	 */
+	default long copyRange(String key, OutputStream out, long start, long length) throws IOException {
+		ByteRangeOutputStream range = new ByteRangeOutputStream(out, start, length);
+		copyTo(key, range);
+		return range.written();
+	}
+
+	/**
+	 * The file holding the content, for stores that keep it on the local
+	 * filesystem, so a download can be handed to the container's sendfile.
+	 */
+	default Optional<Path> localPath(String key) {
+		return Optional.empty();
+	}
+
+	void delete(String key) throws IOException;
+
+	default byte[] read(String key) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		copyTo(key, out);
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,46 @@
+package com.example.employeemanagement.storage;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Passes through only the bytes in {@code [start, start + length)} of what is
+ * written to it, for serving a byte range from a source that can only be read
+ * from the beginning.
+ */
+public class ByteRangeOutputStream extends FilterOutputStream {
+
+	private final long start;
+	private final long end;
+	private long position;
+
+	public ByteRangeOutputStream(OutputStream out, long start, long length) {
+		super(out);
+		this.start = start;
+		this.end = start + length;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		if (position >= start && position < end) {
+			out.write(b);
+		}
+		position++;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		long from = Math.max(position, start);
+		long to = Math.min(position + len, end);
+		if (from < to) {
+			out.write(b, off + (int) (from - position), (int) (to - from));
+		}
+		position += len;
+	}
+
+	/** Number of bytes passed through so far. */
+	public long written() {
+		return Math.max(0, Math.min(position, end) - start);
+	}
+}
@@ -0,0 +1,43 @@
+package com.example.employeemanagement.storage;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * SHA-256 helpers shared by the blob stores and by derived content such as
+ * photo renditions.
+ */
+public final class ContentHash {
+
+	private static final Pattern SHA_256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+	private ContentHash() {
+	}
+
+	static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	static String hex(MessageDigest digest) {
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	public static String sha256Hex(byte[] content) {
+		MessageDigest digest = newDigest();
+		digest.update(content);
+		return hex(digest);
+	}
+
+	static String requireValid(String key) {
+		if (key == null || !SHA_256_HEX.matcher(key).matches()) {
+			throw new IllegalArgumentException("Invalid blob key");
+		}
+		return key;
+	}
+}
@@ -0,0 +1,88 @@
+package com.example.employeemanagement.storage;
+
+import com.example.employeemanagement.repository.BinaryContentRepository;
+import com.example.employeemanagement.repository.BlobContentRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+
+/**
+ * Keeps content in PostgreSQL, but in a separate, deduplicated
+ * {@code blob_contents} table so document and photo rows stay small. Uploads
+ * are spooled to a temporary file while hashing and streamed from there into
+ * the insert, so an upload is never held in memory. Downloads are read back in
+ * bounded slices by {@link BinaryContentRepository}, so they are not held in
+ * memory either.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "database", matchIfMissing = true)
+public class DatabaseBlobStore implements BlobStore {
+
+	// Two uploads of the same new content may both find it missing; the second insert is a dedup hit
+	private static final String INSERT_SQL = "INSERT INTO blob_contents (content_hash, size, data) VALUES (?, ?, ?) "
+			+ "ON CONFLICT DO NOTHING";
+
+	private final BlobContentRepository blobContentRepository;
+	private final BinaryContentRepository binaryContentRepository;
+	private final JdbcTemplate jdbcTemplate;
+	private final BlobKeyLocks keyLocks;
+
+	public DatabaseBlobStore(BlobContentRepository blobContentRepository,
+			BinaryContentRepository binaryContentRepository, JdbcTemplate jdbcTemplate, BlobKeyLocks keyLocks) {
+		this.blobContentRepository = blobContentRepository;
+		this.binaryContentRepository = binaryContentRepository;
+		this.jdbcTemplate = jdbcTemplate;
+		this.keyLocks = keyLocks;
+	}
+
+	@Override
+	public StoredBlob put(InputStream content) throws IOException {
+		Path temp = Files.createTempFile("blob-upload-", ".tmp");
+		try {
+			MessageDigest digest = ContentHash.newDigest();
+			long size;
+			try (InputStream in = new DigestInputStream(content, digest)) {
+				size = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+			}
+			String hash = ContentHash.hex(digest);
+
+			keyLocks.lock(hash);
+			if (!blobContentRepository.existsById(hash)) {
+				try (InputStream in = Files.newInputStream(temp)) {
+					jdbcTemplate.update(INSERT_SQL, statement -> {
+						statement.setString(1, hash);
+						statement.setLong(2, size);
+						statement.setBinaryStream(3, in, size);
+					});
+				}
+			}
+			return new StoredBlob(hash, hash, size);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	@Override
+	public long copyTo(String key, OutputStream out) {
+		return binaryContentRepository.copyBlobContent(ContentHash.requireValid(key), out);
+	}
+
+	@Override
+	public long copyRange(String key, OutputStream out, long start, long length) {
+		return binaryContentRepository.copyBlobContent(ContentHash.requireValid(key), out, start, length);
+	}
+
+	@Override
+	public void delete(String key) {
+		blobContentRepository.deleteByContentHash(ContentHash.requireValid(key));
+	}
+}
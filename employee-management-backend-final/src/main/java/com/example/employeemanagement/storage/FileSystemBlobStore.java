@@ -0,0 +1,103 @@
+package com.example.employeemanagement.storage;
+
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Optional;
+
+/**
+ * Content-addressed store on the local filesystem. Each blob is written once to
+ * {@code root/ab/cd/<sha-256>}; uploads are spooled to a temporary file while
+ * hashing and then moved into place, so readers never see partial content.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "filesystem")
+public class FileSystemBlobStore implements BlobStore {
+
+	private final Path root;
+	private final BlobKeyLocks keyLocks;
+
+	public FileSystemBlobStore(@Value("${app.storage.filesystem.root:data/blobs}") String root, BlobKeyLocks keyLocks)
+			throws IOException {
+		this.root = Paths.get(root).toAbsolutePath().normalize();
+		this.keyLocks = keyLocks;
+		Files.createDirectories(this.root);
+	}
+
+	@Override
+	public StoredBlob put(InputStream content) throws IOException {
+		Path temp = Files.createTempFile(root, "upload-", ".tmp");
+		try {
+			MessageDigest digest = ContentHash.newDigest();
+			long size;
+			try (InputStream in = new DigestInputStream(content, digest)) {
+				size = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+			}
+			String hash = ContentHash.hex(digest);
+
+			keyLocks.lock(hash);
+			Path target = pathFor(hash);
+			if (!Files.exists(target)) {
+				Files.createDirectories(target.getParent());
+				try {
+					Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+				} catch (FileAlreadyExistsException e) {
+					// Another upload of the same content won the race
+				}
+			}
+			return new StoredBlob(hash, hash, size);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	@Override
+	public long copyTo(String key, OutputStream out) throws IOException {
+		return copyRange(key, out, 0, Long.MAX_VALUE);
+	}
+
+	@Override
+	public long copyRange(String key, OutputStream out, long start, long length) throws IOException {
+		try (FileChannel channel = FileChannel.open(pathFor(key), StandardOpenOption.READ)) {
+			// The target wraps the response stream, so transferTo is a buffered user-space copy here, not a
+			// kernel transfer. Downloads on Tomcat go through sendfile with localPath instead; this is the
+			// fallback when the connector cannot, e.g. over TLS
+			WritableByteChannel target = Channels.newChannel(out);
+			long end = Math.min(channel.size(), start + Math.min(length, channel.size()));
+			long position = start;
+			while (position < end) {
+				position += channel.transferTo(position, end - position, target);
+			}
+			return Math.max(0, end - start);
+		} catch (NoSuchFileException e) {
+			throw new ResourceNotFoundException("Stored content not found: " + key);
+		}
+	}
+
+	@Override
+	public Optional<Path> localPath(String key) {
+		Path path = pathFor(key);
+		return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+	}
+
+	@Override
+	public void delete(String key) throws IOException {
+		Files.deleteIfExists(pathFor(key));
+	}
+
+	private Path pathFor(String key) {
+		ContentHash.requireValid(key);
+		return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+	}
+}
@@ -0,0 +1,90 @@
+package com.example.employeemanagement.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Deletes stored blobs that are no longer referenced. Because identical content
+ * is stored once, a blob is only removed after the deleting transaction has
+ * committed and no document or photo row points at it any more. References
+ * are counted under the blob's key lock, so an upload that reused the blob but
+ * has not committed yet is waited for rather than missed.
+ */
+@Component
+public class OrphanBlobCleaner {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrphanBlobCleaner.class);
+
+	private static final String REFERENCE_COUNT_SQL = "SELECT (SELECT COUNT(*) FROM documents WHERE storage_key = ?)"
+			+ " + (SELECT COUNT(*) FROM profile_photos WHERE storage_key = ?)";
+
+	private final BlobStore blobStore;
+	private final BlobKeyLocks keyLocks;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+
+	public OrphanBlobCleaner(BlobStore blobStore, BlobKeyLocks keyLocks, JdbcTemplate jdbcTemplate,
+			PlatformTransactionManager transactionManager) {
+		this.blobStore = blobStore;
+		this.keyLocks = keyLocks;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	public void deleteIfUnreferencedAfterCommit(Collection<String> keys) {
+		List<String> candidates = keys.stream().filter(Objects::nonNull).distinct().toList();
+		if (candidates.isEmpty()) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					deleteUnreferenced(candidates);
+				}
+			});
+		} else {
+			deleteUnreferenced(candidates);
+		}
+	}
+
+	private void deleteUnreferenced(List<String> keys) {
+		for (String key : keys) {
+			try {
+				transactionTemplate.executeWithoutResult(status -> {
+					keyLocks.lock(key);
+					Long references = jdbcTemplate.queryForObject(REFERENCE_COUNT_SQL, Long.class, key, key);
+					if (references != null && references == 0) {
+						delete(key);
+						keyLocks.remove(key);
+					}
+				});
+			} catch (RuntimeException e) {
+				// A leftover blob only costs space; the owning operation has already committed
+				logger.warn("Could not delete unreferenced blob {}", key, e);
+			}
+		}
+	}
+
+	private void delete(String key) {
+		try {
+			blobStore.delete(key);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
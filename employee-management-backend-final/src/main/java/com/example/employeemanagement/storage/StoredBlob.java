@@ -0,0 +1,16 @@
+package com.example.employeemanagement.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Result of writing content to a {@link BlobStore}: where it lives, its SHA-256
+ * and its length in bytes.
+ */
+@Getter
+@AllArgsConstructor
+public class StoredBlob {
+	private final String key;
+	private final String contentHash;
+	private final long size;
+}
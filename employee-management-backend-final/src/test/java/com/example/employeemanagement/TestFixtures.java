@@ -0,0 +1,130 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.metrics.SqlStatementCounter;
+import com.example.employeemanagement.model.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Builds seeded employee aggregates, projects and teams for integration tests.
+ */
+public final class TestFixtures {
+
+	private TestFixtures() {
+	}
+
+	public static Employee employee(int n, int childrenPerCollection, int photoBytes, int documentBytes) {
+		Employee employee = new Employee();
+		employee.setFirstName("First" + n);
+		employee.setLastName("Last" + n);
+		employee.setGender(n % 2 == 0 ? "F" : "M");
+		employee.setDob(LocalDate.of(1990, 1, 1).plusDays(n));
+		employee.setEmail("employee" + n + "@example.com");
+		employee.setPersonalEmail("personal" + n + "@example.com");
+		employee.setFatherName("Father" + n);
+		employee.setMobile(String.format("9%09d", n));
+		employee.setPresentStreet(n + " Main Street");
+		employee.setPresentCity("Chennai");
+		employee.setPresentState("TN");
+		employee.setPresentZip("600001");
+		employee.setPermanentStreet(n + " Lake Road");
+		employee.setPermanentCity("Madurai");
+		employee.setPermanentState("TN");
+		employee.setPermanentZip("625001");
+		employee.setRole(Role.MEMBER);
+
+		for (int i = 0; i < childrenPerCollection; i++) {
+			Education education = new Education();
+			education.setEducationName("Degree " + i);
+			education.setCollege("College " + i);
+			education.setYear(String.valueOf(2010 + i));
+			education.setPercentage("8" + i);
+			employee.addEducation(education);
+
+			Certification certification = new Certification();
+			certification.setName("Cert " + i);
+			certification.setOrganization("Org " + i);
+			certification.setDate(LocalDate.of(2020, 1, 1).plusDays(i));
+			employee.addCertification(certification);
+
+			Skill skill = new Skill();
+			skill.setSkill("Skill " + i);
+			employee.addSkill(skill);
+
+			Experience experience = new Experience();
+			experience.setLevel("Level" + i);
+			experience.setJobRole("Engineer " + i);
+			employee.addExperience(experience);
+		}
+
+		if (documentBytes > 0) {
+			Document document = new Document();
+			document.setFileName("resume" + n + ".pdf");
+			document.setFileType("application/pdf");
+			document.setFileSize((long) documentBytes);
+			document.setData(filled(documentBytes, (byte) n));
+			document.setDocumentType("RESUME");
+			employee.addDocument(document);
+		}
+
+		if (photoBytes > 0) {
+			ProfilePhoto photo = new ProfilePhoto();
+			photo.setFileName("photo" + n + ".jpg");
+			photo.setFileType("image/jpeg");
+			photo.setFileSize((long) photoBytes);
+			photo.setData(filled(photoBytes, (byte) (n + 1)));
+			employee.setProfilePhoto(photo);
+		}
+		return employee;
+	}
+
+	/** An unsaved project; the senior project manager may be null. */
+	public static Project project(String name, Employee seniorProjectManager) {
+		Project project = new Project();
+		project.setName(name);
+		project.setSeniorProjectManager(seniorProjectManager);
+		return project;
+	}
+
+	/** An unsaved team whose project and team manager are both {@code manager}, which may be null. */
+	public static Team team(String name, Project project, Employee manager) {
+		Team team = new Team();
+		team.setName(name);
+		team.setProject(project);
+		team.setProjectManager(manager);
+		team.setTeamManager(manager);
+		return team;
+	}
+
+	/** Runs the action and returns how many SQL statements it issued. */
+	public static int countStatements(SqlStatementCounter counter, Runnable action) {
+		counter.begin();
+		try {
+			action.run();
+			return counter.count();
+		} finally {
+			counter.end();
+		}
+	}
+
+	public static byte[] filled(int size, byte value) {
+		byte[] data = new byte[size];
+		Arrays.fill(data, value);
+		return data;
+	}
+
+	public static void deleteAll(JdbcTemplate jdbcTemplate) {
+		for (String table : new String[] { "documents", "profile_photo_renditions", "profile_photos", "educations",
+				"certifications", "skills", "experiences", "leaves" }) {
+			jdbcTemplate.update("DELETE FROM " + table);
+		}
+		jdbcTemplate.update("UPDATE employees SET team_id = NULL, project_id = NULL");
+		jdbcTemplate.update("DELETE FROM teams");
+		jdbcTemplate.update("DELETE FROM projects");
+		jdbcTemplate.update("DELETE FROM employees");
+		jdbcTemplate.update("DELETE FROM blob_contents");
+		jdbcTemplate.update("DELETE FROM blob_locks");
+	}
+}
@@ -0,0 +1,140 @@
+package com.example.employeemanagement.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies tokens against a local JWKS endpoint that counts its fetches and
+ * can be switched to failing, standing in for the Auth0 tenant.
+ */
+class CachingJwtDecoderTest {
+
+	private final AtomicInteger fetches = new AtomicInteger();
+	private final AtomicBoolean down = new AtomicBoolean();
+	private RSAKey key;
+	private HttpServer jwks;
+	private CachingJwtDecoder decoder;
+
+	@BeforeEach
+	void startJwks() throws Exception {
+		key = new RSAKeyGenerator(2048).keyID("test").generate();
+		byte[] body = new JWKSet(key.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8);
+		jwks = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		jwks.createContext("/.well-known/jwks.json", exchange -> {
+			fetches.incrementAndGet();
+			if (down.get()) {
+				exchange.sendResponseHeaders(503, -1);
+				exchange.close();
+				return;
+			}
+			exchange.getResponseHeaders().set("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		jwks.start();
+	}
+
+	@AfterEach
+	void stop() throws IOException {
+		if (decoder != null) {
+			decoder.close();
+		}
+		jwks.stop(0);
+	}
+
+	@Test
+	void steadyStateVerificationMakesNoRemoteCalls() throws Exception {
+		decoder = decoder(Duration.ofMinutes(15), Duration.ofSeconds(60));
+		String first = token("a@example.com", 3600);
+		decoder.decode(first);
+		assertEquals(1, fetches.get());
+
+		Jwt cached = decoder.decode(first);
+		for (int i = 0; i < 100; i++) {
+			assertSame(cached, decoder.decode(first));
+			assertEquals("b" + i + "@example.com", decoder.decode(token("b" + i + "@example.com", 3600)).getSubject());
+		}
+		assertEquals(1, fetches.get());
+	}
+
+	@Test
+	void keySetIsRefreshedAheadOfExpiryInTheBackground() throws Exception {
+		decoder = decoder(Duration.ofSeconds(1), Duration.ofMillis(500));
+		decoder.decode(token("a@example.com", 3600));
+		assertEquals(1, fetches.get());
+
+		// No request arrives; the refresh is scheduled from the first fetch
+		long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		while (fetches.get() < 2 && System.nanoTime() < deadline) {
+			Thread.sleep(50);
+		}
+		assertTrue(fetches.get() >= 2, "expected a background refresh, saw " + fetches.get() + " fetch(es)");
+	}
+
+	@Test
+	void lastKnownKeysAreServedWhileTheIssuerIsDown() throws Exception {
+		decoder = decoder(Duration.ofSeconds(1), Duration.ofMillis(300));
+		decoder.decode(token("a@example.com", 3600));
+
+		down.set(true);
+		Thread.sleep(1500);
+		assertEquals("b@example.com", decoder.decode(token("b@example.com", 3600)).getSubject());
+	}
+
+	@Test
+	void tokensSignedWithAnotherKeyOrExpiredAreRejected() throws Exception {
+		decoder = decoder(Duration.ofMinutes(15), Duration.ofSeconds(60));
+		RSAKey other = new RSAKeyGenerator(2048).keyID("test").generate();
+
+		assertThrows(JwtException.class, () -> decoder.decode(token(other, "a@example.com", 3600)));
+		assertThrows(JwtException.class, () -> decoder.decode(token("a@example.com", -120)));
+	}
+
+	private CachingJwtDecoder decoder(Duration keyTtl, Duration refreshAhead) throws Exception {
+		URL url = new URL("http://" + jwks.getAddress().getHostString() + ":" + jwks.getAddress().getPort()
+				+ "/.well-known/jwks.json");
+		return new CachingJwtDecoder(url, keyTtl, Duration.ofMillis(200), refreshAhead, Duration.ofHours(1), 100);
+	}
+
+	private String token(String subject, long expiresInSeconds) throws JOSEException {
+		return token(key, subject, expiresInSeconds);
+	}
+
+	private static String token(RSAKey signingKey, String subject, long expiresInSeconds) throws JOSEException {
+		JWTClaimsSet claims = new JWTClaimsSet.Builder().subject(subject).issueTime(new Date())
+				.expirationTime(Date.from(Instant.now().plusSeconds(expiresInSeconds))).build();
+		SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(),
+				claims);
+		jwt.sign(new RSASSASigner(signingKey));
+		return jwt.serialize();
+	}
+}
@@ -0,0 +1,122 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.Project;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.ProjectRepository;
+import com.example.employeemanagement.service.PdfService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * Downloads a bulk PDF export over a real Tomcat whose default async timeout is
+ * lowered to one second, with each render slowed so the export takes several.
+ * The configured request timeout has to outlast the container default for the
+ * ZIP to arrive whole.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BulkPdfExportTimeoutTest {
+
+	private static final int EMPLOYEES = 24;
+	private static final long RENDER_DELAY_MS = 500;
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@MockitoBean
+	private JwtDecoder jwtDecoder;
+
+	@MockitoSpyBean
+	private PdfService pdfService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@TestConfiguration
+	static class ShortContainerAsyncTimeout {
+
+		// Stands in for Tomcat's 30 second default without making the test wait that long
+		@Bean
+		WebServerFactoryCustomizer<TomcatServletWebServerFactory> shortAsyncTimeout() {
+			return factory -> factory.addConnectorCustomizers(connector -> connector.setAsyncTimeout(1000));
+		}
+	}
+
+	@AfterEach
+	void cleanUp() {
+		TestFixtures.deleteAll(jdbcTemplate);
+	}
+
+	@Test
+	void exportOutlastingTheContainerDefaultArrivesWhole() throws Exception {
+		Project project = projectRepository.save(TestFixtures.project("Apollo", null));
+		List<Employee> employees = new ArrayList<>();
+		for (int n = 1; n <= EMPLOYEES; n++) {
+			Employee employee = TestFixtures.employee(n, 1, 0, 0);
+			employee.setProject(project);
+			employees.add(employee);
+		}
+		employeeRepository.saveAll(employees);
+
+		doAnswer(invocation -> {
+			Thread.sleep(RENDER_DELAY_MS);
+			return invocation.callRealMethod();
+		}).when(pdfService).generateEmployeePdf(any(EmployeeDTO.class));
+		Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject("auth0|admin")
+				.claim("email", "admin@example.com")
+				.claim("https://api.employeemanagement.com/roles", List.of("admin")).build();
+		when(jwtDecoder.decode(anyString())).thenReturn(jwt);
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.setBearerAuth("token");
+		ResponseEntity<byte[]> response = restTemplate.exchange("/api/employees/pdf/bulk?projectId=" + project.getId(),
+				HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		int entries = 0;
+		try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(response.getBody()))) {
+			for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+				assertEquals("%PDF", new String(zip.readAllBytes(), 0, 4), entry.getName() + " is not a PDF");
+				entries++;
+			}
+		}
+		assertEquals(EMPLOYEES, entries);
+	}
+}
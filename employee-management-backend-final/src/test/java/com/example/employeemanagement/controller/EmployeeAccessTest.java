@@ -0,0 +1,97 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Reads employee records and PDFs as a non-admin whose token email differs
+ * from the stored one only in case: the listing, the record and the PDF all
+ * treat the caller as the owner, and someone else's record stays forbidden.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeAccessTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private JwtDecoder jwtDecoder;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		TestFixtures.deleteAll(jdbcTemplate);
+	}
+
+	@Test
+	void mixedCaseTokenEmailOwnsTheRecord() throws Exception {
+		Employee owner = employeeRepository.save(TestFixtures.employee(1, 0, 0, 0));
+		signInAs("Employee1@EXAMPLE.com");
+
+		mockMvc.perform(get("/api/employees").header("Authorization", "Bearer token"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items[0].employeeId").value(owner.getEmployeeId()));
+		mockMvc.perform(get("/api/employees/" + owner.getEmployeeId()).header("Authorization", "Bearer token"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.employeeId").value(owner.getEmployeeId()));
+		mockMvc.perform(get("/api/employees/" + owner.getEmployeeId() + "/pdf").header("Authorization", "Bearer token"))
+				.andExpect(request().asyncStarted());
+	}
+
+	@Test
+	void summaryViewOfOwnRecordLeavesOutChildCollections() throws Exception {
+		Employee owner = employeeRepository.save(TestFixtures.employee(4, 2, 0, 0));
+		signInAs("employee4@example.com");
+
+		mockMvc.perform(get("/api/employees").param("view", "summary").header("Authorization", "Bearer token"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items[0].employeeId").value(owner.getEmployeeId()))
+				.andExpect(jsonPath("$.items[0].skills").doesNotExist());
+	}
+
+	@Test
+	void someoneElsesRecordIsForbidden() throws Exception {
+		Employee owner = employeeRepository.save(TestFixtures.employee(2, 0, 0, 0));
+		employeeRepository.save(TestFixtures.employee(3, 0, 0, 0));
+		signInAs("EMPLOYEE3@example.com");
+
+		mockMvc.perform(get("/api/employees/" + owner.getEmployeeId()).header("Authorization", "Bearer token"))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(get("/api/employees/" + owner.getEmployeeId() + "/pdf").header("Authorization", "Bearer token"))
+				.andExpect(status().isForbidden());
+	}
+
+	private void signInAs(String email) {
+		Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject("auth0|" + UUID.randomUUID())
+				.claim("email", email)
+				.claim("https://api.employeemanagement.com/roles", List.of("user")).build();
+		when(jwtDecoder.decode(anyString())).thenReturn(jwt);
+	}
+}
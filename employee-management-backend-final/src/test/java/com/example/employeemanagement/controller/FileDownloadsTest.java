@@ -0,0 +1,163 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.dto.FileMetadataDTO;
+import com.example.employeemanagement.storage.ByteRangeOutputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileDownloadsTest {
+
+	private static final byte[] CONTENT = new byte[1000];
+	private static final Instant LAST_MODIFIED = Instant.parse("2024-05-01T10:15:30Z");
+
+	static {
+		for (int i = 0; i < CONTENT.length; i++) {
+			CONTENT[i] = (byte) i;
+		}
+	}
+
+	private final FileMetadataDTO metadata = new FileMetadataDTO(7L, "resume.pdf", "application/pdf",
+			(long) CONTENT.length, 1L, null, "ab".repeat(32), 3L, LAST_MODIFIED);
+	private final String etag = FileDownloads.etag("document", metadata);
+
+	@Test
+	void fullDownloadCarriesValidators() throws IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		ResponseEntity<StreamingResponseBody> entity = respond(new MockHttpServletRequest("GET", "/"), response);
+
+		assertEquals(HttpStatus.OK, entity.getStatusCode());
+		assertEquals(CONTENT.length, entity.getHeaders().getContentLength());
+		assertEquals("bytes", entity.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES));
+		assertEquals("\"" + "ab".repeat(32) + "\"", response.getHeader(HttpHeaders.ETAG));
+		assertEquals(LAST_MODIFIED.toEpochMilli(), response.getDateHeader(HttpHeaders.LAST_MODIFIED));
+		assertArrayEquals(CONTENT, body(entity));
+	}
+
+	@Test
+	void matchingEtagIsNotModified() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+		ResponseEntity<StreamingResponseBody> entity = respond(request, new MockHttpServletResponse());
+		assertEquals(HttpStatus.NOT_MODIFIED, entity.getStatusCode());
+		assertNull(entity.getBody());
+	}
+
+	@Test
+	void unchangedSinceLastModifiedIsNotModified() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, LAST_MODIFIED.toEpochMilli());
+
+		assertEquals(HttpStatus.NOT_MODIFIED, respond(request, new MockHttpServletResponse()).getStatusCode());
+	}
+
+	@Test
+	void singleRangeIsPartialContent() throws IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.addHeader(HttpHeaders.RANGE, "bytes=100-199");
+
+		ResponseEntity<StreamingResponseBody> entity = respond(request, new MockHttpServletResponse());
+		assertEquals(HttpStatus.PARTIAL_CONTENT, entity.getStatusCode());
+		assertEquals("bytes 100-199/1000", entity.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+		assertEquals(100, entity.getHeaders().getContentLength());
+		assertArrayEquals(Arrays.copyOfRange(CONTENT, 100, 200), body(entity));
+	}
+
+	@Test
+	void suffixRangeReturnsTheTail() throws IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.addHeader(HttpHeaders.RANGE, "bytes=-50");
+
+		ResponseEntity<StreamingResponseBody> entity = respond(request, new MockHttpServletResponse());
+		assertEquals("bytes 950-999/1000", entity.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+		assertArrayEquals(Arrays.copyOfRange(CONTENT, 950, 1000), body(entity));
+	}
+
+	@Test
+	void rangeBeyondTheEndIsNotSatisfiable() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.addHeader(HttpHeaders.RANGE, "bytes=5000-");
+
+		ResponseEntity<StreamingResponseBody> entity = respond(request, new MockHttpServletResponse());
+		assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, entity.getStatusCode());
+		assertEquals("bytes */1000", entity.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+	}
+
+	@Test
+	void staleIfRangeFallsBackToTheFullBody() throws IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.addHeader(HttpHeaders.RANGE, "bytes=100-199");
+		request.addHeader(HttpHeaders.IF_RANGE, "\"old\"");
+
+		ResponseEntity<StreamingResponseBody> entity = respond(request, new MockHttpServletResponse());
+		assertEquals(HttpStatus.OK, entity.getStatusCode());
+		assertArrayEquals(CONTENT, body(entity));
+	}
+
+	@Test
+	void localFileGoesToSendfileWhenTheConnectorSupportsIt() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		request.addHeader(HttpHeaders.RANGE, "bytes=100-199");
+		Path file = Path.of("/var/blobs/ab/cd/abcd");
+
+		ResponseEntity<StreamingResponseBody> entity = FileDownloads.respond(
+				new ServletWebRequest(request, new MockHttpServletResponse()), metadata, etag, new HttpHeaders(),
+				Optional.of(file), (out, start, length) -> fail("sendfile response was copied"));
+
+		assertEquals(HttpStatus.PARTIAL_CONTENT, entity.getStatusCode());
+		assertEquals(100, entity.getHeaders().getContentLength());
+		assertNull(entity.getBody());
+		assertEquals(file.toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+		assertEquals(100L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+		assertEquals(200L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+	}
+
+	@Test
+	void localFileIsCopiedWithoutSendfileSupport() throws IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+
+		ResponseEntity<StreamingResponseBody> entity = FileDownloads.respond(
+				new ServletWebRequest(request, new MockHttpServletResponse()), metadata, etag, new HttpHeaders(),
+				Optional.of(Path.of("/var/blobs/ab/cd/abcd")), (out, start, length) -> out.write(CONTENT));
+
+		assertArrayEquals(CONTENT, body(entity));
+		assertNull(request.getAttribute("org.apache.tomcat.sendfile.filename"));
+	}
+
+	@Test
+	void etagFallsBackToIdAndVersion() {
+		FileMetadataDTO inline = new FileMetadataDTO(7L, "resume.pdf", "application/pdf", 10L, 1L, null, null, 4L,
+				null);
+		assertEquals("\"document-7-v4\"", FileDownloads.etag("document", inline));
+	}
+
+	private ResponseEntity<StreamingResponseBody> respond(MockHttpServletRequest request,
+			MockHttpServletResponse response) {
+		return FileDownloads.respond(new ServletWebRequest(request, response), metadata, etag, new HttpHeaders(),
+				(out, start, length) -> new ByteArrayInputStream(CONTENT)
+						.transferTo(new ByteRangeOutputStream(out, start, length)));
+	}
+
+	private static byte[] body(ResponseEntity<StreamingResponseBody> entity) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		entity.getBody().writeTo(out);
+		return out.toByteArray();
+	}
+}
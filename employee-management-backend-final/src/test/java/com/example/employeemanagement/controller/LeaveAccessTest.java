@@ -0,0 +1,141 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.Leave;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.LeaveRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Reads and cancels leaves as a non-admin. A leave read is the leave with its
+ * employee plus, for a subject not seen before, the caller's employee id: two
+ * statements, which its budget enforces in the test profile's fail mode.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class LeaveAccessTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private JwtDecoder jwtDecoder;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private LeaveRepository leaveRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		TestFixtures.deleteAll(jdbcTemplate);
+	}
+
+	@Test
+	void ownLeaveIsReadInTwoStatements() throws Exception {
+		Employee owner = employeeRepository.save(TestFixtures.employee(1, 0, 0, 0));
+		Leave leave = leave(owner);
+		signInAs(owner);
+
+		mockMvc.perform(get("/api/leaves/" + leave.getLeaveId()).header("Authorization", "Bearer token"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.employeeId").value(owner.getEmployeeId()))
+				.andExpect(jsonPath("$.employeeName").value("First1 Last1"));
+
+		DistributionSummary statements = registry.get("app.sql.request.statements")
+				.tags("method", "GET", "uri", "/api/leaves/{leaveId}").summary();
+		assertTrue(statements.max() <= 2, "statements per leave read: " + statements.max());
+	}
+
+	@Test
+	void leaveAndListAgreeOnTheNameOfAnEmployeeWithoutLastName() throws Exception {
+		Employee employee = TestFixtures.employee(5, 0, 0, 0);
+		employee.setLastName(null);
+		Employee owner = employeeRepository.save(employee);
+		Leave leave = leave(owner);
+		signInAs(owner);
+
+		mockMvc.perform(get("/api/leaves/" + leave.getLeaveId()).header("Authorization", "Bearer token"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.employeeName").value("First5"));
+		mockMvc.perform(get("/api/leaves/employee/" + owner.getEmployeeId()).header("Authorization", "Bearer token"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].employeeName").value("First5"));
+	}
+
+	@Test
+	void someoneElsesLeaveIsForbidden() throws Exception {
+		Employee owner = employeeRepository.save(TestFixtures.employee(2, 0, 0, 0));
+		Employee other = employeeRepository.save(TestFixtures.employee(3, 0, 0, 0));
+		Leave leave = leave(owner);
+		signInAs(other);
+
+		mockMvc.perform(get("/api/leaves/" + leave.getLeaveId()).header("Authorization", "Bearer token"))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(put("/api/leaves/" + leave.getLeaveId() + "/cancel").header("Authorization", "Bearer token"))
+				.andExpect(status().isForbidden());
+		assertEquals(Leave.LeaveStatus.PENDING, leaveRepository.findById(leave.getLeaveId()).orElseThrow().getStatus());
+	}
+
+	@Test
+	void ownLeaveCanBeCancelled() throws Exception {
+		Employee owner = employeeRepository.save(TestFixtures.employee(4, 0, 0, 0));
+		Leave leave = leave(owner);
+		signInAs(owner);
+
+		mockMvc.perform(put("/api/leaves/" + leave.getLeaveId() + "/cancel").header("Authorization", "Bearer token"))
+				.andExpect(status().isNoContent());
+		assertEquals(Leave.LeaveStatus.CANCELLED,
+				leaveRepository.findById(leave.getLeaveId()).orElseThrow().getStatus());
+	}
+
+	/** A user token under a subject not seen before, so the caller's employee id is not cached yet. */
+	private void signInAs(Employee employee) {
+		Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject("auth0|" + UUID.randomUUID())
+				.claim("email", employee.getEmail())
+				.claim("https://api.employeemanagement.com/roles", List.of("user")).build();
+		when(jwtDecoder.decode(anyString())).thenReturn(jwt);
+	}
+
+	private Leave leave(Employee employee) {
+		Leave leave = new Leave();
+		leave.setEmployee(employee);
+		leave.setLeaveType(Leave.LeaveType.VACATION);
+		leave.setReason("Holiday");
+		leave.setStartDate(LocalDate.now().plusDays(1));
+		leave.setEndDate(LocalDate.now().plusDays(2));
+		leave.setStatus(Leave.LeaveStatus.PENDING);
+		return leaveRepository.save(leave);
+	}
+}
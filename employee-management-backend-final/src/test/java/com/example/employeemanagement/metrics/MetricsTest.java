@@ -0,0 +1,124 @@
+package com.example.employeemanagement.metrics;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.FileMetadataDTO;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.service.EmployeeService;
+import com.example.employeemanagement.service.PdfService;
+import com.example.employeemanagement.service.ProfilePhotoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.OutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the instrumented services directly and checks the timers, SQL
+ * statement counts, blob byte counters and PDF render timer they feed.
+ */
+@SpringBootTest
+class MetricsTest {
+
+	private static final int PHOTO_BYTES = 4096;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private PdfService pdfService;
+
+	@Autowired
+	private ProfilePhotoService profilePhotoService;
+
+	@Autowired
+	private SqlStatementCounter sqlStatementCounter;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Long employeeId;
+
+	@BeforeEach
+	void seed() {
+		Employee employee = employeeRepository.save(TestFixtures.employee(1, 2, 0, 0));
+		employeeId = employee.getEmployeeId();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		TestFixtures.deleteAll(jdbcTemplate);
+	}
+
+	@Test
+	void serviceMethodsAreTimedAndTheirStatementsCounted() {
+		long before = serviceCalls("com.example.employeemanagement.service.EmployeeServiceImpl", "getEmployeeById");
+
+		sqlStatementCounter.begin();
+		employeeService.getEmployeeById(employeeId);
+		int statements = sqlStatementCounter.end();
+
+		assertEquals(before + 1,
+				serviceCalls("com.example.employeemanagement.service.EmployeeServiceImpl", "getEmployeeById"));
+		assertTrue(statements > 0, "no statements counted");
+		assertTrue(registry.get("app.sql.statements").counter().count() >= statements);
+	}
+
+	@Test
+	void blobBytesAreCountedBothWays() throws Exception {
+		double written = blobBytes("written");
+		profilePhotoService.uploadProfilePhoto(employeeId, new MockMultipartFile("file", "photo.jpg", "image/jpeg",
+				TestFixtures.filled(PHOTO_BYTES, (byte) 7)));
+		assertEquals(written + PHOTO_BYTES, blobBytes("written"));
+
+		// Rendition generation may read the photo in the background at the same time
+		double read = blobBytes("read");
+		FileMetadataDTO metadata = profilePhotoService.getProfilePhotoMetadata(employeeId);
+		profilePhotoService.streamProfilePhoto(metadata, OutputStream.nullOutputStream());
+		assertTrue(blobBytes("read") >= read + PHOTO_BYTES);
+	}
+
+	@Test
+	void onlyRendersBehindCacheMissesCountAsPdfRenders() throws Exception {
+		EmployeeDTO employee = employeeService.getEmployeeById(employeeId);
+		Timer render = registry.get("app.pdf.render").timer();
+		long renders = render.count();
+		long calls = serviceCalls("com.example.employeemanagement.service.PdfService", "generateEmployeePdf");
+
+		pdfService.generateEmployeePdf(employee);
+		pdfService.generateEmployeePdf(employee);
+
+		assertEquals(renders + 1, render.count());
+		assertEquals(calls + 2, serviceCalls("com.example.employeemanagement.service.PdfService", "generateEmployeePdf"));
+	}
+
+	@Test
+	void verifiedTokenCacheIsBoundByTheRegistry() {
+		// The decoder is not bound by hand; Boot binds it as a MeterBinder bean
+		assertEquals(1, registry.find("cache.size").tag("cache", "verifiedJwt").gauges().size());
+	}
+
+	private long serviceCalls(String className, String method) {
+		Timer timer = registry.find("app.service").tag("class", className).tag("method", method).timer();
+		return timer == null ? 0 : timer.count();
+	}
+
+	private double blobBytes(String direction) {
+		return registry.get("app.blob.bytes").tag("direction", direction).counter().count();
+	}
+}
@@ -0,0 +1,181 @@
+package com.example.employeemanagement.metrics;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.controller.TeamController;
+import com.example.employeemanagement.exception.QueryBudgetExceededException;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.Leave;
+import com.example.employeemanagement.model.Project;
+import com.example.employeemanagement.model.Team;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.LeaveRepository;
+import com.example.employeemanagement.repository.ProjectRepository;
+import com.example.employeemanagement.repository.TeamRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Calls the budgeted list endpoints over MockMvc against a small and a larger
+ * data set. The test profile runs budgets in fail mode, so a lookup repeated per
+ * row shows up here as a 500 rather than as a slow page in production.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryBudgetTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private JwtDecoder jwtDecoder;
+
+	@Autowired
+	private SqlStatementCounter sqlStatementCounter;
+
+	@Autowired
+	private QueryBudgetInterceptor queryBudgetInterceptor;
+
+	@Autowired
+	private TeamController teamController;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private LeaveRepository leaveRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private int seeded;
+	private Long teamId;
+	private Long memberId;
+
+	@BeforeEach
+	void adminToken() {
+		Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject("admin@example.com")
+				.claim("https://api.employeemanagement.com/roles", List.of("admin")).build();
+		when(jwtDecoder.decode(anyString())).thenReturn(jwt);
+	}
+
+	@AfterEach
+	void cleanUp() {
+		TestFixtures.deleteAll(jdbcTemplate);
+	}
+
+	@Test
+	void listEndpointsStayWithinBudgetAsRowsGrow() throws Exception {
+		seed(2, 2);
+		callBudgetedEndpoints();
+
+		seed(6, 5);
+		callBudgetedEndpoints();
+	}
+
+	@Test
+	void statementOverBudgetFailsInTestMode() {
+		sqlStatementCounter.begin();
+		try {
+			sqlStatementCounter.limit(2, "test");
+			employeeRepository.count();
+			employeeRepository.count();
+			assertThrows(QueryBudgetExceededException.class, () -> employeeRepository.count());
+		} finally {
+			sqlStatementCounter.end();
+		}
+	}
+
+	@Test
+	void requestOverBudgetIsCounted() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/teams");
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/teams");
+		// getAllTeams has a budget of 2
+		HandlerMethod handler = new HandlerMethod(teamController, TeamController.class.getMethod("getAllTeams"));
+		double before = exceeded();
+
+		sqlStatementCounter.begin();
+		try {
+			for (int i = 0; i < 3; i++) {
+				employeeRepository.count();
+			}
+			queryBudgetInterceptor.afterCompletion(request, new MockHttpServletResponse(), handler, null);
+		} finally {
+			sqlStatementCounter.end();
+		}
+
+		assertEquals(before + 1, exceeded());
+	}
+
+	private double exceeded() {
+		Counter counter = registry.find("app.sql.budget.exceeded").tags("method", "GET", "uri", "/api/teams").counter();
+		return counter == null ? 0 : counter.count();
+	}
+
+	private void callBudgetedEndpoints() throws Exception {
+		for (String uri : new String[] { "/api/employees?size=20", "/api/employees?size=20&view=summary",
+				"/api/employees/" + memberId, "/api/projects", "/api/teams", "/api/teams/" + teamId + "/members",
+				"/api/teams/" + teamId + "/members?view=full",
+				"/api/leaves/pending", "/api/leaves/employee/" + memberId }) {
+			mockMvc.perform(get(uri).header("Authorization", "Bearer token")).andExpect(status().isOk());
+		}
+	}
+
+	/** Seeds teams with a project and manager each, plus members with child rows and a pending leave. */
+	private void seed(int teams, int membersPerTeam) {
+		for (int t = 0; t < teams; t++) {
+			Employee manager = employeeRepository.save(TestFixtures.employee(++seeded, 1, 0, 0));
+			Project project = projectRepository.save(TestFixtures.project("Project " + seeded, manager));
+			Team team = teamRepository.save(TestFixtures.team("Team " + seeded, project, manager));
+			teamId = team.getId();
+
+			for (int m = 0; m < membersPerTeam; m++) {
+				Employee member = TestFixtures.employee(++seeded, 2, 0, 0);
+				member.setTeam(team);
+				member = employeeRepository.save(member);
+				memberId = member.getEmployeeId();
+
+				Leave leave = new Leave();
+				leave.setEmployee(member);
+				leave.setLeaveType(Leave.LeaveType.VACATION);
+				leave.setReason("Holiday");
+				leave.setStartDate(LocalDate.now().plusDays(1));
+				leave.setEndDate(LocalDate.now().plusDays(2));
+				leave.setStatus(Leave.LeaveStatus.PENDING);
+				leaveRepository.save(leave);
+			}
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package com.example.employeemanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CallerEmployeeIdCacheTest {
+
+	private final AtomicInteger lookups = new AtomicInteger();
+
+	@Test
+	void invalidatingAnEmployeeDropsOnlyItsSubjects() {
+		CallerEmployeeIdCache cache = new CallerEmployeeIdCache(100, 600);
+		get(cache, "auth0|a", 1L);
+		get(cache, "email|a@example.com", 1L);
+		get(cache, "auth0|b", 2L);
+
+		cache.invalidateEmployee(1L);
+
+		get(cache, "auth0|a", 1L);
+		get(cache, "email|a@example.com", 1L);
+		get(cache, "auth0|b", 2L);
+		assertEquals(5, lookups.get());
+	}
+
+	@Test
+	void subjectMovedToAnotherEmployeeIsEvictedWithTheNewOne() {
+		CallerEmployeeIdCache cache = new CallerEmployeeIdCache(100, 600);
+		get(cache, "auth0|a", 1L);
+		cache.invalidateEmployee(1L);
+		get(cache, "auth0|a", 2L);
+
+		cache.invalidateEmployee(1L);
+		assertEquals(2L, get(cache, "auth0|a", 3L));
+		cache.invalidateEmployee(2L);
+		assertEquals(3L, get(cache, "auth0|a", 3L));
+		assertEquals(3, lookups.get());
+	}
+
+	@Test
+	void sizeEvictionsLeaveNoIndexBehind() {
+		CallerEmployeeIdCache cache = new CallerEmployeeIdCache(10, 600);
+		for (long id = 1; id <= 1000; id++) {
+			get(cache, "auth0|" + id, id);
+		}
+		assertTrue(cache.indexedEmployees() <= 10, "index kept " + cache.indexedEmployees() + " employees");
+	}
+
+	private Long get(CallerEmployeeIdCache cache, String key, Long employeeId) {
+		return cache.get(key, () -> {
+			lookups.incrementAndGet();
+			return employeeId;
+		});
+	}
+}
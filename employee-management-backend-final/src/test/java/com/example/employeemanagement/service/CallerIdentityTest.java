@@ -0,0 +1,155 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.metrics.SqlStatementCounter;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Resolves the caller from a token and checks that ownership checks after the
+ * first lookup for a subject run no SQL, and that changing or deleting the
+ * employee drops the cached id.
+ */
+@SpringBootTest
+class CallerIdentityTest {
+
+	@Autowired
+	private SecurityService securityService;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private SqlStatementCounter sqlStatementCounter;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		SecurityContextHolder.clearContext();
+		RequestContextHolder.resetRequestAttributes();
+		TestFixtures.deleteAll(jdbcTemplate);
+	}
+
+	@Test
+	void callerIsResolvedOncePerRequest() {
+		Employee employee = employeeRepository.save(TestFixtures.employee(1, 0, 0, 0));
+		Jwt jwt = signIn(employee.getEmail(), "user");
+
+		CallerIdentity caller = securityService.currentCaller();
+		assertSame(caller, securityService.currentCaller());
+		assertEquals(employee.getEmail(), caller.getEmail());
+		assertFalse(caller.isAdmin());
+
+		assertEquals(1, TestFixtures.countStatements(sqlStatementCounter,
+				() -> assertEquals(employee.getEmployeeId(), securityService.getEmployeeIdFromToken(jwt))));
+		assertEquals(0, TestFixtures.countStatements(sqlStatementCounter,
+				() -> assertEquals(employee.getEmployeeId(), securityService.getEmployeeIdFromToken(jwt))));
+		assertEquals(0, TestFixtures.countStatements(sqlStatementCounter, () -> assertFalse(securityService.isAdmin())));
+	}
+
+	@Test
+	void laterRequestsForTheSameSubjectRunNoSql() {
+		Employee employee = employeeRepository.save(TestFixtures.employee(2, 0, 0, 0));
+		String subject = "auth0|" + UUID.randomUUID();
+		securityService.getEmployeeIdFromToken(signIn(subject, employee.getEmail(), "user"));
+
+		Jwt next = signIn(subject, employee.getEmail(), "user");
+		assertEquals(0, TestFixtures.countStatements(sqlStatementCounter,
+				() -> assertEquals(employee.getEmployeeId(), securityService.getEmployeeIdFromToken(next))));
+	}
+
+	@Test
+	void personalEmailResolvesToTheSameEmployee() {
+		Employee employee = employeeRepository.save(TestFixtures.employee(3, 0, 0, 0));
+		Jwt jwt = signIn(employee.getPersonalEmail(), "user");
+
+		assertEquals(employee.getEmployeeId(), securityService.getEmployeeIdFromToken(jwt));
+	}
+
+	@Test
+	void ownerIsRecognisedWhateverTheCaseOfTheTokenEmail() {
+		Employee employee = employeeRepository.save(TestFixtures.employee(6, 0, 0, 0));
+		Jwt jwt = signIn("EMPLOYEE6@Example.com", "user");
+
+		assertDoesNotThrow(() -> securityService.validateEmployeeAccess(employee.getEmployeeId(), jwt));
+		assertDoesNotThrow(() -> securityService.validateEmployeeAccess(
+				employeeService.getEmployeeById(employee.getEmployeeId()), signIn("Personal6@EXAMPLE.com", "user")));
+		Jwt other = signIn("employee7@example.com", "user");
+		assertThrows(AccessDeniedException.class, () -> securityService.validateEmployeeAccess(employee.getEmployeeId(), other));
+	}
+
+	@Test
+	void changingTheEmailDropsTheCachedId() {
+		Employee employee = employeeRepository.save(TestFixtures.employee(4, 0, 0, 0));
+		String subject = "auth0|" + UUID.randomUUID();
+		securityService.getEmployeeIdFromToken(signIn(subject, employee.getEmail(), "user"));
+
+		EmployeeDTO patch = new EmployeeDTO();
+		patch.setEmail("renamed4@example.com");
+		patch.setPersonalEmail("renamed4.personal@example.com");
+		employeeService.updateEmployee(employee.getEmployeeId(), patch);
+
+		Jwt stale = signIn(subject, employee.getEmail(), "user");
+		assertThrows(ResourceNotFoundException.class, () -> securityService.getEmployeeIdFromToken(stale));
+	}
+
+	@Test
+	void deletingTheEmployeeDropsTheCachedId() {
+		Employee employee = employeeRepository.save(TestFixtures.employee(5, 0, 0, 0));
+		String subject = "auth0|" + UUID.randomUUID();
+		securityService.getEmployeeIdFromToken(signIn(subject, employee.getEmail(), "user"));
+
+		employeeService.deleteEmployee(employee.getEmployeeId());
+
+		Jwt stale = signIn(subject, employee.getEmail(), "user");
+		assertThrows(ResourceNotFoundException.class, () -> securityService.getEmployeeIdFromToken(stale));
+	}
+
+	@Test
+	void adminRoleComesFromTheToken() {
+		signIn("admin@example.com", "admin");
+
+		assertEquals(0, TestFixtures.countStatements(sqlStatementCounter, () -> assertTrue(securityService.isAdmin())));
+	}
+
+	private Jwt signIn(String email, String role) {
+		return signIn("auth0|" + UUID.randomUUID(), email, role);
+	}
+
+	/** Authenticates a fresh request as the given token, the way the resource server filter does. */
+	private Jwt signIn(String subject, String email, String role) {
+		Jwt jwt = Jwt.withTokenValue("token").header("alg", "RS256").subject(subject).claim("email", email)
+				.claim("https://api.employeemanagement.com/roles", List.of(role)).issuedAt(Instant.now())
+				.expiresAt(Instant.now().plusSeconds(3600)).build();
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+		SecurityContextHolder.getContext()
+				.setAuthentication(new JwtAuthenticationToken(jwt, AuthorityUtils.createAuthorityList("ROLE_" + role)));
+		return jwt;
+	}
+}
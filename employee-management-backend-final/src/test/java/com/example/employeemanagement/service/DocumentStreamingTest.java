@@ -0,0 +1,169 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.dto.FileMetadataDTO;
+import com.example.employeemanagement.model.Document;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Downloads a 10MB document through the streaming path and checks that it is
+ * read in bounded slices, one query each, rather than as one column value the
+ * driver would decode whole, and that a range reads only the slices it covers.
+ */
+@SpringBootTest
+class DocumentStreamingTest {
+
+	private static final int DOCUMENT_BYTES = 10 * 1024 * 1024;
+	private static final int SLICE_BYTES = 256 * 1024;
+
+	@Autowired
+	private DocumentService documentService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@MockitoSpyBean
+	private JdbcTemplate jdbcTemplate;
+
+	private Long documentId;
+
+	@BeforeEach
+	void seed() {
+		Employee employee = employeeRepository.save(TestFixtures.employee(1, 0, 0, DOCUMENT_BYTES));
+		documentId = employee.getDocuments().get(0).getDocumentId();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		TestFixtures.deleteAll(jdbcTemplate);
+	}
+
+	@Test
+	void metadataIsLoadedWithoutContent() {
+		FileMetadataDTO metadata = documentService.getDocumentMetadata(documentId);
+		assertEquals(DOCUMENT_BYTES, metadata.getFileSize());
+		assertEquals("application/pdf", metadata.getFileType());
+		assertNotNull(metadata.getEmployeeId());
+	}
+
+	@Test
+	void inlineRowIsSizedByItsContentNotItsRecordedSize() {
+		jdbcTemplate.update("UPDATE documents SET file_size = NULL WHERE document_id = ?", documentId);
+		assertEquals(DOCUMENT_BYTES, documentService.getDocumentMetadata(documentId).getFileSize());
+
+		jdbcTemplate.update("UPDATE documents SET file_size = 10 WHERE document_id = ?", documentId);
+		assertEquals(DOCUMENT_BYTES, documentService.getDocumentMetadata(documentId).getFileSize());
+	}
+
+	@Test
+	void streamsTenMegabyteDocumentInSlices() throws Exception {
+		FileMetadataDTO metadata = documentService.getDocumentMetadata(documentId);
+
+		CountingOutputStream out = new CountingOutputStream();
+		long copied = documentService.streamDocument(metadata, out);
+
+		assertEquals(DOCUMENT_BYTES, copied);
+		assertEquals(DOCUMENT_BYTES, out.total);
+		assertTrue(out.largestWrite <= SLICE_BYTES, "largest write was " + out.largestWrite + " bytes");
+		// Exactly one query per slice: the length returned with each slice ends the loop without an empty read
+		verify(jdbcTemplate, times(DOCUMENT_BYTES / SLICE_BYTES)).query(startsWith("SELECT substring(data"),
+				any(PreparedStatementSetter.class), any(ResultSetExtractor.class));
+	}
+
+	@Test
+	void blobStoreDownloadIsReadInSlicesToo() throws Exception {
+		Long employeeId = documentService.getDocumentMetadata(documentId).getEmployeeId();
+		byte[] content = TestFixtures.filled(DOCUMENT_BYTES, (byte) 6);
+		Long uploadedId = documentService.uploadDocument(employeeId,
+				new MockMultipartFile("file", "offer.pdf", "application/pdf", content), "OFFER").getDocumentId();
+		FileMetadataDTO metadata = documentService.getDocumentMetadata(uploadedId);
+		assertNotNull(metadata.getStorageKey());
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		documentService.streamDocument(metadata, out);
+
+		assertArrayEquals(content, out.toByteArray());
+		verify(jdbcTemplate, times(DOCUMENT_BYTES / SLICE_BYTES)).query(
+				argThat((String sql) -> sql.startsWith("SELECT substring(data") && sql.contains("FROM blob_contents")),
+				any(PreparedStatementSetter.class), any(ResultSetExtractor.class));
+	}
+
+	@Test
+	void rangeReadsOnlyTheSlicesItCovers() throws Exception {
+		FileMetadataDTO metadata = documentService.getDocumentMetadata(documentId);
+		int lastMegabyte = 1024 * 1024;
+
+		CountingOutputStream out = new CountingOutputStream();
+		long copied = documentService.streamDocument(metadata, out, DOCUMENT_BYTES - lastMegabyte, lastMegabyte);
+
+		assertEquals(lastMegabyte, copied);
+		assertEquals(lastMegabyte, out.total);
+		verify(jdbcTemplate, times(lastMegabyte / SLICE_BYTES)).query(startsWith("SELECT substring(data"),
+				any(PreparedStatementSetter.class), any(ResultSetExtractor.class));
+	}
+
+	@Test
+	void rangeAcrossASliceBoundaryMatchesTheStoredBytes() throws Exception {
+		Long employeeId = documentService.getDocumentMetadata(documentId).getEmployeeId();
+		byte[] content = new byte[3 * SLICE_BYTES];
+		new Random(7).nextBytes(content);
+		Long uploadedId = documentService.uploadDocument(employeeId,
+				new MockMultipartFile("file", "offer.pdf", "application/pdf", content), "OFFER").getDocumentId();
+		int start = SLICE_BYTES - 100;
+		int length = SLICE_BYTES + 200;
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		documentService.streamDocument(documentService.getDocumentMetadata(uploadedId), out, start, length);
+
+		assertArrayEquals(Arrays.copyOfRange(content, start, start + length), out.toByteArray());
+	}
+
+	@Test
+	void streamedContentMatchesTheStoredBytes() throws Exception {
+		FileMetadataDTO metadata = documentService.getDocumentMetadata(documentId);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		documentService.streamDocument(metadata, out);
+
+		assertArrayEquals(documentService.downloadDocument(documentId), out.toByteArray());
+	}
+
+	private static final class CountingOutputStream extends OutputStream {
+		private long total;
+		private int largestWrite;
+
+		@Override
+		public void write(int b) {
+			total++;
+			largestWrite = Math.max(largestWrite, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			total += len;
+			largestWrite = Math.max(largestWrite, len);
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.EmployeeSort;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.Project;
+import com.example.employeemanagement.model.Team;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.ProjectRepository;
+import com.example.employeemanagement.repository.TeamRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts that loading full employee aggregates costs a fixed number of
+ * statements regardless of how many employees are returned.
+ */
+@SpringBootTest
+class EmployeeAggregateLoadingTest {
+
+	// One statement for the employees (project and photo joined) plus one per child collection
+	private static final long EXPECTED_STATEMENTS = 7;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private TeamService teamService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		TestFixtures.deleteAll(jdbcTemplate);
+	}
+
+	@Test
+	void getEmployeesPageUsesFixedStatementCount() {
+		for (EmployeeSort sort : EmployeeSort.values()) {
+			seed(3);
+			long small = countStatements(() -> employeeService.getEmployeesPage(null, 20, sort).getItems(), 3);
+			TestFixtures.deleteAll(jdbcTemplate);
+
+			seed(20);
+			long large = countStatements(() -> employeeService.getEmployeesPage(null, 20, sort).getItems(), 20);
+			TestFixtures.deleteAll(jdbcTemplate);
+
+			assertEquals(small, large, sort.name());
+			assertTrue(large <= EXPECTED_STATEMENTS, "getEmployeesPage by " + sort + " used " + large + " statements");
+		}
+	}
+
+	@Test
+	void getEmployeesByProjectUsesFixedStatementCount() {
+		Long smallProject = seed(3);
+		long small = countStatements(() -> employeeService.getEmployeesByProject(smallProject), 3);
+		TestFixtures.deleteAll(jdbcTemplate);
+
+		Long largeProject = seed(20);
+		long large = countStatements(() -> employeeService.getEmployeesByProject(largeProject), 20);
+
+		assertEquals(small, large);
+		assertTrue(large <= EXPECTED_STATEMENTS, "getEmployeesByProject used " + large + " statements");
+	}
+
+	@Test
+	void getTeamMembersUsesFixedStatementCount() {
+		seed(2);
+		Long smallTeam = teamRepository.findAll().get(0).getId();
+		long small = countStatements(() -> teamService.getTeamMembers(smallTeam), 2);
+		TestFixtures.deleteAll(jdbcTemplate);
+
+		seed(6);
+		Long largeTeam = teamRepository.findAll().get(0).getId();
+		long large = countStatements(() -> teamService.getTeamMembers(largeTeam), 6);
+
+		assertEquals(small, large);
+		// One extra statement for the team existence check
+		assertTrue(large <= EXPECTED_STATEMENTS + 1, "getTeamMembers used " + large + " statements");
+	}
+
+	private Long seed(int employees) {
+		Project project = projectRepository.save(TestFixtures.project("Project " + employees, null));
+		Team team = teamRepository.save(TestFixtures.team("Team " + employees, project, null));
+
+		for (int i = 0; i < employees; i++) {
+			Employee employee = TestFixtures.employee(i, 2, 1024, 1024);
+			employee.setProject(project);
+			employee.setTeam(team);
+			employeeRepository.save(employee);
+		}
+		return project.getId();
+	}
+
+	private long countStatements(Supplier<List<EmployeeDTO>> call, int expectedSize) {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		List<EmployeeDTO> result = call.get();
+		long statements = statistics.getPrepareStatementCount();
+
+		assertEquals(expectedSize, result.size());
+		result.forEach(dto -> assertEquals(2, dto.getEducationList().size()));
+		return statements;
+	}
+}
@@ -0,0 +1,115 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.metrics.SqlStatementCounter;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.Role;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Looks employees up by work or personal email in any case, through the
+ * normalized columns, checks that addresses differing only in case count as
+ * duplicates, and that rows written without them are picked up after the
+ * backfill.
+ */
+@SpringBootTest
+class EmployeeEmailLookupTest {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EmployeeColumnBackfill employeeColumnBackfill;
+
+	@Autowired
+	private SqlStatementCounter sqlStatementCounter;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		TestFixtures.deleteAll(jdbcTemplate);
+	}
+
+	@Test
+	void eitherEmailMatchesInAnyCaseWithOneStatement() {
+		Employee employee = employeeRepository.save(TestFixtures.employee(1, 0, 0, 0));
+
+		assertEquals(employee.getEmployeeId(), employeeService.getEmployeeByEmail(" Employee1@Example.COM ").getEmployeeId());
+		assertEquals(employee.getEmployeeId(), employeeService.getEmployeeByEmail("PERSONAL1@example.com").getEmployeeId());
+		assertEquals(1, TestFixtures.countStatements(sqlStatementCounter, () -> assertEquals(employee.getEmployeeId(),
+				employeeRepository.findIdByNormalizedEmail(Employee.normalizeEmail("EMPLOYEE1@example.com")).orElseThrow())));
+	}
+
+	@Test
+	void workEmailWinsOverAnotherEmployeesPersonalEmail() {
+		Employee owner = employeeRepository.save(TestFixtures.employee(2, 0, 0, 0));
+		Employee other = TestFixtures.employee(3, 0, 0, 0);
+		other.setPersonalEmail("EMPLOYEE2@example.com");
+		employeeRepository.save(other);
+
+		assertEquals(owner.getEmployeeId(), employeeService.getEmployeeByEmail("employee2@example.com").getEmployeeId());
+	}
+
+	@Test
+	void auth0PrefixedIdentifierFallsBackToTheEmail() {
+		Employee employee = employeeRepository.save(TestFixtures.employee(4, 0, 0, 0));
+
+		assertEquals(employee.getEmployeeId(), employeeService.getEmployeeByEmail("auth0|Personal4@example.com").getEmployeeId());
+		assertThrows(ResourceNotFoundException.class, () -> employeeService.getEmployeeByEmail("nobody@example.com"));
+	}
+
+	@Test
+	void emailsDifferingOnlyInCaseAreDuplicates() {
+		Employee employee = employeeRepository.save(TestFixtures.employee(6, 0, 0, 0));
+		EmployeeDTO duplicate = new EmployeeDTO();
+		duplicate.setFirstName("Asha");
+		duplicate.setEmail("EMPLOYEE6@Example.com");
+		duplicate.setRole(Role.MEMBER);
+
+		IllegalArgumentException rejected = assertThrows(IllegalArgumentException.class,
+				() -> employeeService.saveEmployee(duplicate));
+		assertEquals("Email already exists", rejected.getMessage());
+
+		EmployeeDTO recased = new EmployeeDTO();
+		recased.setEmail("Employee6@EXAMPLE.com");
+		assertEquals("Employee6@EXAMPLE.com",
+				employeeService.updateEmployee(employee.getEmployeeId(), recased).getEmail());
+	}
+
+	@Test
+	void normalizedEmailsAreUniqueInTheDatabase() {
+		employeeRepository.save(TestFixtures.employee(7, 0, 0, 0));
+		Employee recased = TestFixtures.employee(8, 0, 0, 0);
+		recased.setEmail("Employee7@Example.com");
+
+		assertThrows(DataIntegrityViolationException.class, () -> employeeRepository.saveAndFlush(recased));
+	}
+
+	@Test
+	void rowsWrittenBeforeTheNormalizedColumnsAreFoundAfterTheBackfill() {
+		Employee employee = employeeRepository.save(TestFixtures.employee(5, 0, 0, 0));
+		jdbcTemplate.update("UPDATE employees SET email = ?, email_normalized = NULL, personal_email_normalized = NULL "
+				+ "WHERE employee_id = ?", "Employee5@Example.com", employee.getEmployeeId());
+		assertThrows(ResourceNotFoundException.class, () -> employeeService.getEmployeeByEmail("employee5@example.com"));
+
+		employeeColumnBackfill.backfill();
+
+		assertEquals(employee.getEmployeeId(), employeeService.getEmployeeByEmail("employee5@example.com").getEmployeeId());
+		assertEquals(employee.getEmployeeId(), employeeService.getEmployeeByEmail("personal5@example.com").getEmployeeId());
+	}
+}
@@ -0,0 +1,155 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.dto.CursorPage;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.EmployeeSort;
+import com.example.employeemanagement.exception.InvalidPageRequestException;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Walks the employee listing page by page in id and name order, checking that
+ * the cursors visit every employee once and end with a null cursor, and that
+ * cursors and page sizes a client made up are answered with 400.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeePaginationTest {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private JwtDecoder jwtDecoder;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		TestFixtures.deleteAll(jdbcTemplate);
+	}
+
+	@Test
+	void idPagesVisitEveryEmployeeOnceAndEndWithoutCursor() {
+		List<Long> expected = new ArrayList<>();
+		for (int n = 1; n <= 7; n++) {
+			expected.add(employeeRepository.save(TestFixtures.employee(n, 0, 0, 0)).getEmployeeId());
+		}
+
+		List<CursorPage<EmployeeDTO>> pages = walk(EmployeeSort.ID, 3);
+
+		assertEquals(List.of(3, 3, 1), pages.stream().map(CursorPage::getSize).toList());
+		assertEquals(expected, ids(pages));
+		CursorPage<EmployeeDTO> last = pages.get(pages.size() - 1);
+		assertFalse(last.isHasNext());
+		assertNull(last.getNextCursor());
+	}
+
+	@Test
+	void namePagesSortMissingNamesFirstAndVisitEveryEmployeeOnce() {
+		List<Long> named = new ArrayList<>();
+		for (int n = 1; n <= 7; n++) {
+			named.add(employeeRepository.save(TestFixtures.employee(n, 0, 0, 0)).getEmployeeId());
+		}
+		List<Long> expected = new ArrayList<>();
+		for (int n = 8; n <= 9; n++) {
+			Employee employee = TestFixtures.employee(n, 0, 0, 0);
+			employee.setLastName(null);
+			expected.add(employeeRepository.save(employee).getEmployeeId());
+		}
+		expected.addAll(named);
+
+		List<CursorPage<EmployeeDTO>> pages = walk(EmployeeSort.NAME, 4);
+
+		assertEquals(List.of(4, 4, 1), pages.stream().map(CursorPage::getSize).toList());
+		assertEquals(expected, ids(pages));
+		assertNull(pages.get(pages.size() - 1).getNextCursor());
+	}
+
+	@Test
+	void cursorIsTiedToItsSort() {
+		for (int n = 1; n <= 3; n++) {
+			employeeRepository.save(TestFixtures.employee(n, 0, 0, 0));
+		}
+		String byId = employeeService.getEmployeesPage(null, 1, EmployeeSort.ID).getNextCursor();
+
+		assertThrows(InvalidPageRequestException.class,
+				() -> employeeService.getEmployeesPage(byId, 1, EmployeeSort.NAME));
+		assertThrows(InvalidPageRequestException.class,
+				() -> employeeService.getEmployeeSummariesPage(byId, 1, EmployeeSort.NAME));
+	}
+
+	@Test
+	void malformedCursorsAndSizesAreBadRequests() throws Exception {
+		signInAsAdmin();
+		String notBase64 = "!!!";
+		String tooFewParts = encode("ID\u001F5");
+		String notAnId = encode("ID\u001Fabc\u001F\u001F");
+		String unknownSort = encode("SALARY\u001F5\u001F\u001F");
+
+		for (String cursor : List.of(notBase64, tooFewParts, notAnId, unknownSort)) {
+			mockMvc.perform(get("/api/employees").param("cursor", cursor).header("Authorization", "Bearer token"))
+					.andExpect(status().isBadRequest());
+		}
+		mockMvc.perform(get("/api/employees").param("size", "0").header("Authorization", "Bearer token"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/employees").param("size", "101").param("view", "summary")
+				.header("Authorization", "Bearer token"))
+				.andExpect(status().isBadRequest());
+	}
+
+	private List<CursorPage<EmployeeDTO>> walk(EmployeeSort sort, int size) {
+		List<CursorPage<EmployeeDTO>> pages = new ArrayList<>();
+		String cursor = null;
+		do {
+			CursorPage<EmployeeDTO> page = employeeService.getEmployeesPage(cursor, size, sort);
+			pages.add(page);
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+		return pages;
+	}
+
+	private static List<Long> ids(List<CursorPage<EmployeeDTO>> pages) {
+		return pages.stream().flatMap(page -> page.getItems().stream()).map(EmployeeDTO::getEmployeeId).toList();
+	}
+
+	private static String encode(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void signInAsAdmin() {
+		Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject("auth0|admin")
+				.claim("email", "admin@example.com")
+				.claim("https://api.employeemanagement.com/roles", List.of("admin")).build();
+		when(jwtDecoder.decode(anyString())).thenReturn(jwt);
+	}
+}
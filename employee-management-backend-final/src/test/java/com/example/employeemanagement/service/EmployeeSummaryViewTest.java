@@ -0,0 +1,101 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.dto.CursorPage;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.EmployeeSort;
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares statement count and serialized payload size of the full and summary
+ * employee list views over the same seeded page.
+ */
+@SpringBootTest
+class EmployeeSummaryViewTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeSummaryViewTest.class);
+	private static final int EMPLOYEES = 25;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@BeforeEach
+	void seed() {
+		for (int i = 0; i < EMPLOYEES; i++) {
+			employeeRepository.save(TestFixtures.employee(i, 2, 64 * 1024, 32 * 1024));
+		}
+	}
+
+	@AfterEach
+	void cleanUp() {
+		TestFixtures.deleteAll(jdbcTemplate);
+	}
+
+	@Test
+	void summaryViewUsesSingleStatementAndSmallerPayload() throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		statistics.clear();
+		CursorPage<EmployeeDTO> full = employeeService.getEmployeesPage(null, EMPLOYEES, EmployeeSort.ID);
+		long fullStatements = statistics.getPrepareStatementCount();
+		int fullBytes = objectMapper.writeValueAsBytes(full).length;
+
+		statistics.clear();
+		CursorPage<EmployeeSummaryDTO> summary = employeeService.getEmployeeSummariesPage(null, EMPLOYEES,
+				EmployeeSort.ID);
+		long summaryStatements = statistics.getPrepareStatementCount();
+		int summaryBytes = objectMapper.writeValueAsBytes(summary).length;
+
+		logger.info("Employee list of {}: full view {} statements / {} bytes, summary view {} statements / {} bytes",
+				EMPLOYEES, fullStatements, fullBytes, summaryStatements, summaryBytes);
+
+		assertEquals(EMPLOYEES, summary.getItems().size());
+		assertEquals(1, summaryStatements);
+		assertTrue(fullStatements > summaryStatements);
+		// Document content is never part of the JSON, so the gap comes from the child collections alone
+		assertTrue(summaryBytes * 3 < fullBytes);
+	}
+
+	@Test
+	void summaryPagesFollowNameCursor() {
+		CursorPage<EmployeeSummaryDTO> first = employeeService.getEmployeeSummariesPage(null, 10, EmployeeSort.NAME);
+		CursorPage<EmployeeSummaryDTO> second = employeeService.getEmployeeSummariesPage(first.getNextCursor(), 10,
+				EmployeeSort.NAME);
+		CursorPage<EmployeeSummaryDTO> third = employeeService.getEmployeeSummariesPage(second.getNextCursor(), 10,
+				EmployeeSort.NAME);
+
+		assertTrue(first.isHasNext());
+		assertTrue(second.isHasNext());
+		assertFalse(third.isHasNext());
+		assertEquals(5, third.getItems().size());
+		assertEquals("Last0", first.getItems().get(0).getLastName());
+		assertEquals("Last9", third.getItems().get(4).getLastName());
+	}
+}
@@ -0,0 +1,177 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.SkillDTO;
+import com.example.employeemanagement.mapper.MappingStrategy;
+import com.example.employeemanagement.model.Role;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs create, patch, replace and read traffic from several threads at once and
+ * checks that each operation kept its own mapping semantics: a patch never
+ * nulls a field or clears a collection it was not sent, while a replace does.
+ */
+@SpringBootTest
+class EmployeeUpdateConcurrencyTest {
+
+	private static final int WORKERS = 8;
+	private static final int ROUNDS = 20;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		TestFixtures.deleteAll(jdbcTemplate);
+	}
+
+	@Test
+	void mixedTrafficKeepsPerOperationSemantics() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(WORKERS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Long> created = new CopyOnWriteArrayList<>();
+		try {
+			List<Future<EmployeeDTO>> results = new ArrayList<>();
+			for (int w = 0; w < WORKERS; w++) {
+				int worker = w;
+				results.add(pool.submit(() -> {
+					start.await();
+					return runWorker(worker, created);
+				}));
+			}
+			start.countDown();
+
+			for (int w = 0; w < WORKERS; w++) {
+				EmployeeDTO expected = results.get(w).get(2, TimeUnit.MINUTES);
+				EmployeeDTO actual = employeeService.getEmployeeById(expected.getEmployeeId());
+				assertSameScalars(expected, actual);
+				assertEquals(1, actual.getSkills().size());
+				assertEquals(expected.getSkills().get(0).getSkill(), actual.getSkills().get(0).getSkill());
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void scalarOnlyPatchKeepsChildCollections() throws Exception {
+		Long id = employeeRepository.save(TestFixtures.employee(WORKERS, 2, 0, 0)).getEmployeeId();
+
+		// The body a client sends to change one field, deserialized as PUT /api/employees/{id} does
+		EmployeeDTO patch = objectMapper.readValue("{\"presentCity\":\"Coimbatore\"}", EmployeeDTO.class);
+		employeeService.updateEmployee(id, patch);
+
+		EmployeeDTO patched = employeeService.getEmployeeById(id);
+		assertEquals("Coimbatore", patched.getPresentCity());
+		assertEquals(2, patched.getEducationList().size());
+		assertEquals(2, patched.getCertifications().size());
+		assertEquals(2, patched.getSkills().size());
+		assertEquals(2, patched.getExperiences().size());
+	}
+
+	/**
+	 * Creates one employee and alternates patches and replaces on it, reading
+	 * other workers' employees in between. Returns the state the last write produced.
+	 */
+	private EmployeeDTO runWorker(int worker, List<Long> created) {
+		EmployeeDTO current = employeeService.saveEmployee(fullDto(worker, 0));
+		assertNotNull(current.getEmployeeId());
+		created.add(current.getEmployeeId());
+
+		for (int round = 1; round <= ROUNDS; round++) {
+			if (round % 2 == 1) {
+				EmployeeDTO patch = new EmployeeDTO();
+				patch.setFirstName("Patched" + worker + "-" + round);
+
+				EmployeeDTO patched = employeeService.updateEmployee(current.getEmployeeId(), patch,
+						MappingStrategy.PATCH);
+				current.setFirstName(patch.getFirstName());
+				assertSameScalars(current, patched);
+				assertEquals(current.getSkills().size(), patched.getSkills().size(), "patch dropped skills");
+				current = patched;
+			} else {
+				EmployeeDTO replacement = fullDto(worker, round);
+				replacement.setFatherName(null);
+				replacement.setPresentStreet(null);
+
+				EmployeeDTO replaced = employeeService.updateEmployee(current.getEmployeeId(), replacement,
+						MappingStrategy.REPLACE);
+				assertNull(replaced.getFatherName(), "replace kept a field it was sent as null");
+				assertNull(replaced.getPresentStreet());
+				assertEquals(replacement.getLastName(), replaced.getLastName());
+				assertEquals(1, replaced.getSkills().size());
+				current = replaced;
+			}
+
+			for (Long otherId : created) {
+				EmployeeDTO other = employeeService.getEmployeeById(otherId);
+				assertNotNull(other.getEmail());
+				assertNotNull(other.getLastName());
+				assertNotNull(other.getRole());
+			}
+		}
+		return current;
+	}
+
+	private static EmployeeDTO fullDto(int worker, int round) {
+		EmployeeDTO dto = new EmployeeDTO();
+		dto.setFirstName("First" + worker);
+		dto.setLastName("Last" + worker + "-" + round);
+		dto.setGender("F");
+		dto.setDob(LocalDate.of(1990, 1, 1).plusDays(worker));
+		dto.setEmail("stress" + worker + "@example.com");
+		dto.setPersonalEmail("stress" + worker + "@personal.example.com");
+		dto.setFatherName("Father" + worker);
+		dto.setMobile(String.format("8%09d", worker));
+		dto.setPresentStreet(round + " Main Street");
+		dto.setPresentCity("Chennai");
+		dto.setPresentState("TN");
+		dto.setPresentZip("600001");
+		dto.setPermanentStreet(worker + " Lake Road");
+		dto.setPermanentCity("Madurai");
+		dto.setPermanentState("TN");
+		dto.setPermanentZip("625001");
+		dto.setRole(Role.MEMBER);
+
+		SkillDTO skill = new SkillDTO();
+		skill.setSkill("Skill" + worker + "-" + round);
+		dto.setSkills(List.of(skill));
+		return dto;
+	}
+
+	private static void assertSameScalars(EmployeeDTO expected, EmployeeDTO actual) {
+		assertEquals(expected.getEmployeeId(), actual.getEmployeeId());
+		assertEquals(expected.getFirstName(), actual.getFirstName());
+		assertEquals(expected.getLastName(), actual.getLastName());
+		assertEquals(expected.getEmail(), actual.getEmail());
+		assertEquals(expected.getPersonalEmail(), actual.getPersonalEmail());
+		assertEquals(expected.getMobile(), actual.getMobile());
+		assertEquals(expected.getFatherName(), actual.getFatherName());
+		assertEquals(expected.getPresentStreet(), actual.getPresentStreet());
+		assertEquals(expected.getPermanentStreet(), actual.getPermanentStreet());
+		assertEquals(expected.getRole(), actual.getRole());
+	}
+}
@@ -0,0 +1,87 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.Project;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.ProjectRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exports every employee of a project into one ZIP and checks that each
+ * employee gets exactly one readable PDF entry.
+ */
+@SpringBootTest
+class PdfExportTest {
+
+	private static final int EMPLOYEES = 12;
+
+	@Autowired
+	private PdfExportService pdfExportService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		TestFixtures.deleteAll(jdbcTemplate);
+	}
+
+	@Test
+	void zipHoldsOnePdfPerProjectMember() throws Exception {
+		Project project = projectRepository.save(TestFixtures.project("Apollo", null));
+
+		Set<String> expected = new TreeSet<>();
+		List<Employee> employees = new ArrayList<>();
+		for (int n = 1; n <= EMPLOYEES; n++) {
+			Employee employee = TestFixtures.employee(n, 2, 0, 0);
+			employee.setProject(project);
+			employees.add(employee);
+		}
+		for (Employee employee : employeeRepository.saveAll(employees)) {
+			expected.add("employee_" + employee.getEmployeeId() + ".pdf");
+		}
+		// Not in the project, so not exported
+		employeeRepository.save(TestFixtures.employee(EMPLOYEES + 1, 0, 0, 0));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		pdfExportService.writeZip(pdfExportService.getEmployeeIdsForProject(project.getId()), out);
+
+		Set<String> names = new TreeSet<>();
+		try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+			for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+				assertTrue(names.add(entry.getName()), "duplicate entry " + entry.getName());
+				byte[] pdf = zip.readAllBytes();
+				assertEquals("%PDF", new String(pdf, 0, 4), entry.getName() + " is not a PDF");
+			}
+		}
+		assertEquals(expected, names);
+	}
+
+	@Test
+	void unknownProjectIsNotFound() {
+		assertThrows(ResourceNotFoundException.class, () -> pdfExportService.getEmployeeIdsForProject(-1L));
+	}
+}
@@ -0,0 +1,127 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.ProfilePhotoDTO;
+import com.example.employeemanagement.dto.SkillDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfRenderCacheTest {
+
+	private final AtomicInteger renders = new AtomicInteger();
+
+	private final PdfRenderCache.PdfRenderer renderer = (employee, out) -> {
+		renders.incrementAndGet();
+		out.write(new byte[1000]);
+	};
+
+	@Test
+	void unchangedEmployeeIsRenderedOnce() throws Exception {
+		PdfRenderCache cache = new PdfRenderCache(10_000, 2_000);
+		assertEquals(1000, render(cache, employee(1L)).length);
+		assertEquals(1000, render(cache, employee(1L)).length);
+		assertEquals(1, renders.get());
+		assertEquals(1L, cache.stats().get("hits"));
+		assertEquals(0.5, (double) cache.stats().get("hitRate"));
+	}
+
+	@Test
+	void changedChildVersionOrPhotoIsRenderedAgain() throws Exception {
+		PdfRenderCache cache = new PdfRenderCache(10_000, 2_000);
+		EmployeeDTO employee = employee(1L);
+		render(cache, employee);
+
+		employee.getSkills().get(0).setVersion(1L);
+		render(cache, employee);
+		assertEquals(2, renders.get());
+
+		ProfilePhotoDTO photo = new ProfilePhotoDTO();
+		photo.setId(5L);
+		photo.setData(new byte[] { 1, 2, 3 });
+		employee.setProfilePhoto(photo);
+		render(cache, employee);
+		photo.setData(new byte[] { 1, 2, 4 });
+		render(cache, employee);
+		assertEquals(4, renders.get());
+		// Entries rendered from an older state are misses, not hits
+		assertEquals(0L, cache.stats().get("hits"));
+		assertEquals(4L, cache.stats().get("misses"));
+	}
+
+	@Test
+	void storedPhotoHashStandsInForTheBytes() throws Exception {
+		PdfRenderCache cache = new PdfRenderCache(10_000, 2_000);
+		EmployeeDTO employee = employee(1L);
+		ProfilePhotoDTO photo = new ProfilePhotoDTO();
+		photo.setId(5L);
+		photo.setData(new byte[] { 1, 2, 3 });
+		photo.setContentHash("a".repeat(64));
+		employee.setProfilePhoto(photo);
+		render(cache, employee);
+
+		// Same hash, so the same photo as far as the cache is concerned
+		photo.setData(new byte[] { 9, 9, 9 });
+		render(cache, employee);
+		assertEquals(1, renders.get());
+
+		photo.setContentHash("b".repeat(64));
+		render(cache, employee);
+		assertEquals(2, renders.get());
+		assertEquals(1L, cache.stats().get("hits"));
+	}
+
+	@Test
+	void invalidateDropsTheEntry() throws Exception {
+		PdfRenderCache cache = new PdfRenderCache(10_000, 2_000);
+		render(cache, employee(1L));
+		cache.invalidate(1L);
+
+		render(cache, employee(1L));
+		assertEquals(2, renders.get());
+	}
+
+	@Test
+	void totalBytesStayWithinTheBound() throws Exception {
+		PdfRenderCache cache = new PdfRenderCache(3_500, 2_000);
+		for (long id = 1; id <= 10; id++) {
+			render(cache, employee(id));
+		}
+
+		assertTrue((long) cache.stats().get("entries") <= 3);
+		assertTrue((long) cache.stats().get("evictedBytes") >= 7_000);
+	}
+
+	@Test
+	void oversizedPdfIsStreamedButNotKept() throws Exception {
+		PdfRenderCache cache = new PdfRenderCache(10_000, 500);
+		assertEquals(1000, render(cache, employee(1L)).length);
+		assertEquals(1000, render(cache, employee(1L)).length);
+
+		assertEquals(2, renders.get());
+		assertEquals(0L, cache.stats().get("entries"));
+	}
+
+	private byte[] render(PdfRenderCache cache, EmployeeDTO employee) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		cache.write(employee, out, renderer);
+		return out.toByteArray();
+	}
+
+	private static EmployeeDTO employee(Long id) {
+		EmployeeDTO employee = new EmployeeDTO();
+		employee.setEmployeeId(id);
+		employee.setFirstName("First" + id);
+		employee.setLastName("Last" + id);
+
+		SkillDTO skill = new SkillDTO();
+		skill.setSkillId(10L);
+		skill.setVersion(0L);
+		employee.setSkills(List.of(skill));
+		return employee;
+	}
+}
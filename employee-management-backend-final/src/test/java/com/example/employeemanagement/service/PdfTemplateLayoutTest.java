@@ -0,0 +1,142 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.ProfilePhotoDTO;
+import com.example.employeemanagement.mapper.*;
+import com.example.employeemanagement.model.Employee;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.*;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Renders the same employee with and without the layout template and checks
+ * that every label, value and the photo land in the same place on the page.
+ */
+class PdfTemplateLayoutTest {
+
+	private static final String IMAGE = "image";
+
+	private final PdfService flow = new PdfService(new PdfRenderCache(0, 0), false);
+	private final PdfService template = new PdfService(new PdfRenderCache(0, 0), true);
+
+	@Test
+	void templateMatchesFlowLayoutAcrossPages() throws Exception {
+		EmployeeDTO employee = employee(3);
+		assertSameLayout(employee);
+	}
+
+	@Test
+	void templateMatchesFlowLayoutWithPhoto() throws Exception {
+		EmployeeDTO employee = employee(1);
+		ProfilePhotoDTO photo = new ProfilePhotoDTO();
+		photo.setId(1L);
+		photo.setData(jpeg(100, 120));
+		employee.setProfilePhoto(photo);
+
+		Map<String, float[]> positions = assertSameLayout(employee);
+		assertTrue(positions.containsKey("1:" + IMAGE));
+	}
+
+	@Test
+	void overlongValueFallsBackToFlowLayout() throws Exception {
+		EmployeeDTO employee = employee(0);
+		employee.setPersonalEmail("a.very.long.mailbox.name.that.does.not.fit.on.one.line.of.its.cell"
+				+ "@subdomain.example.com");
+
+		assertSameLayout(employee);
+		String text = pageText(template.generateEmployeePdf(employee));
+		// Wrapped over two lines rather than shrunk or shortened
+		assertTrue(text.contains("a.very.long.mailbox.name"));
+		assertTrue(text.contains("its.cell@subdomain.example.com"));
+		assertFalse(text.contains("..."));
+	}
+
+	@Test
+	void addressWithMoreLinesThanItsCellFallsBackToFlowLayout() throws Exception {
+		EmployeeDTO employee = employee(0);
+		employee.setPresentStreet("Flat 4, Lakeview Apartments\nSecond Cross Street\nNear the Bus Stand");
+
+		assertSameLayout(employee);
+		assertTrue(pageText(template.generateEmployeePdf(employee)).contains("Near the Bus Stand"));
+	}
+
+	private Map<String, float[]> assertSameLayout(EmployeeDTO employee) throws Exception {
+		Map<String, float[]> expected = textPositions(flow.generateEmployeePdf(employee));
+		Map<String, float[]> actual = textPositions(template.generateEmployeePdf(employee));
+
+		assertEquals(expected.keySet(), actual.keySet());
+		expected.forEach((text, position) -> {
+			assertEquals(position[0], actual.get(text)[0], 0.5f, text);
+			assertEquals(position[1], actual.get(text)[1], 0.5f, text);
+		});
+		return actual;
+	}
+
+	private static EmployeeDTO employee(int children) {
+		Employee entity = TestFixtures.employee(1, children, 0, 0);
+		entity.setEmployeeId(42L);
+		return new EmployeeMapper(new EducationMapper(), new CertificationMapper(), new SkillMapper(),
+				new DocumentMapper(), new ExperienceMapper(), new LeaveMapper(), new ProfilePhotoMapper())
+				.toDto(entity);
+	}
+
+	/** Non-blank text chunks and images keyed by page and content, with their lower left corner. */
+	private static Map<String, float[]> textPositions(byte[] pdf) throws Exception {
+		Map<String, float[]> positions = new LinkedHashMap<>();
+		PdfReader reader = new PdfReader(pdf);
+		PdfReaderContentParser parser = new PdfReaderContentParser(reader);
+		for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+			int pageNumber = page;
+			parser.processContent(page, new RenderListener() {
+				@Override
+				public void renderText(TextRenderInfo info) {
+					if (!info.getText().isBlank()) {
+						Vector start = info.getBaseline().getStartPoint();
+						positions.put(pageNumber + ":" + info.getText(),
+								new float[] { start.get(Vector.I1), start.get(Vector.I2) });
+					}
+				}
+
+				@Override
+				public void renderImage(ImageRenderInfo info) {
+					positions.put(pageNumber + ":" + IMAGE,
+							new float[] { info.getImageCTM().get(Matrix.I31), info.getImageCTM().get(Matrix.I32) });
+				}
+
+				@Override
+				public void beginTextBlock() {
+				}
+
+				@Override
+				public void endTextBlock() {
+				}
+			});
+		}
+		reader.close();
+		return positions;
+	}
+
+	private static String pageText(byte[] pdf) throws Exception {
+		PdfReader reader = new PdfReader(pdf);
+		try {
+			return PdfTextExtractor.getTextFromPage(reader, 1);
+		} finally {
+			reader.close();
+		}
+	}
+
+	private static byte[] jpeg(int width, int height) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "jpg", out);
+		return out.toByteArray();
+	}
+}
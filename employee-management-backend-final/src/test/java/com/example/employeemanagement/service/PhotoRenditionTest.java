@@ -0,0 +1,158 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.ProfilePhotoDTO;
+import com.example.employeemanagement.model.PhotoRendition;
+import com.example.employeemanagement.model.ProfilePhotoRendition;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Uploads a full-size photo and checks that the avatar, card and PDF renditions
+ * are generated in the background, fit their boxes and replace the original in the PDF export.
+ * A photo that does not decode is marked and not read again until it is replaced.
+ */
+@SpringBootTest
+class PhotoRenditionTest {
+
+	@MockitoSpyBean
+	private ProfilePhotoService profilePhotoService;
+
+	@Autowired
+	private PhotoRenditionService photoRenditionService;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		TestFixtures.deleteAll(jdbcTemplate);
+	}
+
+	@Test
+	void uploadGeneratesRenditionsThatFitTheirBoxes() throws Exception {
+		Long employeeId = employeeRepository.save(TestFixtures.employee(1, 0, 0, 0)).getEmployeeId();
+		byte[] original = jpeg(1200, 900);
+		ProfilePhotoDTO uploaded = profilePhotoService.uploadProfilePhoto(employeeId,
+				new MockMultipartFile("file", "photo.jpg", "image/jpeg", original));
+		// The response describes the stored photo without reading it back
+		assertNull(uploaded.getData());
+		assertEquals(original.length, uploaded.getFileSize());
+
+		for (PhotoRendition size : PhotoRendition.values()) {
+			ProfilePhotoRendition rendition = awaitRendition(employeeId, size);
+			BufferedImage image = ImageIO.read(new ByteArrayInputStream(rendition.getData()));
+
+			assertEquals("image/jpeg", rendition.getFileType());
+			assertEquals(rendition.getData().length, rendition.getFileSize());
+			assertEquals(image.getWidth(), rendition.getWidth());
+			assertTrue(image.getWidth() <= size.getMaxWidth() && image.getHeight() <= size.getMaxHeight(),
+					size + " is " + image.getWidth() + "x" + image.getHeight());
+			// Aspect ratio is kept, so the limiting side fills the box
+			assertTrue(image.getWidth() == size.getMaxWidth() || image.getHeight() == size.getMaxHeight());
+			assertTrue(rendition.getData().length < original.length);
+		}
+
+		EmployeeDTO employee = employeeService.getEmployeeById(employeeId);
+		photoRenditionService.attachPdfPhoto(employee);
+		BufferedImage pdfPhoto = ImageIO.read(new ByteArrayInputStream(employee.getProfilePhoto().getData()));
+		assertEquals(PhotoRendition.PDF.getMaxWidth(), pdfPhoto.getWidth());
+	}
+
+	@Test
+	void reuploadReplacesRenditions() throws Exception {
+		Long employeeId = employeeRepository.save(TestFixtures.employee(2, 0, 0, 0)).getEmployeeId();
+		profilePhotoService.uploadProfilePhoto(employeeId,
+				new MockMultipartFile("file", "wide.jpg", "image/jpeg", jpeg(1200, 600)));
+		String firstHash = awaitRendition(employeeId, PhotoRendition.CARD).getContentHash();
+
+		profilePhotoService.uploadProfilePhoto(employeeId,
+				new MockMultipartFile("file", "tall.jpg", "image/jpeg", jpeg(600, 1200)));
+		ProfilePhotoRendition card = awaitRendition(employeeId, PhotoRendition.CARD);
+
+		assertNotEquals(firstHash, card.getContentHash());
+		assertEquals(256, card.getHeight());
+		assertEquals(128, card.getWidth());
+		// Scoped to this employee: renditions queued by other test classes may still be landing
+		assertEquals(PhotoRendition.values().length, jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM profile_photo_renditions r JOIN profile_photos p ON p.id = r.photo_id "
+						+ "WHERE p.employee_id = ?", Integer.class, employeeId));
+	}
+
+	@Test
+	void unreadablePhotoIsDecodedOnceUntilReplaced() throws Exception {
+		Long employeeId = employeeRepository.save(TestFixtures.employee(3, 0, 0, 0)).getEmployeeId();
+		Long photoId = profilePhotoService.uploadProfilePhoto(employeeId,
+				new MockMultipartFile("file", "photo.jpg", "image/jpeg", TestFixtures.filled(4096, (byte) 3))).getId();
+
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+				"SELECT renditions_failed FROM profile_photos WHERE id = ?", Boolean.class, photoId))) {
+			assertTrue(System.currentTimeMillis() < deadline, "unreadable photo was not marked");
+			Thread.sleep(50);
+		}
+		// Misses after the marker do not queue the photo again
+		for (int i = 0; i < 5; i++) {
+			for (PhotoRendition size : PhotoRendition.values()) {
+				assertTrue(photoRenditionService.findRendition(employeeId, size).isEmpty());
+			}
+		}
+		Thread.sleep(500);
+		// The upload's response does not read it, so this is the only decode
+		verify(profilePhotoService, times(1)).readContent(argThat(photo -> photoId.equals(photo.getId())));
+
+		profilePhotoService.uploadProfilePhoto(employeeId,
+				new MockMultipartFile("file", "photo.jpg", "image/jpeg", jpeg(400, 300)));
+		assertEquals(PhotoRendition.AVATAR.getMaxWidth(), awaitRendition(employeeId, PhotoRendition.AVATAR).getWidth());
+	}
+
+	private ProfilePhotoRendition awaitRendition(Long employeeId, PhotoRendition size) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (System.currentTimeMillis() < deadline) {
+			Optional<ProfilePhotoRendition> rendition = photoRenditionService.findRendition(employeeId, size);
+			if (rendition.isPresent()) {
+				return rendition.get();
+			}
+			Thread.sleep(50);
+		}
+		return fail(size + " rendition was not generated");
+	}
+
+	private static byte[] jpeg(int width, int height) throws IOException {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setPaint(new GradientPaint(0, 0, Color.BLUE, width, height, Color.ORANGE));
+		graphics.fillRect(0, 0, width, height);
+		graphics.dispose();
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(image, "jpg", out);
+		return out.toByteArray();
+	}
+}
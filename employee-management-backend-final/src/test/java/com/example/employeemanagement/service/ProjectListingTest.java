@@ -0,0 +1,103 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.dto.ProjectDTO;
+import com.example.employeemanagement.metrics.SqlStatementCounter;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.Project;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.ProjectRepository;
+import com.example.employeemanagement.repository.TeamRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lists projects with managed teams and checks that the listing is a single
+ * grouped statement however many projects and teams exist.
+ */
+@SpringBootTest
+class ProjectListingTest {
+
+	@Autowired
+	private ProjectService projectService;
+
+	@Autowired
+	private SqlStatementCounter sqlStatementCounter;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private int seeded;
+
+	@AfterEach
+	void cleanUp() {
+		TestFixtures.deleteAll(jdbcTemplate);
+	}
+
+	@Test
+	void listingIsOneStatementRegardlessOfSize() {
+		seed(2, 1);
+		assertEquals(1, statementsForListing());
+
+		seed(10, 4);
+		assertEquals(1, statementsForListing());
+	}
+
+	@Test
+	void listingCarriesTeamCountAndManagerName() {
+		Project withTeams = seed(1, 3);
+		Project empty = projectRepository.save(TestFixtures.project("Empty", null));
+
+		List<ProjectDTO> projects = projectService.getAllProjects();
+		assertEquals(2, projects.size());
+
+		ProjectDTO first = projects.get(0);
+		assertEquals(withTeams.getId(), first.getId());
+		assertEquals(3, first.getTeamsCount());
+		assertEquals(withTeams.getSeniorProjectManager().getEmployeeId(), first.getSeniorProjectManagerId());
+		assertEquals("First1 Last1", first.getSeniorProjectManagerName());
+
+		ProjectDTO second = projects.get(1);
+		assertEquals(empty.getId(), second.getId());
+		assertEquals(0, second.getTeamsCount());
+		assertNull(second.getSeniorProjectManagerId());
+		assertNull(second.getSeniorProjectManagerName());
+
+		assertEquals(3, projectService.getProjectById(withTeams.getId()).getTeamsCount());
+	}
+
+	private int statementsForListing() {
+		return TestFixtures.countStatements(sqlStatementCounter, projectService::getAllProjects);
+	}
+
+	/** Seeds projects, each with a senior manager and teams whose managers are distinct employees. */
+	private Project seed(int projects, int teamsPerProject) {
+		Project project = null;
+		for (int p = 0; p < projects; p++) {
+			Employee manager = employeeRepository.save(TestFixtures.employee(++seeded, 0, 0, 0));
+			project = projectRepository.save(TestFixtures.project("Project " + seeded, manager));
+
+			for (int t = 0; t < teamsPerProject; t++) {
+				Employee teamManager = employeeRepository.save(TestFixtures.employee(++seeded, 0, 0, 0));
+				teamRepository.save(TestFixtures.team("Team " + seeded, project, teamManager));
+			}
+		}
+		return project;
+	}
+}
@@ -0,0 +1,141 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.dto.ProjectDTO;
+import com.example.employeemanagement.metrics.SqlStatementCounter;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.Project;
+import com.example.employeemanagement.model.Team;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.ProjectRepository;
+import com.example.employeemanagement.repository.TeamRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reads projects and teams through the second-level cache and checks that
+ * repeat lookups issue no SQL, that writes through the services are seen on
+ * the next read, and that per-region statistics reach the meter registry.
+ */
+@SpringBootTest
+class ReferenceDataCacheTest {
+
+	@Autowired
+	private ProjectService projectService;
+
+	@Autowired
+	private TeamService teamService;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private SqlStatementCounter sqlStatementCounter;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		TestFixtures.deleteAll(jdbcTemplate);
+		// The rows went behind Hibernate's back, so the cache cannot know they are gone
+		entityManagerFactory.getCache().evictAll();
+	}
+
+	@Test
+	void repeatLookupsIssueNoStatements() {
+		Team team = team(project("Apollo"), "Core");
+		projectRepository.findById(team.getProject().getId());
+		teamRepository.findById(team.getId());
+
+		assertEquals(0, TestFixtures.countStatements(sqlStatementCounter, () -> {
+			assertEquals("Apollo", projectRepository.findById(team.getProject().getId()).orElseThrow().getName());
+			assertEquals("Core", teamRepository.findById(team.getId()).orElseThrow().getName());
+		}));
+	}
+
+	@Test
+	void updatesAreSeenOnTheNextRead() {
+		Project project = project("Apollo");
+		projectRepository.findById(project.getId());
+
+		ProjectDTO rename = new ProjectDTO();
+		rename.setName("Artemis");
+		projectService.updateProject(project.getId(), rename);
+
+		assertEquals("Artemis", projectRepository.findById(project.getId()).orElseThrow().getName());
+	}
+
+	@Test
+	void memberListFollowsTheEmployeeSide() {
+		Team team = team(project("Apollo"), "Core");
+		Employee member = employeeRepository.save(TestFixtures.employee(1, 0, 0, 0));
+		teamService.addTeamMember(team.getId(), member.getEmployeeId());
+		assertEquals(1, memberCount(team.getId()));
+
+		// Only the owning side changes; the cached member list has to be evicted for this to show
+		member = employeeRepository.findById(member.getEmployeeId()).orElseThrow();
+		member.setTeam(null);
+		employeeRepository.save(member);
+
+		assertEquals(0, memberCount(team.getId()));
+	}
+
+	@Test
+	void projectListingIsServedFromTheQueryCacheUntilAWrite() {
+		project("Apollo");
+		projectService.getAllProjects();
+		assertEquals(0, TestFixtures.countStatements(sqlStatementCounter,
+				() -> assertEquals(1, projectService.getAllProjects().size())));
+
+		project("Artemis");
+		assertEquals(2, projectService.getAllProjects().size());
+	}
+
+	@Test
+	void regionStatisticsArePublished() {
+		Project project = project("Apollo");
+		projectRepository.findById(project.getId());
+		projectRepository.findById(project.getId());
+
+		FunctionCounter hits = registry.get("hibernate.second.level.cache.requests")
+				.tags("region", "project", "result", "hit").functionCounter();
+		assertTrue(hits.count() > 0);
+	}
+
+	private Project project(String name) {
+		return projectRepository.save(TestFixtures.project(name, null));
+	}
+
+	private Team team(Project project, String name) {
+		return teamRepository.save(TestFixtures.team(name, project, null));
+	}
+
+	private int memberCount(Long teamId) {
+		return transactionTemplate.execute(status -> teamRepository.findById(teamId).orElseThrow().getMembers().size());
+	}
+}
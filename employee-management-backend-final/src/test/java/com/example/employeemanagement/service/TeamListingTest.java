@@ -0,0 +1,149 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.dto.TeamMemberDTO;
+import com.example.employeemanagement.dto.TeamSummaryDTO;
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.metrics.SqlStatementCounter;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.Project;
+import com.example.employeemanagement.model.Team;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.ProjectRepository;
+import com.example.employeemanagement.repository.TeamRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lists teams with managers and members and checks that the listing and a
+ * team's roster are each a single statement however many rows exist.
+ */
+@SpringBootTest
+class TeamListingTest {
+
+	@Autowired
+	private TeamService teamService;
+
+	@Autowired
+	private ProfilePhotoService profilePhotoService;
+
+	@Autowired
+	private SqlStatementCounter sqlStatementCounter;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private int seeded;
+
+	@AfterEach
+	void cleanUp() {
+		TestFixtures.deleteAll(jdbcTemplate);
+	}
+
+	@Test
+	void listingIsOneStatementRegardlessOfSize() {
+		Project project = project();
+		seed(project, 2, 1);
+		assertEquals(1, statementsForListing());
+
+		seed(project, 10, 6);
+		assertEquals(1, statementsForListing());
+	}
+
+	@Test
+	void listingCarriesNamesAndMemberCount() {
+		Project project = project();
+		Team staffed = seed(project, 1, 4);
+		Team unmanaged = teamRepository.save(TestFixtures.team("Unmanaged", project, null));
+
+		List<TeamSummaryDTO> teams = teamService.getAllTeams();
+		assertEquals(2, teams.size());
+
+		TeamSummaryDTO first = teams.get(0);
+		assertEquals(staffed.getId(), first.getId());
+		assertEquals("Project", first.getProjectName());
+		assertEquals(4, first.getMemberCount());
+		assertEquals(staffed.getTeamManager().getEmployeeId(), first.getTeamManagerId());
+		assertEquals("First1 Last1", first.getTeamManagerName());
+		assertEquals("First1 Last1", first.getProjectManagerName());
+
+		TeamSummaryDTO second = teams.get(1);
+		assertEquals(unmanaged.getId(), second.getId());
+		assertEquals(0, second.getMemberCount());
+		assertNull(second.getTeamManagerId());
+		assertNull(second.getProjectManagerName());
+	}
+
+	@Test
+	void rosterIsOneStatementWithPhotoLinksOnlyForMembersWithPhotos() throws Exception {
+		Team team = seed(project(), 1, 12);
+		List<Employee> members = employeeRepository.findByTeam_Id(team.getId());
+		Long withPhoto = members.get(0).getEmployeeId();
+		profilePhotoService.uploadProfilePhoto(withPhoto,
+				new MockMultipartFile("file", "photo.jpg", "image/jpeg", TestFixtures.filled(1024, (byte) 3)));
+
+		List<TeamMemberDTO> roster = new ArrayList<>();
+		assertEquals(1, TestFixtures.countStatements(sqlStatementCounter,
+				() -> roster.addAll(teamService.getTeamRoster(team.getId()))));
+
+		assertEquals(12, roster.size());
+		for (TeamMemberDTO member : roster) {
+			assertNotNull(member.getEmail());
+			assertNotNull(member.getRole());
+			if (member.getEmployeeId().equals(withPhoto)) {
+				assertEquals("/api/employees/" + withPhoto + "/profile-photo?size=avatar", member.getPhotoUrl());
+			} else {
+				assertNull(member.getPhotoUrl());
+			}
+		}
+	}
+
+	@Test
+	void emptyTeamHasEmptyRosterAndMissingTeamIsNotFound() {
+		Team empty = seed(project(), 1, 0);
+		assertTrue(teamService.getTeamRoster(empty.getId()).isEmpty());
+		assertThrows(ResourceNotFoundException.class, () -> teamService.getTeamRoster(empty.getId() + 1000));
+	}
+
+	private int statementsForListing() {
+		return TestFixtures.countStatements(sqlStatementCounter, teamService::getAllTeams);
+	}
+
+	private Project project() {
+		return projectRepository.save(TestFixtures.project("Project", null));
+	}
+
+	/** Seeds teams, each with its own manager and members with child rows. */
+	private Team seed(Project project, int teams, int membersPerTeam) {
+		Team team = null;
+		for (int t = 0; t < teams; t++) {
+			Employee manager = employeeRepository.save(TestFixtures.employee(++seeded, 0, 0, 0));
+			team = teamRepository.save(TestFixtures.team("Team " + seeded, project, manager));
+
+			for (int m = 0; m < membersPerTeam; m++) {
+				Employee member = TestFixtures.employee(++seeded, 1, 0, 0);
+				member.setTeam(team);
+				employeeRepository.save(member);
+			}
+		}
+		return team;
+	}
+}
@@ -0,0 +1,188 @@
+package com.example.employeemanagement.storage;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.dto.DocumentDTO;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.model.Role;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.service.DocumentService;
+import com.example.employeemanagement.service.EmployeeService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Uploads against the default database-backed store from several threads at
+ * once and checks that deduplication holds up under concurrency, including
+ * against the orphan cleaner.
+ */
+@SpringBootTest
+class DatabaseBlobStorageTest {
+
+	private static final int UPLOADERS = 4;
+
+	@Autowired
+	private DocumentService documentService;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@AfterEach
+	void cleanUp() {
+		TestFixtures.deleteAll(jdbcTemplate);
+	}
+
+	@Test
+	void concurrentIdenticalUploadsShareOneBlob() throws Exception {
+		Long employeeId = employeeRepository.save(TestFixtures.employee(1, 0, 0, 0)).getEmployeeId();
+		byte[] content = TestFixtures.filled(256 * 1024, (byte) 3);
+
+		ExecutorService pool = Executors.newFixedThreadPool(UPLOADERS);
+		CyclicBarrier start = new CyclicBarrier(UPLOADERS);
+		try {
+			List<Future<DocumentDTO>> uploads = new ArrayList<>();
+			for (int i = 0; i < UPLOADERS; i++) {
+				uploads.add(pool.submit(() -> {
+					start.await();
+					return documentService.uploadDocument(employeeId, pdf(content), "RESUME");
+				}));
+			}
+			for (Future<DocumentDTO> upload : uploads) {
+				assertArrayEquals(content,
+						documentService.downloadDocument(upload.get(1, TimeUnit.MINUTES).getDocumentId()));
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM blob_contents", Integer.class));
+	}
+
+	@Test
+	void uploadReusingABlobSurvivesTheDeleteOfItsLastCommittedReference() throws Exception {
+		Long employeeId = employeeRepository.save(TestFixtures.employee(1, 0, 0, 0)).getEmployeeId();
+		byte[] content = TestFixtures.filled(64 * 1024, (byte) 5);
+
+		Long documentId = uploadWhileDeletingTheOtherReference(documentService, transactionManager, employeeId, content);
+
+		assertArrayEquals(content, documentService.downloadDocument(documentId));
+		assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM blob_contents", Integer.class));
+	}
+
+	@Test
+	void documentsSentWithANewEmployeeGoToTheStore() {
+		byte[] content = TestFixtures.filled(4096, (byte) 9);
+		EmployeeDTO employee = new EmployeeDTO();
+		employee.setFirstName("Asha");
+		employee.setEmail("asha@example.com");
+		employee.setRole(Role.MEMBER);
+		employee.setDocuments(List.of(new DocumentDTO(null, "offer.pdf", "application/pdf", (long) content.length,
+				content, "OFFER", null, null)));
+
+		Long documentId = employeeService.saveEmployee(employee).getDocuments().get(0).getDocumentId();
+
+		assertNotNull(documentService.getDocumentMetadata(documentId).getStorageKey());
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT LENGTH(data) FROM documents WHERE document_id = ?",
+				Integer.class, documentId));
+		assertArrayEquals(content, documentService.downloadDocument(documentId));
+	}
+
+	@Test
+	void documentSizeIsTheStoredLengthNotTheClaimedOne() {
+		byte[] content = TestFixtures.filled(3000, (byte) 7);
+		EmployeeDTO employee = new EmployeeDTO();
+		employee.setFirstName("Ravi");
+		employee.setEmail("ravi@example.com");
+		employee.setRole(Role.MEMBER);
+		employee.setDocuments(List.of(
+				new DocumentDTO(null, "offer.pdf", "application/pdf", null, content, "OFFER", null, null),
+				new DocumentDTO(null, "resume.pdf", "application/pdf", 10L, content, "RESUME", null, null)));
+
+		for (DocumentDTO document : employeeService.saveEmployee(employee).getDocuments()) {
+			assertEquals(Long.valueOf(content.length), documentService.getDocumentMetadata(document.getDocumentId()).getFileSize());
+		}
+	}
+
+	@Test
+	void employeeJsonLeavesOutDocumentContentWhereverItIsStored() throws Exception {
+		// One document still inline, one in the blob store
+		Long employeeId = employeeRepository.save(TestFixtures.employee(1, 0, 0, 2048)).getEmployeeId();
+		documentService.uploadDocument(employeeId, pdf(TestFixtures.filled(2048, (byte) 4)), "OFFER");
+
+		JsonNode documents = objectMapper.valueToTree(employeeService.getEmployeeById(employeeId)).get("documents");
+
+		assertEquals(2, documents.size());
+		documents.forEach(document -> assertFalse(document.has("data"), document::toString));
+		DocumentDTO sent = objectMapper.readValue("{\"data\":\"AQID\"}", DocumentDTO.class);
+		assertArrayEquals(new byte[] { 1, 2, 3 }, sent.getData());
+	}
+
+	/**
+	 * Uploads content that an existing document already stores and, while that
+	 * upload is still uncommitted, deletes the existing document so the orphan
+	 * cleaner runs against the blob the upload reused. Returns the new document.
+	 */
+	static Long uploadWhileDeletingTheOtherReference(DocumentService documentService,
+			PlatformTransactionManager transactionManager, Long employeeId, byte[] content) throws Exception {
+		Long existingId = documentService.uploadDocument(employeeId, pdf(content), "RESUME").getDocumentId();
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		CountDownLatch uploaded = new CountDownLatch(1);
+		CountDownLatch commit = new CountDownLatch(1);
+
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			Future<Long> upload = pool.submit(() -> transactionTemplate.execute(status -> {
+				Long id = documentService.uploadDocument(employeeId, pdf(content), "OFFER").getDocumentId();
+				uploaded.countDown();
+				try {
+					commit.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return id;
+			}));
+			assertTrue(uploaded.await(1, TimeUnit.MINUTES));
+			Future<?> delete = pool.submit(() -> documentService.deleteDocument(existingId));
+			// Give the cleaner time to reach the blob while the upload is still open
+			Thread.sleep(300);
+			commit.countDown();
+			delete.get(1, TimeUnit.MINUTES);
+			return upload.get(1, TimeUnit.MINUTES);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	static MockMultipartFile pdf(byte[] content) {
+		return new MockMultipartFile("file", "resume.pdf", "application/pdf", content);
+	}
+}
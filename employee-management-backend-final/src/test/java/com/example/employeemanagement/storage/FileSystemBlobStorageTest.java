@@ -0,0 +1,150 @@
+package com.example.employeemanagement.storage;
+
+import com.example.employeemanagement.TestFixtures;
+import com.example.employeemanagement.dto.DocumentDTO;
+import com.example.employeemanagement.dto.FileMetadataDTO;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.service.DocumentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs document uploads, downloads, deletes and the inline-content migration
+ * against the content-addressed filesystem store.
+ */
+@SpringBootTest
+class FileSystemBlobStorageTest {
+
+	@TempDir
+	static Path blobRoot;
+
+	@DynamicPropertySource
+	static void storageProperties(DynamicPropertyRegistry registry) {
+		registry.add("app.storage.backend", () -> "filesystem");
+		registry.add("app.storage.filesystem.root", blobRoot::toString);
+		// The job is triggered by the test instead of the scheduler
+		registry.add("app.storage.migration.enabled", () -> "true");
+		registry.add("app.storage.migration.initial-delay-ms", () -> "3600000");
+	}
+
+	@Autowired
+	private DocumentService documentService;
+
+	@Autowired
+	private BlobMigrationJob blobMigrationJob;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@AfterEach
+	void cleanUp() {
+		TestFixtures.deleteAll(jdbcTemplate);
+	}
+
+	@Test
+	void identicalUploadsShareOneBlobUntilTheLastReferenceIsDeleted() throws IOException {
+		Long employeeId = employeeRepository.save(TestFixtures.employee(1, 0, 0, 0)).getEmployeeId();
+		byte[] content = TestFixtures.filled(64 * 1024, (byte) 7);
+
+		DocumentDTO first = documentService.uploadDocument(employeeId, pdf(content), "RESUME");
+		DocumentDTO second = documentService.uploadDocument(employeeId, pdf(content), "OFFER");
+		assertEquals(1, storedFileCount());
+
+		FileMetadataDTO metadata = documentService.getDocumentMetadata(second.getDocumentId());
+		assertNotNull(metadata.getStorageKey());
+		assertArrayEquals(content, download(metadata));
+		assertArrayEquals(content, documentService.downloadDocument(first.getDocumentId()));
+
+		ByteArrayOutputStream range = new ByteArrayOutputStream();
+		assertEquals(100, documentService.streamDocument(metadata, range, 1000, 100));
+		assertArrayEquals(Arrays.copyOfRange(content, 1000, 1100), range.toByteArray());
+		// The stored file itself is what sendfile is given
+		Path localFile = documentService.localContentPath(metadata).orElseThrow();
+		assertTrue(localFile.startsWith(blobRoot));
+		assertArrayEquals(content, Files.readAllBytes(localFile));
+
+		documentService.deleteDocument(first.getDocumentId());
+		assertEquals(1, storedFileCount(), "blob still referenced by the second document was deleted");
+
+		documentService.deleteDocument(second.getDocumentId());
+		assertEquals(0, storedFileCount());
+	}
+
+	@Test
+	void uploadReusingABlobSurvivesTheDeleteOfItsLastCommittedReference() throws Exception {
+		Long employeeId = employeeRepository.save(TestFixtures.employee(1, 0, 0, 0)).getEmployeeId();
+		byte[] content = TestFixtures.filled(64 * 1024, (byte) 5);
+		long storedBefore = storedFileCount();
+
+		Long documentId = DatabaseBlobStorageTest.uploadWhileDeletingTheOtherReference(documentService,
+				transactionManager, employeeId, content);
+
+		assertArrayEquals(content, documentService.downloadDocument(documentId));
+		assertEquals(storedBefore + 1, storedFileCount());
+	}
+
+	@Test
+	void migrationMovesInlineContentToTheStore() throws IOException {
+		Employee employee = employeeRepository.save(TestFixtures.employee(2, 0, 2048, 4096));
+		Long documentId = employee.getDocuments().get(0).getDocumentId();
+		byte[] original = documentService.downloadDocument(documentId);
+		assertNull(documentService.getDocumentMetadata(documentId).getStorageKey());
+		// Sizes as a client could have claimed them before the store existed
+		jdbcTemplate.update("UPDATE documents SET file_size = 10 WHERE document_id = ?", documentId);
+		jdbcTemplate.update("UPDATE profile_photos SET file_size = NULL");
+
+		blobMigrationJob.migrateBatch();
+
+		FileMetadataDTO metadata = documentService.getDocumentMetadata(documentId);
+		assertNotNull(metadata.getStorageKey());
+		assertEquals(4096L, metadata.getFileSize());
+		assertEquals(2048L, jdbcTemplate.queryForObject("SELECT file_size FROM profile_photos WHERE employee_id = ?",
+				Long.class, employee.getEmployeeId()));
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT LENGTH(data) FROM documents WHERE document_id = ?",
+				Integer.class, documentId));
+		assertEquals(0, jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM profile_photos WHERE storage_key IS NULL", Integer.class));
+		assertArrayEquals(original, download(metadata));
+		assertEquals(2, storedFileCount());
+	}
+
+	private byte[] download(FileMetadataDTO metadata) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		documentService.streamDocument(metadata, out);
+		return out.toByteArray();
+	}
+
+	private static MockMultipartFile pdf(byte[] content) {
+		return new MockMultipartFile("file", "resume.pdf", "application/pdf", content);
+	}
+
+	private static long storedFileCount() throws IOException {
+		try (Stream<Path> files = Files.walk(blobRoot)) {
+			return files.filter(Files::isRegularFile).count();
+		}
+	}
+}